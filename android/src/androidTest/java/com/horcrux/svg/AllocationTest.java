@@ -0,0 +1,90 @@
+/*
+ * Copyright (c) 2015-present, Horcrux.
+ * All rights reserved.
+ *
+ * This source code is licensed under the MIT-style license found in the
+ * LICENSE file in the root directory of this source tree.
+ */
+
+
+package com.horcrux.svg;
+
+import android.graphics.Canvas;
+import android.os.Debug;
+import android.support.test.runner.AndroidJUnit4;
+
+import com.facebook.react.bridge.JavaOnlyArray;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+import static com.horcrux.svg.SvgTestHelper.color;
+import static com.horcrux.svg.SvgTestHelper.dynamic;
+import static com.horcrux.svg.SvgTestHelper.rect;
+import static org.junit.Assert.assertEquals;
+
+/**
+ * Counts the objects allocated by the drawing thread while drawing frames of an unchanged scene
+ * of filled, stroked and dashed shapes in a translucent group. Text, masks and brushes still
+ * allocate while drawing, so they are left out of the scene.
+ */
+@RunWith(AndroidJUnit4.class)
+public class AllocationTest {
+    private static final int RECTS = 10;
+    private static final int FRAMES = 10;
+
+    private SvgViewShadowNode mSvg;
+    private Canvas mCanvas;
+
+    @Before
+    public void setUp() {
+        SvgTestHelper.init();
+
+        mSvg = new SvgViewShadowNode();
+        GroupShadowNode group = new GroupShadowNode();
+        group.setOpacity(0.5f);
+        mSvg.addChildAt(group, 0);
+
+        for (int i = 0; i < RECTS; i++) {
+            RectShadowNode rect = rect(i * 10, 0, 8, 8);
+            rect.setStroke(color(1, 0, 0));
+            rect.setStrokeWidth(dynamic(2));
+            if (i % 2 == 0) {
+                rect.setStrokeDasharray(JavaOnlyArray.of("2", "1"));
+            }
+            group.addChildAt(rect, i);
+        }
+
+        PathShadowNode path = new PathShadowNode();
+        path.setD("M10 50 L40 50 A10 10 0 1 0 60 50 Q80 20 100 50 Z");
+        path.setFill(color(0, 1, 0));
+        path.setStroke(color(0, 0, 0));
+        path.setStrokeWidth(dynamic(1));
+        group.addChildAt(path, RECTS);
+
+        mCanvas = SvgTestHelper.canvas();
+        // The first frame builds the paths and paint effects the next frames reuse
+        SvgTestHelper.draw(mSvg, mCanvas);
+    }
+
+    @After
+    @SuppressWarnings("deprecation")
+    public void tearDown() {
+        Debug.stopAllocCounting();
+    }
+
+    @Test
+    @SuppressWarnings("deprecation")
+    public void unchangedFramesAllocateNothing() {
+        Debug.resetThreadAllocCount();
+        Debug.startAllocCounting();
+        for (int i = 0; i < FRAMES; i++) {
+            SvgTestHelper.draw(mSvg, mCanvas);
+        }
+        Debug.stopAllocCounting();
+
+        assertEquals(0, Debug.getThreadAllocCount());
+    }
+}
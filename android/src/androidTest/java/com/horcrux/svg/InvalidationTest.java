@@ -0,0 +1,169 @@
+/*
+ * Copyright (c) 2015-present, Horcrux.
+ * All rights reserved.
+ *
+ * This source code is licensed under the MIT-style license found in the
+ * LICENSE file in the root directory of this source tree.
+ */
+
+
+package com.horcrux.svg;
+
+import android.graphics.Canvas;
+import android.graphics.Path;
+import android.graphics.RectF;
+import android.support.test.runner.AndroidJUnit4;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+
+import static com.horcrux.svg.SvgTestHelper.color;
+import static com.horcrux.svg.SvgTestHelper.dynamic;
+import static com.horcrux.svg.SvgTestHelper.rect;
+import static com.horcrux.svg.SvgTestHelper.span;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Counts the paths and text runs rebuilt by the frame after a prop update, i.e. whose path
+ * is no longer the one drawn by the frame before.
+ */
+@RunWith(AndroidJUnit4.class)
+public class InvalidationTest {
+    private static final int RECTS = 10;
+    private static final int SPANS = 5;
+
+    private SvgViewShadowNode mSvg;
+    private TextShadowNode mText;
+    private final ArrayList<RenderableShadowNode> mRects = new ArrayList<>();
+    private final ArrayList<RenderableShadowNode> mSpans = new ArrayList<>();
+    // Paths drawn by the frame before the update
+    private final HashMap<RenderableShadowNode, Path> mPaths = new HashMap<>();
+    private Canvas mCanvas;
+
+    @Before
+    public void setUp() {
+        SvgTestHelper.init();
+
+        mSvg = new SvgViewShadowNode();
+        GroupShadowNode group = new GroupShadowNode();
+        mSvg.addChildAt(group, 0);
+
+        for (int i = 0; i < RECTS; i++) {
+            RectShadowNode rect = rect(i * 10, 0, 8, 8);
+            group.addChildAt(rect, i);
+            mRects.add(rect);
+        }
+
+        mText = new TextShadowNode();
+        group.addChildAt(mText, RECTS);
+        for (int i = 0; i < SPANS; i++) {
+            TSpanShadowNode span = span("Span " + i);
+            mText.addChildAt(span, i);
+            mSpans.add(span);
+        }
+
+        mCanvas = SvgTestHelper.canvas();
+        SvgTestHelper.draw(mSvg, mCanvas);
+    }
+
+    private void snapshot() {
+        mPaths.clear();
+        for (RenderableShadowNode node : mRects) {
+            mPaths.put(node, node.mPath);
+        }
+        for (RenderableShadowNode node : mSpans) {
+            mPaths.put(node, node.mPath);
+        }
+    }
+
+    private int countRebuiltPaths(ArrayList<RenderableShadowNode> nodes) {
+        int rebuilt = 0;
+        for (RenderableShadowNode node : nodes) {
+            if (node.mPath != mPaths.get(node)) {
+                rebuilt++;
+            }
+        }
+        return rebuilt;
+    }
+
+    @Test
+    public void unchangedFrameRebuildsNothing() {
+        snapshot();
+        SvgTestHelper.draw(mSvg, mCanvas);
+        assertEquals(0, countRebuiltPaths(mRects));
+        assertEquals(0, countRebuiltPaths(mSpans));
+    }
+
+    @Test
+    public void fillUpdateRebuildsNothing() {
+        snapshot();
+        mRects.get(0).setFill(color(1, 0, 0));
+        mSpans.get(0).setFill(color(1, 0, 0));
+        SvgTestHelper.draw(mSvg, mCanvas);
+        assertEquals(0, countRebuiltPaths(mRects));
+        assertEquals(0, countRebuiltPaths(mSpans));
+    }
+
+    @Test
+    public void fillUpdateRecomputesTheFillPath() {
+        RenderableShadowNode rect = mRects.get(0);
+        rect.setFill(null);
+        SvgTestHelper.draw(mSvg, mCanvas);
+        assertFalse(rect.mFillPathValid);
+
+        snapshot();
+        rect.setFill(color(1, 0, 0));
+        SvgTestHelper.draw(mSvg, mCanvas);
+        assertEquals(0, countRebuiltPaths(mRects));
+        assertTrue(rect.mFillPathValid);
+    }
+
+    @Test
+    public void opacityUpdateRebuildsNothing() {
+        snapshot();
+        mRects.get(0).setOpacity(0.5f);
+        mText.setOpacity(0.5f);
+        SvgTestHelper.draw(mSvg, mCanvas);
+        assertEquals(0, countRebuiltPaths(mRects));
+        assertEquals(0, countRebuiltPaths(mSpans));
+    }
+
+    @Test
+    public void geometryUpdateRebuildsTheUpdatedNode() {
+        snapshot();
+        mRects.get(0).setWidth(dynamic(4));
+        SvgTestHelper.draw(mSvg, mCanvas);
+        assertEquals(1, countRebuiltPaths(mRects));
+        assertEquals(0, countRebuiltPaths(mSpans));
+    }
+
+    @Test
+    public void contentUpdateOnlyLaysOutTheText() {
+        snapshot();
+        ((TSpanShadowNode) mSpans.get(0)).setContent("Updated span");
+        SvgTestHelper.draw(mSvg, mCanvas);
+        assertEquals(0, countRebuiltPaths(mRects));
+        // The following spans of the text chunk are moved, not laid out again
+        assertEquals(1, countRebuiltPaths(mSpans));
+    }
+
+    @Test
+    public void contentUpdateMovesTheFollowingSpans() {
+        RectF before = new RectF();
+        mSpans.get(1).mPath.computeBounds(before, true);
+
+        ((TSpanShadowNode) mSpans.get(0)).setContent("Updated span");
+        SvgTestHelper.draw(mSvg, mCanvas);
+
+        RectF after = new RectF();
+        mSpans.get(1).mPath.computeBounds(after, true);
+        assertTrue(after.left > before.left);
+        assertEquals(before.width(), after.width(), 0.01f);
+    }
+}
@@ -0,0 +1,80 @@
+/*
+ * Copyright (c) 2015-present, Horcrux.
+ * All rights reserved.
+ *
+ * This source code is licensed under the MIT-style license found in the
+ * LICENSE file in the root directory of this source tree.
+ */
+
+
+package com.horcrux.svg;
+
+import android.content.Context;
+import android.graphics.Bitmap;
+import android.graphics.Canvas;
+import android.support.test.InstrumentationRegistry;
+
+import com.facebook.react.bridge.Dynamic;
+import com.facebook.react.bridge.DynamicFromMap;
+import com.facebook.react.bridge.JavaOnlyArray;
+import com.facebook.react.bridge.JavaOnlyMap;
+import com.facebook.react.uimanager.DisplayMetricsHolder;
+import com.facebook.soloader.SoLoader;
+
+/**
+ * Builds shadow trees outside of a react instance, and draws them like {@link SvgView} does.
+ */
+final class SvgTestHelper {
+    static final int SIZE = 200;
+
+    private SvgTestHelper() {}
+
+    /**
+     * Load yoga, which every non-virtual shadow node is backed by, and the display metrics lengths are scaled by.
+     */
+    static void init() {
+        Context context = InstrumentationRegistry.getTargetContext();
+        SoLoader.init(context, false);
+        DisplayMetricsHolder.initDisplayMetricsIfNotInitialized(context);
+    }
+
+    static Dynamic dynamic(Object value) {
+        return DynamicFromMap.create(JavaOnlyMap.of("value", value), "value");
+    }
+
+    /**
+     * @param r red, 0 to 1
+     * @param g green, 0 to 1
+     * @param b blue, 0 to 1
+     */
+    static Dynamic color(double r, double g, double b) {
+        return dynamic(JavaOnlyArray.of(SvgPaint.TYPE_COLOR, r, g, b));
+    }
+
+    static RectShadowNode rect(double x, double y, double width, double height) {
+        RectShadowNode rect = new RectShadowNode();
+        rect.setX(dynamic(x));
+        rect.setY(dynamic(y));
+        rect.setWidth(dynamic(width));
+        rect.setHeight(dynamic(height));
+        rect.setFill(color(0, 0, 1));
+        return rect;
+    }
+
+    static TSpanShadowNode span(String content) {
+        TSpanShadowNode span = new TSpanShadowNode();
+        span.setContent(content);
+        span.setFill(color(0, 0, 0));
+        return span;
+    }
+
+    static Canvas canvas() {
+        return new Canvas(Bitmap.createBitmap(SIZE, SIZE, Bitmap.Config.ARGB_8888));
+    }
+
+    static void draw(SvgViewShadowNode svg, Canvas canvas) {
+        int count = canvas.save();
+        svg.drawChildren(canvas);
+        canvas.restoreToCount(count);
+    }
+}
@@ -53,6 +53,13 @@ class Brush {
         mPattern = pattern;
     }
 
+    /**
+     * Definition of a brush, registered with the svg by its name.
+     */
+    interface Provider {
+        Brush getBrush();
+    }
+
     enum BrushType {
         LINEAR_GRADIENT,
         RADIAL_GRADIENT,
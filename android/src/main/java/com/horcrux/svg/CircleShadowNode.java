@@ -21,25 +21,25 @@ import com.facebook.react.uimanager.annotations.ReactProp;
  * Shadow node for virtual Circle view
  */
 class CircleShadowNode extends RenderableShadowNode {
-    private String mCx;
-    private String mCy;
-    private String mR;
+    private SvgLength mCx;
+    private SvgLength mCy;
+    private SvgLength mR;
 
     @ReactProp(name = "cx")
     public void setCx(Dynamic cx) {
-        mCx = getStringFromDynamic(cx);
+        mCx = getLengthFromDynamic(cx);
         markUpdated();
     }
 
     @ReactProp(name = "cy")
     public void setCy(Dynamic cy) {
-        mCy = getStringFromDynamic(cy);
+        mCy = getLengthFromDynamic(cy);
         markUpdated();
     }
 
     @ReactProp(name = "r")
     public void setR(Dynamic r) {
-        mR = getStringFromDynamic(r);
+        mR = getLengthFromDynamic(r);
         markUpdated();
     }
 
@@ -50,12 +50,7 @@ class CircleShadowNode extends RenderableShadowNode {
         double cx = relativeOnWidth(mCx);
         double cy = relativeOnHeight(mCy);
 
-        double r;
-        if (PropHelper.isPercentage(mR)) {
-            r = relativeOnOther(mR);
-        } else {
-            r = Double.parseDouble(mR) * mScale;
-        }
+        double r = relativeOnOther(mR);
 
         path.addCircle((float) cx, (float) cy, (float) r, Path.Direction.CW);
         return path;
@@ -15,6 +15,8 @@ import android.graphics.Paint;
 import com.facebook.common.logging.FLog;
 import com.facebook.react.common.ReactConstants;
 
+import javax.annotation.Nullable;
+
 /**
  * Shadow node for virtual ClipPath view
  */
@@ -41,8 +43,11 @@ class ClipPathShadowNode extends GroupShadowNode {
     }
 
     @Override
-    void mergeProperties(RenderableShadowNode target) {}
+    void drawHitTestBuffer(Canvas canvas, HitTestBuffer buffer, int tag) {}
 
     @Override
-    void resetProperties() {}
+    void resolveStyle(@Nullable Style parent) {
+        // Clip paths don't inherit the props of the node using them
+        super.resolveStyle(null);
+    }
 }
@@ -34,6 +34,11 @@ class DefsShadowNode extends DefinitionShadowNode {
         traverseChildren(markUpdateSeenRecursive);
     }
 
+    @Override
+    boolean savesChildDefinitions() {
+        return true;
+    }
+
     void saveDefinition() {
         traverseChildren(new NodeRunnable() {
             public void run(ReactShadowNode node) {
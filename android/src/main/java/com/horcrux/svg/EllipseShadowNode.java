@@ -21,32 +21,32 @@ import com.facebook.react.uimanager.annotations.ReactProp;
  * Shadow node for virtual Ellipse view
  */
 class EllipseShadowNode extends RenderableShadowNode {
-    private String mCx;
-    private String mCy;
-    private String mRx;
-    private String mRy;
+    private SvgLength mCx;
+    private SvgLength mCy;
+    private SvgLength mRx;
+    private SvgLength mRy;
 
     @ReactProp(name = "cx")
     public void setCx(Dynamic cx) {
-        mCx = getStringFromDynamic(cx);
+        mCx = getLengthFromDynamic(cx);
         markUpdated();
     }
 
     @ReactProp(name = "cy")
     public void setCy(Dynamic cy) {
-        mCy = getStringFromDynamic(cy);
+        mCy = getLengthFromDynamic(cy);
         markUpdated();
     }
 
     @ReactProp(name = "rx")
     public void setRx(Dynamic rx) {
-        mRx = getStringFromDynamic(rx);
+        mRx = getLengthFromDynamic(rx);
         markUpdated();
     }
 
     @ReactProp(name = "ry")
     public void setRy(Dynamic ry) {
-        mRy = getStringFromDynamic(ry);
+        mRy = getLengthFromDynamic(ry);
         markUpdated();
     }
 
@@ -10,38 +10,117 @@
 package com.horcrux.svg;
 
 import com.facebook.react.bridge.ReadableArray;
-import com.facebook.react.bridge.ReadableMap;
 
 import java.util.ArrayList;
+import java.util.Arrays;
 
 import javax.annotation.Nullable;
 
 // https://www.w3.org/TR/SVG/text.html#TSpanElement
 class GlyphContext {
 
+    // Stack of primitive ints, avoids boxing the indices on every push, pop and glyph
+    private static final class IntStack {
+        private int[] mValues = new int[8];
+        private int mSize;
+
+        void push(int value) {
+            if (mSize == mValues.length) {
+                int[] values = new int[mSize * 2];
+                System.arraycopy(mValues, 0, values, 0, mSize);
+                mValues = values;
+            }
+            mValues[mSize++] = value;
+        }
+
+        void pop() {
+            mSize--;
+        }
+
+        // Drop all entries from index and above
+        void truncate(int index) {
+            mSize = index;
+        }
+
+        int get(int index) {
+            return mValues[index];
+        }
+
+        // Increment all entries from topIndex and below
+        void increment(int topIndex, int count) {
+            for (int index = topIndex; index >= 0; index--) {
+                mValues[index] += count;
+            }
+        }
+    }
+
+    /**
+     * Position of the context in the text of a root, i.e. the current text position, and the
+     * x, y, dx, dy and rotate values in scope with the index of the last value picked up.
+     * Lets a span skip laying out its glyphs, see {@link #isAt(State)}.
+     */
+    static final class State {
+        private double mX;
+        private double mY;
+        private double mDX;
+        private double mDY;
+
+        private double[] mXs = EMPTY;
+        private double[] mYs = EMPTY;
+        private double[] mDXs = EMPTY;
+        private double[] mDYs = EMPTY;
+        private double[] mRs = NO_ROTATION;
+
+        private int mXIndex = -1;
+        private int mYIndex = -1;
+        private int mDXIndex = -1;
+        private int mDYIndex = -1;
+        private int mRIndex = -1;
+
+        double getX() {
+            return mX;
+        }
+
+        double getY() {
+            return mY;
+        }
+
+        double getDeltaX() {
+            return mDX;
+        }
+
+        double getDeltaY() {
+            return mDY;
+        }
+    }
+
+    private static final double[] EMPTY = new double[]{};
+    private static final double[] NO_ROTATION = new double[]{0};
+
     // Current stack (one per node push/pop)
     private final ArrayList<FontData> mFontContext = new ArrayList<>();
 
     // Unique input attribute lists (only added if node sets a value)
-    private final ArrayList<String[]> mXsContext = new ArrayList<>();
-    private final ArrayList<String[]> mYsContext = new ArrayList<>();
-    private final ArrayList<String[]> mDXsContext = new ArrayList<>();
-    private final ArrayList<String[]> mDYsContext = new ArrayList<>();
+    // Lengths are resolved to user units when pushed, using the font size of the node setting them
+    private final ArrayList<double[]> mXsContext = new ArrayList<>();
+    private final ArrayList<double[]> mYsContext = new ArrayList<>();
+    private final ArrayList<double[]> mDXsContext = new ArrayList<>();
+    private final ArrayList<double[]> mDYsContext = new ArrayList<>();
     private final ArrayList<double[]> mRsContext = new ArrayList<>();
 
     // Unique index into attribute list (one per unique list)
-    private final ArrayList<Integer> mXIndices = new ArrayList<>();
-    private final ArrayList<Integer> mYIndices = new ArrayList<>();
-    private final ArrayList<Integer> mDXIndices = new ArrayList<>();
-    private final ArrayList<Integer> mDYIndices = new ArrayList<>();
-    private final ArrayList<Integer> mRIndices = new ArrayList<>();
+    private final IntStack mXIndices = new IntStack();
+    private final IntStack mYIndices = new IntStack();
+    private final IntStack mDXIndices = new IntStack();
+    private final IntStack mDYIndices = new IntStack();
+    private final IntStack mRIndices = new IntStack();
 
     // Index of unique context used (one per node push/pop)
-    private final ArrayList<Integer> mXsIndices = new ArrayList<>();
-    private final ArrayList<Integer> mYsIndices = new ArrayList<>();
-    private final ArrayList<Integer> mDXsIndices = new ArrayList<>();
-    private final ArrayList<Integer> mDYsIndices = new ArrayList<>();
-    private final ArrayList<Integer> mRsIndices = new ArrayList<>();
+    private final IntStack mXsIndices = new IntStack();
+    private final IntStack mYsIndices = new IntStack();
+    private final IntStack mDXsIndices = new IntStack();
+    private final IntStack mDYsIndices = new IntStack();
+    private final IntStack mRsIndices = new IntStack();
 
     // Calculated on push context, percentage and em length depends on parent font size
     private double mFontSize = FontData.DEFAULT_FONT_SIZE;
@@ -62,25 +141,25 @@ class GlyphContext {
     // https://www.w3.org/TR/SVG/types.html#DataTypeCoordinates
 
     // https://www.w3.org/TR/SVG/text.html#TSpanElementXAttribute
-    private String[] mXs = new String[]{};
+    private double[] mXs = EMPTY;
 
     // https://www.w3.org/TR/SVG/text.html#TSpanElementYAttribute
-    private String[] mYs = new String[]{};
+    private double[] mYs = EMPTY;
 
     // Current <list-of-lengths> SVGLengthList
     // https://www.w3.org/TR/SVG/types.html#DataTypeLengths
 
     // https://www.w3.org/TR/SVG/text.html#TSpanElementDXAttribute
-    private String[] mDXs = new String[]{};
+    private double[] mDXs = EMPTY;
 
     // https://www.w3.org/TR/SVG/text.html#TSpanElementDYAttribute
-    private String[] mDYs = new String[]{};
+    private double[] mDYs = EMPTY;
 
     // Current <list-of-numbers> SVGLengthList
     // https://www.w3.org/TR/SVG/types.html#DataTypeNumbers
 
     // https://www.w3.org/TR/SVG/text.html#TSpanElementRotateAttribute
-    private double[] mRs = new double[]{0};
+    private double[] mRs = NO_ROTATION;
 
     // Current attribute list index
     private int mXsIndex;
@@ -101,33 +180,72 @@ class GlyphContext {
 
     // Constructor parameters
     private final float mScale;
-    private final float mWidth;
-    private final float mHeight;
+    private float mWidth;
+    private float mHeight;
 
     private void pushIndices() {
-        mXsIndices.add(mXsIndex);
-        mYsIndices.add(mYsIndex);
-        mDXsIndices.add(mDXsIndex);
-        mDYsIndices.add(mDYsIndex);
-        mRsIndices.add(mRsIndex);
+        mXsIndices.push(mXsIndex);
+        mYsIndices.push(mYsIndex);
+        mDXsIndices.push(mDXsIndex);
+        mDYsIndices.push(mDYsIndex);
+        mRsIndices.push(mRsIndex);
     }
 
     GlyphContext(float scale, float width, float height) {
         mScale = scale;
         mWidth = width;
         mHeight = height;
+        pushRoot();
+    }
+
+    /**
+     * Reset the context to its initial state for the next pass, reusing its stacks.
+     */
+    void begin(float width, float height) {
+        mWidth = width;
+        mHeight = height;
 
+        mFontContext.clear();
+        mXsContext.clear();
+        mYsContext.clear();
+        mDXsContext.clear();
+        mDYsContext.clear();
+        mRsContext.clear();
+
+        mXIndices.truncate(0);
+        mYIndices.truncate(0);
+        mDXIndices.truncate(0);
+        mDYIndices.truncate(0);
+        mRIndices.truncate(0);
+
+        mXsIndices.truncate(0);
+        mYsIndices.truncate(0);
+        mDXsIndices.truncate(0);
+        mDYsIndices.truncate(0);
+        mRsIndices.truncate(0);
+
+        mFontSize = FontData.DEFAULT_FONT_SIZE;
+        topFont = FontData.Defaults;
+        mXs = mYs = mDXs = mDYs = EMPTY;
+        mRs = NO_ROTATION;
+        reset();
+        mTop = 0;
+
+        pushRoot();
+    }
+
+    private void pushRoot() {
         mXsContext.add(mXs);
         mYsContext.add(mYs);
         mDXsContext.add(mDXs);
         mDYsContext.add(mDYs);
         mRsContext.add(mRs);
 
-        mXIndices.add(mXIndex);
-        mYIndices.add(mYIndex);
-        mDXIndices.add(mDXIndex);
-        mDYIndices.add(mDYIndex);
-        mRIndices.add(mRIndex);
+        mXIndices.push(mXIndex);
+        mYIndices.push(mYIndex);
+        mDXIndices.push(mDXIndex);
+        mDYIndices.push(mDYIndex);
+        mRIndices.push(mRIndex);
 
         mFontContext.add(topFont);
 
@@ -162,34 +280,35 @@ class GlyphContext {
         }
     }
 
-    private void pushNodeAndFont(GroupShadowNode node, @Nullable ReadableMap font) {
+    private void pushNodeAndFont(GroupShadowNode node) {
         FontData parent = getTopOrParentFont(node);
         mTop++;
 
-        if (font == null) {
+        FontData data = node.getFontData(parent, mScale);
+        if (data == parent) {
             mFontContext.add(parent);
             return;
         }
 
-        FontData data = new FontData(font, parent, mScale);
         mFontSize = data.fontSize;
         mFontContext.add(data);
         topFont = data;
 
     }
 
-    void pushContext(GroupShadowNode node, @Nullable ReadableMap font) {
-        pushNodeAndFont(node, font);
+    void pushContext(GroupShadowNode node) {
+        pushNodeAndFont(node);
         pushIndices();
     }
 
-    private String[] getStringArrayFromReadableArray(ReadableArray readableArray) {
+    private double[] getLengthArrayFromReadableArray(ReadableArray readableArray, float relative) {
         int size = readableArray.size();
-        String[] strings = new String[size];
+        double[] lengths = new double[size];
         for (int i = 0; i < size; i++) {
-            strings[i] = readableArray.getString(i);
+            String string = readableArray.getString(i);
+            lengths[i] = PropHelper.fromRelative(string, relative, 0, mScale, mFontSize);
         }
-        return strings;
+        return lengths;
     }
 
     private double[] getDoubleArrayFromReadableArray(ReadableArray readableArray) {
@@ -205,7 +324,6 @@ class GlyphContext {
     void pushContext(
         boolean reset,
         TextShadowNode node,
-        @Nullable ReadableMap font,
         @Nullable ReadableArray x,
         @Nullable ReadableArray y,
         @Nullable ReadableArray deltaX,
@@ -216,44 +334,49 @@ class GlyphContext {
             this.reset();
         }
 
-        pushNodeAndFont(node, font);
+        pushNodeAndFont(node);
 
         if (x != null && x.size() != 0) {
             mXsIndex++;
             mXIndex = -1;
-            mXIndices.add(mXIndex);
-            mXs = getStringArrayFromReadableArray(x);
+            mXIndices.truncate(mXsIndex);
+            mXIndices.push(mXIndex);
+            mXs = getLengthArrayFromReadableArray(x, mWidth);
             mXsContext.add(mXs);
         }
 
         if (y != null && y.size() != 0) {
             mYsIndex++;
             mYIndex = -1;
-            mYIndices.add(mYIndex);
-            mYs = getStringArrayFromReadableArray(y);
+            mYIndices.truncate(mYsIndex);
+            mYIndices.push(mYIndex);
+            mYs = getLengthArrayFromReadableArray(y, mHeight);
             mYsContext.add(mYs);
         }
 
         if (deltaX != null && deltaX.size() != 0) {
             mDXsIndex++;
             mDXIndex = -1;
-            mDXIndices.add(mDXIndex);
-            mDXs = getStringArrayFromReadableArray(deltaX);
+            mDXIndices.truncate(mDXsIndex);
+            mDXIndices.push(mDXIndex);
+            mDXs = getLengthArrayFromReadableArray(deltaX, mWidth);
             mDXsContext.add(mDXs);
         }
 
         if (deltaY != null && deltaY.size() != 0) {
             mDYsIndex++;
             mDYIndex = -1;
-            mDYIndices.add(mDYIndex);
-            mDYs = getStringArrayFromReadableArray(deltaY);
+            mDYIndices.truncate(mDYsIndex);
+            mDYIndices.push(mDYIndex);
+            mDYs = getLengthArrayFromReadableArray(deltaY, mHeight);
             mDYsContext.add(mDYs);
         }
 
         if (rotate != null && rotate.size() != 0) {
             mRsIndex++;
             mRIndex = -1;
-            mRIndices.add(mRIndex);
+            mRIndices.truncate(mRsIndex);
+            mRIndices.push(mRIndex);
             mRs = getDoubleArrayFromReadableArray(rotate);
             mRsContext.add(mRs);
         }
@@ -263,11 +386,11 @@ class GlyphContext {
 
     void popContext() {
         mFontContext.remove(mTop);
-        mXsIndices.remove(mTop);
-        mYsIndices.remove(mTop);
-        mDXsIndices.remove(mTop);
-        mDYsIndices.remove(mTop);
-        mRsIndices.remove(mTop);
+        mXsIndices.pop();
+        mYsIndices.pop();
+        mDXsIndices.pop();
+        mDYsIndices.pop();
+        mRsIndices.pop();
 
         mTop--;
 
@@ -278,6 +401,7 @@ class GlyphContext {
         int r = mRsIndex;
 
         topFont = mFontContext.get(mTop);
+        mFontSize = topFont.fontSize;
         mXsIndex = mXsIndices.get(mTop);
         mYsIndex = mYsIndices.get(mTop);
         mDXsIndex = mDXsIndices.get(mTop);
@@ -286,38 +410,36 @@ class GlyphContext {
 
         if (x != mXsIndex) {
             mXsContext.remove(x);
+            mXIndices.truncate(x);
             mXs = mXsContext.get(mXsIndex);
             mXIndex = mXIndices.get(mXsIndex);
         }
         if (y != mYsIndex) {
             mYsContext.remove(y);
+            mYIndices.truncate(y);
             mYs = mYsContext.get(mYsIndex);
             mYIndex = mYIndices.get(mYsIndex);
         }
         if (dx != mDXsIndex) {
             mDXsContext.remove(dx);
+            mDXIndices.truncate(dx);
             mDXs = mDXsContext.get(mDXsIndex);
             mDXIndex = mDXIndices.get(mDXsIndex);
         }
         if (dy != mDYsIndex) {
             mDYsContext.remove(dy);
+            mDYIndices.truncate(dy);
             mDYs = mDYsContext.get(mDYsIndex);
             mDYIndex = mDYIndices.get(mDYsIndex);
         }
         if (r != mRsIndex) {
             mRsContext.remove(r);
+            mRIndices.truncate(r);
             mRs = mRsContext.get(mRsIndex);
             mRIndex = mRIndices.get(mRsIndex);
         }
     }
 
-    private static void incrementIndices(ArrayList<Integer> indices, int topIndex) {
-        for (int index = topIndex; index >= 0; index--) {
-            int xIndex = indices.get(index);
-            indices.set(index, xIndex + 1);
-        }
-    }
-
     // https://www.w3.org/TR/SVG11/text.html#FontSizeProperty
 
     /**
@@ -354,14 +476,13 @@ class GlyphContext {
     }
 
     double nextX(double advance) {
-        incrementIndices(mXIndices, mXsIndex);
+        mXIndices.increment(mXsIndex, 1);
 
         int nextIndex = mXIndex + 1;
         if (nextIndex < mXs.length) {
             mDX = 0;
             mXIndex = nextIndex;
-            String string = mXs[nextIndex];
-            mX = PropHelper.fromRelative(string, mWidth, 0, mScale, mFontSize);
+            mX = mXs[nextIndex];
         }
 
         mX += advance;
@@ -370,55 +491,173 @@ class GlyphContext {
     }
 
     double nextY() {
-        incrementIndices(mYIndices, mYsIndex);
+        mYIndices.increment(mYsIndex, 1);
 
         int nextIndex = mYIndex + 1;
         if (nextIndex < mYs.length) {
             mDY = 0;
             mYIndex = nextIndex;
-            String string = mYs[nextIndex];
-            mY = PropHelper.fromRelative(string, mHeight, 0, mScale, mFontSize);
+            mY = mYs[nextIndex];
         }
 
         return mY;
     }
 
     double nextDeltaX() {
-        incrementIndices(mDXIndices, mDXsIndex);
+        mDXIndices.increment(mDXsIndex, 1);
 
         int nextIndex = mDXIndex + 1;
         if (nextIndex < mDXs.length) {
             mDXIndex = nextIndex;
-            String string = mDXs[nextIndex];
-            double val = PropHelper.fromRelative(string, mWidth, 0, mScale, mFontSize);
-            mDX += val;
+            mDX += mDXs[nextIndex];
         }
 
         return mDX;
     }
 
     double nextDeltaY() {
-        incrementIndices(mDYIndices, mDYsIndex);
+        mDYIndices.increment(mDYsIndex, 1);
 
         int nextIndex = mDYIndex + 1;
         if (nextIndex < mDYs.length) {
             mDYIndex = nextIndex;
-            String string = mDYs[nextIndex];
-            double val = PropHelper.fromRelative(string, mHeight, 0, mScale, mFontSize);
-            mDY += val;
+            mDY += mDYs[nextIndex];
         }
 
         return mDY;
     }
 
     double nextRotation() {
-        incrementIndices(mRIndices, mRsIndex);
+        mRIndices.increment(mRsIndex, 1);
 
         mRIndex = Math.min(mRIndex + 1, mRs.length - 1);
 
         return mRs[mRIndex];
     }
 
+    /**
+     * Whether the following glyphs don't pick up any values from the x, y, dx, dy or rotate
+     * lists in scope, i.e. a run of glyphs can be positioned by its advances alone.
+     */
+    boolean canPositionRun() {
+        return mXIndex + 1 >= mXs.length &&
+            mYIndex + 1 >= mYs.length &&
+            mDXIndex + 1 >= mDXs.length &&
+            mDYIndex + 1 >= mDYs.length &&
+            mRIndex + 1 >= mRs.length - 1 &&
+            mRs[mRs.length - 1] == 0;
+    }
+
+    /**
+     * Advance past a run of glyphs, as if nextX, nextY, nextDeltaX, nextDeltaY and nextRotation
+     * had been called once per glyph. Only valid if {@link #canPositionRun()}.
+     *
+     * @param count   number of glyphs in the run
+     * @param advance total advance of the run
+     * @return x coordinate of the start of the run
+     */
+    double nextRun(int count, double advance) {
+        mXIndices.increment(mXsIndex, count);
+        mYIndices.increment(mYsIndex, count);
+        mDXIndices.increment(mDXsIndex, count);
+        mDYIndices.increment(mDYsIndex, count);
+        mRIndices.increment(mRsIndex, count);
+
+        mRIndex = Math.min(mRIndex + count, mRs.length - 1);
+
+        double x = mX;
+        mX += advance;
+
+        return x;
+    }
+
+    void save(State state) {
+        state.mX = mX;
+        state.mY = mY;
+        state.mDX = mDX;
+        state.mDY = mDY;
+
+        state.mXs = mXs;
+        state.mYs = mYs;
+        state.mDXs = mDXs;
+        state.mDYs = mDYs;
+        state.mRs = mRs;
+
+        state.mXIndex = mXIndex;
+        state.mYIndex = mYIndex;
+        state.mDXIndex = mDXIndex;
+        state.mDYIndex = mDYIndex;
+        state.mRIndex = mRIndex;
+    }
+
+    /**
+     * Whether the following glyphs are positioned exactly like the glyphs following state were,
+     * i.e. they pick up the same values from equal lists, and start from the same current text
+     * position, unless the first glyph starts a new text chunk at an absolute x or y.
+     */
+    boolean isAt(State state) {
+        if (mXIndex != state.mXIndex ||
+            mYIndex != state.mYIndex ||
+            mDXIndex != state.mDXIndex ||
+            mDYIndex != state.mDYIndex ||
+            mRIndex != state.mRIndex ||
+            !Arrays.equals(mXs, state.mXs) ||
+            !Arrays.equals(mYs, state.mYs) ||
+            !Arrays.equals(mDXs, state.mDXs) ||
+            !Arrays.equals(mDYs, state.mDYs) ||
+            !Arrays.equals(mRs, state.mRs)) {
+            return false;
+        }
+
+        // An absolute x or y resets the current text position and the accumulated delta
+        final boolean absoluteX = mXIndex + 1 < mXs.length;
+        final boolean absoluteY = mYIndex + 1 < mYs.length;
+        return (absoluteX || (mX == state.mX && mDX == state.mDX)) &&
+            (absoluteY || (mY == state.mY && mDY == state.mDY));
+    }
+
+    /**
+     * Advance past glyphs positioned like before, see {@link #isAt(State)}, as if nextX, nextY,
+     * nextDeltaX, nextDeltaY and nextRotation had been called once per glyph.
+     *
+     * @param count number of glyphs
+     * @param end   state after the glyphs were positioned before
+     */
+    void skip(int count, State end) {
+        mXIndices.increment(mXsIndex, count);
+        mYIndices.increment(mYsIndex, count);
+        mDXIndices.increment(mDXsIndex, count);
+        mDYIndices.increment(mDYsIndex, count);
+        mRIndices.increment(mRsIndex, count);
+
+        mX = end.mX;
+        mY = end.mY;
+        mDX = end.mDX;
+        mDY = end.mDY;
+
+        mXIndex = end.mXIndex;
+        mYIndex = end.mYIndex;
+        mDXIndex = end.mDXIndex;
+        mDYIndex = end.mDYIndex;
+        mRIndex = end.mRIndex;
+    }
+
+    double getX() {
+        return mX;
+    }
+
+    double getY() {
+        return mY;
+    }
+
+    double getDeltaX() {
+        return mDX;
+    }
+
+    double getDeltaY() {
+        return mDY;
+    }
+
     float getWidth() {
         return mWidth;
     }
@@ -2,47 +2,109 @@ package com.horcrux.svg;
 
 import android.graphics.Paint;
 import android.graphics.Path;
+import android.graphics.RectF;
+import android.graphics.Typeface;
+import android.os.Build;
 
-import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.Map;
 
+/**
+ * Process-wide, bounded cache of glyph outlines shared by all text nodes across frames.
+ *
+ * Outlines are extracted at {@link #UNIT_SIZE} and have to be scaled by
+ * {@link #getScale(Paint)} when added to a text path.
+ * Cached paths are shared and must never be modified.
+ */
 class GlyphPathBag {
-    private final ArrayList<Path> paths = new ArrayList<>();
-    private final int[][] data = new int[256][];
-    private final Paint paint;
-
-    GlyphPathBag(Paint paint) {
-        this.paint = paint;
-        // Make indexed-by-one, to allow zero to represent non-cached
-        paths.add(new Path());
-    }
+    static final float UNIT_SIZE = 256f;
+    private static final int MAX_GLYPHS = 2048;
 
-    Path getOrCreateAndCache(char ch, String current) {
-        int index = getIndex(ch);
-        Path cached;
+    private static final Path EMPTY = new Path();
 
-        if (index != 0) {
-            cached = paths.get(index);
-        } else {
-            cached = new Path();
-            paint.getTextPath(current, 0, 1, 0, 0, cached);
+    private static final class Key {
+        Typeface typeface;
+        String fontFeatureSettings;
+        String grapheme;
+        int hash;
+
+        Key set(Typeface typeface, String fontFeatureSettings, String grapheme) {
+            this.typeface = typeface;
+            this.fontFeatureSettings = fontFeatureSettings;
+            this.grapheme = grapheme;
+            int h = typeface == null ? 0 : typeface.hashCode();
+            h = 31 * h + (fontFeatureSettings == null ? 0 : fontFeatureSettings.hashCode());
+            hash = 31 * h + grapheme.hashCode();
+            return this;
+        }
+
+        @Override
+        public int hashCode() {
+            return hash;
+        }
 
-            int[] bin = data[ch >> 8];
-            if (bin == null) {
-                bin = data[ch >> 8] = new int[256];
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof Key)) {
+                return false;
             }
-            bin[ch & 0xFF] = paths.size();
+            Key key = (Key) o;
+            return hash == key.hash &&
+                typeface == key.typeface &&
+                grapheme.equals(key.grapheme) &&
+                (fontFeatureSettings == null ?
+                    key.fontFeatureSettings == null :
+                    fontFeatureSettings.equals(key.fontFeatureSettings));
+        }
+    }
+
+    private static final Key sLookup = new Key();
+    private static final RectF sBounds = new RectF();
 
-            paths.add(cached);
+    private static final LinkedHashMap<Key, Path> sPaths = new LinkedHashMap<Key, Path>(MAX_GLYPHS, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<Key, Path> eldest) {
+            return size() > MAX_GLYPHS;
         }
+    };
 
-        Path glyph = new Path();
-        glyph.addPath(cached);
-        return glyph;
+    private GlyphPathBag() {}
+
+    static float getScale(Paint paint) {
+        return paint.getTextSize() / UNIT_SIZE;
     }
 
-    private int getIndex(char ch) {
-        int[] bin = data[ch >> 8];
-        if (bin == null) return 0;
-        return bin[ch & 0xFF];
+    /**
+     * Get the unscaled outline of a grapheme (cluster) in the typeface and font features of paint.
+     *
+     * @return the shared outline, or null if the glyphs have no outline (e.g. emoji and spaces)
+     */
+    static synchronized Path getOrCreateAndCache(Paint paint, String grapheme) {
+        String fontFeatureSettings = null;
+        if (Build.VERSION.SDK_INT >= Build.VERSION_CODES.LOLLIPOP) {
+            fontFeatureSettings = paint.getFontFeatureSettings();
+        }
+        Typeface typeface = paint.getTypeface();
+
+        Path cached = sPaths.get(sLookup.set(typeface, fontFeatureSettings, grapheme));
+        if (cached == null) {
+            cached = new Path();
+            float textSize = paint.getTextSize();
+            paint.setTextSize(UNIT_SIZE);
+            paint.getTextPath(grapheme, 0, grapheme.length(), 0, 0, cached);
+            paint.setTextSize(textSize);
+
+            cached.computeBounds(sBounds, true);
+            if (sBounds.width() == 0) {
+                cached = EMPTY;
+            }
+
+            sPaths.put(new Key().set(typeface, fontFeatureSettings, grapheme), cached);
+        }
+
+        return cached == EMPTY ? null : cached;
     }
 }
@@ -31,24 +31,81 @@ import javax.annotation.Nullable;
 class GroupShadowNode extends RenderableShadowNode {
     @Nullable ReadableMap mFont;
     private GlyphContext mGlyphContext;
+    private TextLayoutResults mTextLayoutResults;
+
+    // Font resolved against the inherited font it was last drawn with
+    private @Nullable FontData mFontData;
+    private @Nullable FontData mFontDataParent;
+
+    // Union of the client rects of the children, reused across frames
+    private final RectF mGroupRect = new RectF();
+
+    // Children beyond which they are assumed to overlap rather than compared pairwise
+    private static final int MAX_OVERLAP_CHILDREN = 32;
+    // Bounds of the children in the coordinate space of the group, and their union, reused across frames
+    private RectF[] mChildBounds = new RectF[0];
+    private final RectF mChildrenBounds = new RectF();
+    private boolean mChildrenBoundsKnown;
+
+    @Override
+    void invalidate(int dirty) {
+        super.invalidate(dirty);
+        if ((dirty & DIRTY_GEOMETRY) != 0) {
+            // Children may have been added or removed
+            invalidateHitTestBuffer();
+        }
+    }
 
     @ReactProp(name = "font")
     public void setFont(@Nullable ReadableMap font) {
         mFont = font;
-        markUpdated();
+        mFontData = null;
+        markUpdated(DIRTY_TEXT_LAYOUT);
+        // Lengths of descendants may be relative to the font size
+        releaseCachedPath();
+    }
+
+    /**
+     * Resolve the font prop against the inherited font.
+     * The result is reused across frames as long as the font prop and the (likewise reused)
+     * inherited font stay the same, so unchanged text trees never parse their font maps again.
+     */
+    FontData getFontData(FontData parent, double scale) {
+        if (mFont == null) {
+            return parent;
+        }
+
+        if (mFontData == null || mFontDataParent != parent) {
+            mFontData = new FontData(mFont, parent, scale);
+            mFontDataParent = parent;
+        }
+
+        return mFontData;
     }
 
     void setupGlyphContext(Canvas canvas) {
-        RectF clipBounds = new RectF(canvas.getClipBounds());
+        RectF clipBounds = getSvgShadowNode().getRenderContext().getClipBounds(canvas);
         mMatrix.mapRect(clipBounds);
         mTransform.mapRect(clipBounds);
-        mGlyphContext = new GlyphContext(mScale, clipBounds.width(), clipBounds.height());
+        if (mGlyphContext == null) {
+            mGlyphContext = new GlyphContext(mScale, clipBounds.width(), clipBounds.height());
+        } else {
+            mGlyphContext.begin(clipBounds.width(), clipBounds.height());
+        }
+        if (mTextLayoutResults == null) {
+            mTextLayoutResults = new TextLayoutResults();
+        }
+        mTextLayoutResults.beginPass();
     }
 
     GlyphContext getGlyphContext() {
         return mGlyphContext;
     }
 
+    TextLayoutResults getTextLayoutResults() {
+        return mTextLayoutResults;
+    }
+
     private static <T> T requireNonNull(T obj) {
         if (obj == null)
             throw new NullPointerException();
@@ -59,8 +116,12 @@ class GroupShadowNode extends RenderableShadowNode {
         return requireNonNull(getTextRoot()).getGlyphContext();
     }
 
+    TextLayoutResults getTextRootLayoutResults() {
+        return requireNonNull(getTextRoot()).getTextLayoutResults();
+    }
+
     void pushGlyphContext() {
-        getTextRootGlyphContext().pushContext(this, mFont);
+        getTextRootGlyphContext().pushContext(this);
     }
 
     void popGlyphContext() {
@@ -75,47 +136,146 @@ class GroupShadowNode extends RenderableShadowNode {
         }
     }
 
+    /**
+     * Draws the children, blended as a whole with the opacity of the group (i.e. group opacity)
+     * through an offscreen layer over their bounds, or through the layer of the group while it is
+     * animated. Children which can't overlap are drawn with the opacity of the group instead,
+     * which looks the same without a layer.
+     */
+    @SuppressWarnings("deprecation")
     void drawGroup(final Canvas canvas, final Paint paint, final float opacity) {
-        pushGlyphContext();
         final SvgViewShadowNode svg = getSvgShadowNode();
-        final GroupShadowNode self = this;
-        final RectF groupRect = new RectF();
-        traverseChildren(new NodeRunnable() {
-            public void run(ReactShadowNode lNode) {
-                if (lNode instanceof VirtualNode) {
-                    VirtualNode node = ((VirtualNode)lNode);
-                    if (node instanceof RenderableShadowNode) {
-                        ((RenderableShadowNode)node).mergeProperties(self);
-                    }
+        final float groupOpacity = getRenderOpacity();
+        int layerCount = -1;
+        float childOpacity = opacity;
+        if (groupOpacity < 1f) {
+            // Also computes the bounds of the layer
+            boolean overlap = canChildrenOverlap();
+            if (overlap || isFading(svg.getRenderContext().getFrameTime())) {
+                layerCount = canvas.saveLayerAlpha(mChildrenBoundsKnown ? mChildrenBounds : null,
+                    Math.round(Math.max(groupOpacity, 0f) * 255), Canvas.ALL_SAVE_FLAG);
+            } else {
+                childOpacity *= groupOpacity;
+            }
+        }
 
-                    int count = node.saveAndSetupCanvas(canvas);
-                    node.render(canvas, paint, opacity * mOpacity);
-                    RectF r = node.getClientRect();
-                    if (r != null) {
-                        groupRect.union(r);
-                    }
+        pushGlyphContext();
+        final Style style = getStyle();
+        final RectF groupRect = mGroupRect;
+        groupRect.setEmpty();
+        // Indexed loop instead of traverseChildren, so drawing a frame doesn't allocate a runnable per group
+        for (int i = 0; i < getChildCount(); i++) {
+            ReactShadowNode lNode = getChildAt(i);
+            if (lNode instanceof VirtualNode) {
+                VirtualNode node = ((VirtualNode)lNode);
+                if (node instanceof RenderableShadowNode) {
+                    ((RenderableShadowNode)node).resolveStyle(style);
+                }
 
-                    node.restoreCanvas(canvas, count);
+                int count = node.saveAndSetupCanvas(canvas);
+                node.composite(canvas, paint, childOpacity);
+                RectF r = node.getClientRect();
+                if (r != null) {
+                    groupRect.union(r);
+                }
 
-                    if (node instanceof RenderableShadowNode) {
-                        ((RenderableShadowNode)node).resetProperties();
-                    }
+                node.restoreCanvas(canvas, count);
 
-                    node.markUpdateSeen();
+                node.markUpdateSeen();
 
-                    if (node.isResponsible()) {
-                        svg.enableTouchEvents();
-                    }
-                } else if (lNode instanceof SvgViewShadowNode) {
-                    SvgViewShadowNode svgView = (SvgViewShadowNode)lNode;
-                    svgView.drawChildren(canvas);
-                } else {
-                    lNode.calculateLayout();
+                if (node.isResponsible()) {
+                    svg.enableTouchEvents();
                 }
+            } else if (lNode instanceof SvgViewShadowNode) {
+                SvgViewShadowNode svgView = (SvgViewShadowNode)lNode;
+                svgView.drawChildren(canvas);
+            } else {
+                lNode.calculateLayout();
             }
-        });
+        }
         this.setClientRect(groupRect);
         popGlyphContext();
+
+        if (layerCount != -1) {
+            canvas.restoreToCount(layerCount);
+        }
+    }
+
+    @Override
+    boolean canFadeLayer() {
+        return true;
+    }
+
+    @Override
+    boolean getLayerBounds(RectF bounds) {
+        RectF childBounds = new RectF();
+        for (int i = 0; i < getChildCount(); i++) {
+            if (!getChildBounds(getChildAt(i), childBounds)) {
+                return false;
+            }
+            bounds.union(childBounds);
+        }
+        return true;
+    }
+
+    /**
+     * Computes the layer bounds of child in the coordinate space of the group.
+     *
+     * @return false if the bounds are unknown
+     */
+    private static boolean getChildBounds(ReactShadowNode child, RectF bounds) {
+        if (!(child instanceof VirtualNode)) {
+            return false;
+        }
+
+        VirtualNode node = (VirtualNode) child;
+        bounds.setEmpty();
+        if (!node.getLayerBounds(bounds)) {
+            return false;
+        }
+        node.mTransform.mapRect(bounds);
+        if (node.mMatrix != null) {
+            node.mMatrix.mapRect(bounds);
+        }
+        return true;
+    }
+
+    /**
+     * Whether blending the children one by one with the group opacity could differ from blending them as
+     * a whole, i.e. some of them may overlap, judging from their paths as of the last time they were drawn.
+     * Groups and Use elements may overlap themselves. Also sets mChildrenBounds to the union of their bounds.
+     */
+    private boolean canChildrenOverlap() {
+        final int count = getChildCount();
+        if (mChildBounds.length < count) {
+            RectF[] childBounds = new RectF[count];
+            System.arraycopy(mChildBounds, 0, childBounds, 0, mChildBounds.length);
+            for (int i = mChildBounds.length; i < count; i++) {
+                childBounds[i] = new RectF();
+            }
+            mChildBounds = childBounds;
+        }
+
+        boolean overlap = count > MAX_OVERLAP_CHILDREN;
+        mChildrenBounds.setEmpty();
+        mChildrenBoundsKnown = true;
+        for (int i = 0; i < count; i++) {
+            ReactShadowNode child = getChildAt(i);
+            RectF bounds = mChildBounds[i];
+            if (!getChildBounds(child, bounds)) {
+                mChildrenBoundsKnown = false;
+                return true;
+            }
+            mChildrenBounds.union(bounds);
+
+            if (!overlap) {
+                overlap = child instanceof GroupShadowNode || child instanceof UseShadowNode;
+                for (int j = 0; j < i && !overlap; j++) {
+                    overlap = RectF.intersects(bounds, mChildBounds[j]);
+                }
+            }
+        }
+        return overlap;
     }
 
     void drawPath(Canvas canvas, Paint paint, float opacity) {
@@ -229,6 +389,40 @@ class GroupShadowNode extends RenderableShadowNode {
         return -1;
     }
 
+    @Override
+    void drawHitTestBuffer(Canvas canvas, HitTestBuffer buffer, int tag) {
+        if (!mInvertible) {
+            return;
+        }
+
+        if (isResponsible()) {
+            tag = getReactTag();
+        }
+
+        Path clipPath = getClipPath();
+        if (clipPath != null) {
+            canvas.clipPath(clipPath);
+        }
+
+        // Children are painted in drawing order, so the topmost one owns the overlapping pixels
+        for (int i = 0; i < getChildCount(); i++) {
+            ReactShadowNode child = getChildAt(i);
+            if (!(child instanceof VirtualNode)) {
+                continue;
+            }
+
+            VirtualNode node = (VirtualNode) child;
+            int count = node.saveAndSetupCanvas(canvas);
+            node.drawHitTestBuffer(canvas, buffer, tag);
+            node.restoreCanvas(canvas, count);
+        }
+    }
+
+    @Override
+    boolean savesChildDefinitions() {
+        return true;
+    }
+
     void saveDefinition() {
         if (mName != null) {
             getSvgShadowNode().defineTemplate(this, mName);
@@ -242,15 +436,4 @@ class GroupShadowNode extends RenderableShadowNode {
             }
         });
     }
-
-    @Override
-    void resetProperties() {
-        traverseChildren(new NodeRunnable() {
-            public void run(ReactShadowNode node) {
-                if (node instanceof RenderableShadowNode) {
-                    ((RenderableShadowNode)node).resetProperties();
-                }
-            }
-        });
-    }
 }
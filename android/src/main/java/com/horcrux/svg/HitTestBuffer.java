@@ -0,0 +1,140 @@
+/*
+ * Copyright (c) 2015-present, Horcrux.
+ * All rights reserved.
+ *
+ * This source code is licensed under the MIT-style license found in the
+ * LICENSE file in the root directory of this source tree.
+ */
+
+
+package com.horcrux.svg;
+
+import android.graphics.Bitmap;
+import android.graphics.Canvas;
+import android.graphics.Paint;
+import android.graphics.Path;
+
+/**
+ * Offscreen id buffer used for color picking hit testing.
+ *
+ * Every hit-testable path is filled with a unique opaque color (without anti-aliasing) which
+ * maps back to the react tag the geometric hit test would have returned for that path, so a
+ * touch only needs a single array lookup. The buffer is rendered at a reduced resolution and
+ * is only regenerated once it has been invalidated.
+ */
+class HitTestBuffer {
+    private static final int MAX_TAG_INDEX = 0xFFFFFF;
+
+    private final float mScale;
+    private final Paint mPaint = new Paint();
+
+    private Bitmap mBitmap;
+    private Canvas mCanvas;
+    private int[] mPixels;
+    private int mWidth;
+    private int mHeight;
+
+    // Index one based, so that a transparent pixel represents a miss
+    private int[] mTags = new int[16];
+    private int mTagCount;
+
+    private boolean mDirty = true;
+
+    HitTestBuffer(float scale) {
+        mScale = scale;
+        mPaint.setAntiAlias(false);
+        mPaint.setStyle(Paint.Style.FILL);
+    }
+
+    void invalidate() {
+        mDirty = true;
+    }
+
+    boolean needsUpdate(int width, int height) {
+        return mDirty || getBufferSize(width) != mWidth || getBufferSize(height) != mHeight;
+    }
+
+    private int getBufferSize(int size) {
+        return Math.max(1, (int) Math.ceil(size * mScale));
+    }
+
+    /**
+     * Clears the buffer and returns a canvas scaled from view coordinates to buffer coordinates.
+     *
+     * @param width  view width in pixels
+     * @param height view height in pixels
+     * @return canvas to render the hit-testable nodes into
+     */
+    Canvas begin(int width, int height) {
+        int bufferWidth = getBufferSize(width);
+        int bufferHeight = getBufferSize(height);
+
+        if (mBitmap == null || bufferWidth != mWidth || bufferHeight != mHeight) {
+            if (mBitmap != null) {
+                mBitmap.recycle();
+            }
+            mWidth = bufferWidth;
+            mHeight = bufferHeight;
+            mBitmap = Bitmap.createBitmap(mWidth, mHeight, Bitmap.Config.ARGB_8888);
+            mCanvas = new Canvas(mBitmap);
+            mPixels = new int[mWidth * mHeight];
+        } else {
+            mBitmap.eraseColor(0);
+        }
+
+        mTagCount = 0;
+        mCanvas.setMatrix(null);
+        mCanvas.scale(mScale, mScale);
+        return mCanvas;
+    }
+
+    void end() {
+        mBitmap.getPixels(mPixels, 0, mWidth, 0, 0, mWidth, mHeight);
+        mDirty = false;
+    }
+
+    void drawPath(Canvas canvas, Path path, int tag) {
+        if (mTagCount == MAX_TAG_INDEX) {
+            return;
+        }
+        if (mTagCount == mTags.length) {
+            int[] tags = new int[mTagCount * 2];
+            System.arraycopy(mTags, 0, tags, 0, mTagCount);
+            mTags = tags;
+        }
+        mTags[mTagCount++] = tag;
+        mPaint.setColor(0xFF000000 | mTagCount);
+        canvas.drawPath(path, mPaint);
+    }
+
+    /**
+     * Looks up the react tag at the given point in view coordinates.
+     *
+     * @return the tag of the node at the point, or -1 if nothing was hit
+     */
+    int hitTest(float x, float y) {
+        if (mPixels == null) {
+            return -1;
+        }
+
+        int bufferX = (int) (x * mScale);
+        int bufferY = (int) (y * mScale);
+        if (bufferX < 0 || bufferY < 0 || bufferX >= mWidth || bufferY >= mHeight) {
+            return -1;
+        }
+
+        int index = mPixels[bufferY * mWidth + bufferX] & MAX_TAG_INDEX;
+        return index == 0 || index > mTagCount ? -1 : mTags[index - 1];
+    }
+
+    void recycle() {
+        if (mBitmap != null) {
+            mBitmap.recycle();
+        }
+        mBitmap = null;
+        mCanvas = null;
+        mPixels = null;
+        mWidth = mHeight = 0;
+        mDirty = true;
+    }
+}
@@ -44,10 +44,10 @@ import javax.annotation.Nullable;
  * Shadow node for virtual Image view
  */
 class ImageShadowNode extends RenderableShadowNode {
-    private String mX;
-    private String mY;
-    private String mW;
-    private String mH;
+    private SvgLength mX;
+    private SvgLength mY;
+    private SvgLength mW;
+    private SvgLength mH;
     private String uriString;
     private int mImageWidth;
     private int mImageHeight;
@@ -57,25 +57,25 @@ class ImageShadowNode extends RenderableShadowNode {
 
     @ReactProp(name = "x")
     public void setX(Dynamic x) {
-        mX = getStringFromDynamic(x);
+        mX = getLengthFromDynamic(x);
         markUpdated();
     }
 
     @ReactProp(name = "y")
     public void setY(Dynamic y) {
-        mY = getStringFromDynamic(y);
+        mY = getLengthFromDynamic(y);
         markUpdated();
     }
 
     @ReactProp(name = "width")
     public void setWidth(Dynamic width) {
-        mW = getStringFromDynamic(width);
+        mW = getLengthFromDynamic(width);
         markUpdated();
     }
 
     @ReactProp(name = "height")
     public void setHeight(Dynamic height) {
-        mH = getStringFromDynamic(height);
+        mH = getLengthFromDynamic(height);
         markUpdated();
     }
 
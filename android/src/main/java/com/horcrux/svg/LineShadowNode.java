@@ -20,32 +20,32 @@ import com.facebook.react.uimanager.annotations.ReactProp;
  * Shadow node for virtual Line view
  */
 class LineShadowNode extends RenderableShadowNode {
-    private String mX1;
-    private String mY1;
-    private String mX2;
-    private String mY2;
+    private SvgLength mX1;
+    private SvgLength mY1;
+    private SvgLength mX2;
+    private SvgLength mY2;
 
     @ReactProp(name = "x1")
     public void setX1(Dynamic x1) {
-        mX1 = getStringFromDynamic(x1);
+        mX1 = getLengthFromDynamic(x1);
         markUpdated();
     }
 
     @ReactProp(name = "y1")
     public void setY1(Dynamic y1) {
-        mY1 = getStringFromDynamic(y1);
+        mY1 = getLengthFromDynamic(y1);
         markUpdated();
     }
 
     @ReactProp(name = "x2")
     public void setX2(Dynamic x2) {
-        mX2 = getStringFromDynamic(x2);
+        mX2 = getLengthFromDynamic(x2);
         markUpdated();
     }
 
     @ReactProp(name = "y2")
     public void setY2(Dynamic y2) {
-        mY2 = getStringFromDynamic(y2);
+        mY2 = getLengthFromDynamic(y2);
         markUpdated();
     }
 
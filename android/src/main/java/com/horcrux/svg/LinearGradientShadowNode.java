@@ -24,7 +24,7 @@ import javax.annotation.Nullable;
 /**
  * Shadow node for virtual LinearGradient definition view
  */
-class LinearGradientShadowNode extends DefinitionShadowNode {
+class LinearGradientShadowNode extends DefinitionShadowNode implements Brush.Provider {
 
     private String mX1;
     private String mY1;
@@ -39,6 +39,7 @@ class LinearGradientShadowNode extends DefinitionShadowNode {
         0, 0, 1
     };
     private Matrix mMatrix = null;
+    private @Nullable Brush mBrush;
 
     @ReactProp(name = "x1")
     public void setX1(Dynamic x1) {
@@ -102,27 +103,42 @@ class LinearGradientShadowNode extends DefinitionShadowNode {
         markUpdated();
     }
 
+    @Override
+    void invalidate(int dirty) {
+        super.invalidate(dirty);
+        mBrush = null;
+    }
+
     @Override
     void saveDefinition() {
         if (mName != null) {
+            getSvgShadowNode().defineBrush(this, mName);
+        }
+    }
+
+    /**
+     * @return the brush of the current props, which is only rebuilt when they change
+     */
+    @Override
+    public Brush getBrush() {
+        if (mBrush == null) {
             WritableArray points = Arguments.createArray();
             points.pushString(mX1);
             points.pushString(mY1);
             points.pushString(mX2);
             points.pushString(mY2);
 
-            Brush brush = new Brush(Brush.BrushType.LINEAR_GRADIENT, points, mGradientUnits);
-            brush.setGradientColors(mGradient);
+            mBrush = new Brush(Brush.BrushType.LINEAR_GRADIENT, points, mGradientUnits);
+            mBrush.setGradientColors(mGradient);
             if (mMatrix != null) {
-                brush.setGradientTransform(mMatrix);
-            }
-
-            SvgViewShadowNode svg = getSvgShadowNode();
-            if (mGradientUnits == Brush.BrushUnits.USER_SPACE_ON_USE) {
-                brush.setUserSpaceBoundingBox(svg.getCanvasBounds());
+                mBrush.setGradientTransform(mMatrix);
             }
+        }
 
-            svg.defineBrush(brush, mName);
+        if (mGradientUnits == Brush.BrushUnits.USER_SPACE_ON_USE) {
+            mBrush.setUserSpaceBoundingBox(getSvgShadowNode().getCanvasBounds());
         }
+
+        return mBrush;
     }
 }
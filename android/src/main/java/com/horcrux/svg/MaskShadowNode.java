@@ -24,10 +24,10 @@ import javax.annotation.Nullable;
  */
 class MaskShadowNode extends GroupShadowNode {
 
-    String mX;
-    String mY;
-    String mW;
-    String mH;
+    SvgLength mX;
+    SvgLength mY;
+    SvgLength mW;
+    SvgLength mH;
 
     // TODO implement proper support for units
     @SuppressWarnings({"FieldCanBeLocal", "unused"})
@@ -44,25 +44,25 @@ class MaskShadowNode extends GroupShadowNode {
 
     @ReactProp(name = "x")
     public void setX(Dynamic x) {
-        mX = getStringFromDynamic(x);
+        mX = getLengthFromDynamic(x);
         markUpdated();
     }
 
     @ReactProp(name = "y")
     public void setY(Dynamic y) {
-        mY = getStringFromDynamic(y);
+        mY = getLengthFromDynamic(y);
         markUpdated();
     }
 
     @ReactProp(name = "width")
     public void setWidth(Dynamic width) {
-        mW = getStringFromDynamic(width);
+        mW = getLengthFromDynamic(width);
         markUpdated();
     }
 
     @ReactProp(name = "height")
     public void setHeight(Dynamic height) {
-        mH = getStringFromDynamic(height);
+        mH = getLengthFromDynamic(height);
         markUpdated();
     }
 
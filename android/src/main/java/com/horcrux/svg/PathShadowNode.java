@@ -15,19 +15,41 @@ import android.graphics.Path;
 
 import com.facebook.react.uimanager.annotations.ReactProp;
 
+import javax.annotation.Nullable;
+
 /**
  * Shadow node for virtual Path view
  */
 class PathShadowNode extends RenderableShadowNode {
     private Path mPath;
 
+    // Animated paths are built into the path drawn by the frame before last and swapped in,
+    // so the ui thread never draws a path while it's being built
+    private @Nullable PropHelper.PathParser mAnimatedParser;
+    private @Nullable Path mSparePath;
+
     @ReactProp(name = "d")
     public void setD(String d) {
-        PropHelper.PathParser mD = new PropHelper.PathParser(d, mScale);
-        mPath = mD.getPath();
+        PropHelper.PathParser mD = new PropHelper.PathParser(mScale);
+        mPath = mD.getPath(PropHelper.PathParser.parse(d));
         markUpdated();
     }
 
+    /**
+     * @param data commands of the animated path data
+     * @param numbers numbers of the commands, interpolated between the keyframes
+     */
+    void setAnimatedD(PropHelper.PathData data, double[] numbers) {
+        if (mAnimatedParser == null) {
+            mAnimatedParser = new PropHelper.PathParser(mScale);
+        }
+        Path path = mSparePath != null ? mSparePath : new Path();
+        mAnimatedParser.build(data, numbers, path);
+        mSparePath = mPath;
+        mPath = path;
+        invalidateTree(DIRTY_GEOMETRY);
+    }
+
     @Override
     Path getPath(Canvas canvas, Paint paint) {
         return mPath;
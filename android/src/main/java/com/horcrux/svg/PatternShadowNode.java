@@ -25,7 +25,7 @@ import javax.annotation.Nullable;
 /**
  * Shadow node for virtual Pattern definition view
  */
-class PatternShadowNode extends GroupShadowNode {
+class PatternShadowNode extends GroupShadowNode implements Brush.Provider {
 
     private String mX;
     private String mY;
@@ -47,6 +47,7 @@ class PatternShadowNode extends GroupShadowNode {
         0, 0, 1
     };
     private Matrix mMatrix = null;
+    private @Nullable Brush mBrush;
 
     @ReactProp(name = "x")
     public void setX(Dynamic x) {
@@ -158,29 +159,44 @@ class PatternShadowNode extends GroupShadowNode {
         return new RectF(mMinX * mScale, mMinY * mScale, (mMinX + mVbWidth) * mScale, (mMinY + mVbHeight) * mScale);
     }
 
+    @Override
+    void invalidate(int dirty) {
+        super.invalidate(dirty);
+        mBrush = null;
+    }
+
     @Override
     void saveDefinition() {
         if (mName != null) {
+            getSvgShadowNode().defineBrush(this, mName);
+        }
+    }
+
+    /**
+     * @return the brush of the current props, which is only rebuilt when they change
+     */
+    @Override
+    public Brush getBrush() {
+        if (mBrush == null) {
             WritableArray points = Arguments.createArray();
             points.pushString(mX);
             points.pushString(mY);
             points.pushString(mW);
             points.pushString(mH);
 
-            Brush brush = new Brush(Brush.BrushType.PATTERN, points, mPatternUnits);
-            brush.setContentUnits(mPatternContentUnits);
-            brush.setPattern(this);
+            mBrush = new Brush(Brush.BrushType.PATTERN, points, mPatternUnits);
+            mBrush.setContentUnits(mPatternContentUnits);
+            mBrush.setPattern(this);
 
             if (mMatrix != null) {
-                brush.setGradientTransform(mMatrix);
-            }
-
-            SvgViewShadowNode svg = getSvgShadowNode();
-            if (mPatternUnits == Brush.BrushUnits.USER_SPACE_ON_USE || mPatternContentUnits == Brush.BrushUnits.USER_SPACE_ON_USE) {
-                brush.setUserSpaceBoundingBox(svg.getCanvasBounds());
+                mBrush.setGradientTransform(mMatrix);
             }
+        }
 
-            svg.defineBrush(brush, mName);
+        if (mPatternUnits == Brush.BrushUnits.USER_SPACE_ON_USE || mPatternContentUnits == Brush.BrushUnits.USER_SPACE_ON_USE) {
+            mBrush.setUserSpaceBoundingBox(getSvgShadowNode().getCanvasBounds());
         }
+
+        return mBrush;
     }
 }
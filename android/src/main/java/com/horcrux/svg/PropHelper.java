@@ -12,11 +12,9 @@ package com.horcrux.svg;
 import android.graphics.Path;
 import android.graphics.RectF;
 
-import com.facebook.react.bridge.Arguments;
 import com.facebook.react.bridge.ReadableArray;
-import com.facebook.react.bridge.WritableArray;
-import com.facebook.react.bridge.WritableMap;
 
+import java.util.ArrayList;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
@@ -70,87 +68,7 @@ class PropHelper {
      * @return value in the current user coordinate system
      */
     static double fromRelative(String length, double relative, double offset, double scale, double fontSize) {
-        /*
-            TODO list
-
-            unit  relative to
-            em    font size of the element
-            ex    x-height of the element’s font
-            ch    width of the "0" (ZERO, U+0030) glyph in the element’s font
-            rem   font size of the root element
-            vw    1% of viewport’s width
-            vh    1% of viewport’s height
-            vmin  1% of viewport’s smaller dimension
-            vmax  1% of viewport’s larger dimension
-
-            relative-size [ larger | smaller ]
-            absolute-size: [ xx-small | x-small | small | medium | large | x-large | xx-large ]
-
-            https://www.w3.org/TR/css3-values/#relative-lengths
-            https://www.w3.org/TR/css3-values/#absolute-lengths
-            https://drafts.csswg.org/css-cascade-4/#computed-value
-            https://drafts.csswg.org/css-fonts-3/#propdef-font-size
-            https://drafts.csswg.org/css2/fonts.html#propdef-font-size
-        */
-        length = length.trim();
-        int stringLength = length.length();
-        int percentIndex = stringLength - 1;
-        if (stringLength == 0 || length.equals("normal")) {
-            return offset;
-        } else if (length.codePointAt(percentIndex) == '%') {
-            return Double.valueOf(length.substring(0, percentIndex)) / 100 * relative + offset;
-        } else {
-            int twoLetterUnitIndex = stringLength - 2;
-            if (twoLetterUnitIndex > 0) {
-                String lastTwo = length.substring(twoLetterUnitIndex);
-                int end = twoLetterUnitIndex;
-                double unit = 1;
-
-                switch (lastTwo) {
-                    case "px":
-                        break;
-
-                    case "em":
-                        unit = fontSize;
-                        break;
-
-                    /*
-                     "1pt" equals "1.25px" (and therefore 1.25 user units)
-                     "1pc" equals "15px" (and therefore 15 user units)
-                     "1mm" would be "3.543307px" (3.543307 user units)
-                     "1cm" equals "35.43307px" (and therefore 35.43307 user units)
-                     "1in" equals "90px" (and therefore 90 user units)
-                     */
-
-                    case "pt":
-                        unit = 1.25d;
-                        break;
-
-                    case "pc":
-                        unit = 15;
-                        break;
-
-                    case "mm":
-                        unit = 3.543307d;
-                        break;
-
-                    case "cm":
-                        unit = 35.43307d;
-                        break;
-
-                    case "in":
-                        unit = 90;
-                        break;
-
-                    default:
-                        end = stringLength;
-                }
-
-                return Double.valueOf(length.substring(0, end)) * unit * scale + offset;
-            } else {
-                return Double.valueOf(length) * scale + offset;
-            }
-        }
+        return SvgLength.from(length).resolve(relative, offset, scale, fontSize);
     }
 
     /**
@@ -164,13 +82,38 @@ class PropHelper {
         return percentageRegExp.matcher(string).matches();
     }
 
+    /**
+     * Commands of path data, with their numbers kept apart (arc flags as 0 or 1), so paths of the
+     * same commands can be built from other numbers, e.g. interpolated by an animation, without
+     * parsing path data again.
+     */
+    static final class PathData {
+        private static final PathData EMPTY = new PathData("", new double[0]);
+
+        // One command per segment, implicit repetitions of commands included
+        final String mCommands;
+        final double[] mNumbers;
+
+        private PathData(String commands, double[] numbers) {
+            mCommands = commands;
+            mNumbers = numbers;
+        }
+
+        /**
+         * @return if the numbers of data can be built into the commands of this path data
+         */
+        boolean hasCommandsOf(PathData data) {
+            return mCommands.equals(data.mCommands);
+        }
+    }
+
     static class PathParser {
         static private final Pattern PATH_REG_EXP = Pattern.compile("[a-df-z]|[\\-+]?(?:[\\d.]e[\\-+]?|[^\\s\\-+,a-z])+", Pattern.CASE_INSENSITIVE);
         static private final Pattern DECIMAL_REG_EXP = Pattern.compile("(\\.\\d+)(?=-?\\.)");
 
-        private Matcher mMatcher;
         private Path mPath;
-        private final String mString;
+        private double[] mNumbers;
+        private int mNumberIndex;
         private float mPenX = 0f;
         private float mPenY = 0f;
         private float mPenDownX;
@@ -178,161 +121,212 @@ class PropHelper {
         private float mPivotX = 0f;
         private float mPivotY = 0f;
         private final float mScale;
-        private boolean mValid = true;
         private boolean mPendDownSet = false;
+        private final RectF mOval = new RectF();
 
-        private String mLastCommand;
-        private String mLastValue;
-        private WritableArray mBezierCurves;
-        private WritableMap mLastStartPoint;
-
-        PathParser(String d, float scale) {
+        PathParser(float scale) {
             mScale = scale;
-            mString = d;
         }
 
-        private void executeCommand(String command) {
+        /**
+         * Split path data into its commands and numbers.
+         * Path data missing numbers of a command is empty, and parsing stops at numbers without a command.
+         */
+        static PathData parse(String d) {
+            Matcher matcher = PATH_REG_EXP.matcher(DECIMAL_REG_EXP.matcher(d).replaceAll("$1,"));
+            StringBuilder commands = new StringBuilder();
+            ArrayList<Double> numbers = new ArrayList<>();
+            char command = 0;
+
+            while (matcher.find()) {
+                String token = matcher.group();
+                String lastValue = null;
+                if (token.length() == 1 && getNumberCount(token.charAt(0)) != -1) {
+                    command = token.charAt(0);
+                } else if (command == 0 || command == 'z' || command == 'Z') {
+                    break;
+                } else {
+                    // Implicit repetition of the last command
+                    lastValue = token;
+                }
+
+                int count = getNumberCount(command);
+                for (int i = 0; i < count; i++) {
+                    String value;
+                    if (lastValue != null) {
+                        value = lastValue;
+                        lastValue = null;
+                    } else if (matcher.find()) {
+                        value = matcher.group();
+                    } else {
+                        return PathData.EMPTY;
+                    }
+
+                    boolean flag = (command == 'a' || command == 'A') && (i == 3 || i == 4);
+                    numbers.add(flag ? (value.equals("1") ? 1d : 0d) : Float.parseFloat(value));
+                }
+                commands.append(command);
+
+                if (command == 'm') {
+                    command = 'l';
+                } else if (command == 'M') {
+                    command = 'L';
+                }
+            }
+
+            double[] values = new double[numbers.size()];
+            for (int i = 0; i < values.length; i++) {
+                values[i] = numbers.get(i);
+            }
+            return new PathData(commands.toString(), values);
+        }
+
+        private static int getNumberCount(char command) {
+            switch (command) {
+                case 'm':
+                case 'M':
+                case 'l':
+                case 'L':
+                case 't':
+                case 'T':
+                    return 2;
+                case 'h':
+                case 'H':
+                case 'v':
+                case 'V':
+                    return 1;
+                case 'c':
+                case 'C':
+                    return 6;
+                case 's':
+                case 'S':
+                case 'q':
+                case 'Q':
+                    return 4;
+                case 'a':
+                case 'A':
+                    return 7;
+                case 'z':
+                case 'Z':
+                    return 0;
+                default:
+                    return -1;
+            }
+        }
+
+        private void executeCommand(char command) {
             switch (command) {
                 // moveTo command
-                case "m":
+                case 'm':
                     move(getNextFloat(), getNextFloat());
                     break;
-                case "M":
+                case 'M':
                     moveTo(getNextFloat(), getNextFloat());
                     break;
 
                 // lineTo command
-                case "l":
+                case 'l':
                     line(getNextFloat(), getNextFloat());
                     break;
-                case "L":
+                case 'L':
                     lineTo(getNextFloat(), getNextFloat());
                     break;
 
                 // horizontalTo command
-                case "h":
+                case 'h':
                     line(getNextFloat(), 0);
                     break;
-                case "H":
+                case 'H':
                     lineTo(getNextFloat(), mPenY);
                     break;
 
                 // verticalTo command
-                case "v":
+                case 'v':
                     line(0, getNextFloat());
                     break;
-                case "V":
+                case 'V':
                     lineTo(mPenX, getNextFloat());
                     break;
 
                 // curveTo command
-                case "c":
+                case 'c':
                     curve(getNextFloat(), getNextFloat(), getNextFloat(), getNextFloat(), getNextFloat(), getNextFloat());
                     break;
-                case "C":
+                case 'C':
                     curveTo(getNextFloat(), getNextFloat(), getNextFloat(), getNextFloat(), getNextFloat(), getNextFloat());
                     break;
 
                 // smoothCurveTo command
-                case "s":
+                case 's':
                     smoothCurve(getNextFloat(), getNextFloat(), getNextFloat(), getNextFloat());
                     break;
-                case "S":
+                case 'S':
                     smoothCurveTo(getNextFloat(), getNextFloat(), getNextFloat(), getNextFloat());
                     break;
 
                 // quadraticBezierCurveTo command
-                case "q":
+                case 'q':
                     quadraticBezierCurve(getNextFloat(), getNextFloat(), getNextFloat(), getNextFloat());
                     break;
-                case "Q":
+                case 'Q':
                     quadraticBezierCurveTo(getNextFloat(), getNextFloat(), getNextFloat(), getNextFloat());
                     break;
 
                 // smoothQuadraticBezierCurveTo command
-                case "t":
+                case 't':
                     smoothQuadraticBezierCurve(getNextFloat(), getNextFloat());
                     break;
-                case "T":
+                case 'T':
                     smoothQuadraticBezierCurveTo(getNextFloat(), getNextFloat());
                     break;
 
                 // arcTo command
-                case "a":
+                case 'a':
                     arc(getNextFloat(), getNextFloat(), getNextFloat(), getNextBoolean(), getNextBoolean(), getNextFloat(), getNextFloat());
                     break;
-                case "A":
+                case 'A':
                     arcTo(getNextFloat(), getNextFloat(), getNextFloat(), getNextBoolean(), getNextBoolean(), getNextFloat(), getNextFloat());
                     break;
 
                 // close command
-                case "Z":
-                case "z":
+                case 'Z':
+                case 'z':
                     close();
                     break;
-                default:
-                    mLastValue = command;
-                    executeCommand(mLastCommand);
-                    return;
-            }
-
-            mLastCommand = command;
-
-            if (command.equals("m")) {
-                mLastCommand = "l";
-            } else if (command.equals("M")) {
-                mLastCommand = "L";
-            }
-        }
-
-        Path getPath() {
-            mPath = new Path();
-            mBezierCurves = Arguments.createArray();
-            mMatcher = PATH_REG_EXP.matcher(DECIMAL_REG_EXP.matcher(mString).replaceAll("$1,"));
-
-            while (mMatcher.find() && mValid) {
-                executeCommand(mMatcher.group());
             }
-            return mPath;
         }
 
-        private WritableMap getPointMap(float x, float y) {
-            WritableMap map = Arguments.createMap();
-            map.putDouble("x", x * mScale);
-            map.putDouble("y", y * mScale);
-            return map;
+        Path getPath(PathData data) {
+            return build(data, data.mNumbers, new Path());
         }
 
-        private WritableMap clonePointMap(WritableMap map) {
-            WritableMap cloned = Arguments.createMap();
-            cloned.putDouble("x", map.getDouble("x"));
-            cloned.putDouble("y", map.getDouble("y"));
-            return cloned;
+        /**
+         * Build the commands of data with the given numbers into path, replacing its contents.
+         * Flags of arcs are set from 0.5 on, so numbers interpolated between paths can be built as is.
+         */
+        Path build(PathData data, double[] numbers, Path path) {
+            path.rewind();
+            mPath = path;
+            mNumbers = numbers;
+            mNumberIndex = 0;
+            mPenX = mPenY = mPivotX = mPivotY = 0f;
+            mPendDownSet = false;
+
+            final String commands = data.mCommands;
+            for (int i = 0; i < commands.length(); i++) {
+                executeCommand(commands.charAt(i));
+            }
+            return path;
         }
 
         private boolean getNextBoolean() {
-            if (mMatcher.find()) {
-                return mMatcher.group().equals("1");
-            } else {
-                mValid = false;
-                mPath = new Path();
-                return false;
-            }
+            return mNumbers[mNumberIndex++] >= 0.5;
         }
 
         private float getNextFloat() {
-            if (mLastValue != null) {
-                String lastValue = mLastValue;
-                mLastValue = null;
-                return Float.parseFloat(lastValue);
-            } else if (mMatcher.find()) {
-                return Float.parseFloat(mMatcher.group());
-            } else {
-                mValid = false;
-                mPath = new Path();
-                return 0;
-            }
+            return (float) mNumbers[mNumberIndex++];
         }
+
         private void move(float x, float y) {
             moveTo(x + mPenX, y + mPenY);
         }
@@ -341,11 +335,6 @@ class PropHelper {
             mPivotX = mPenX = x;
             mPivotY = mPenY = y;
             mPath.moveTo(x * mScale, y * mScale);
-
-            mLastStartPoint = getPointMap(x ,y);
-            WritableArray points = Arguments.createArray();
-            points.pushMap(getPointMap(x, y));
-            mBezierCurves.pushArray(points);
         }
 
         private void line(float x, float y) {
@@ -357,12 +346,6 @@ class PropHelper {
             mPivotX = mPenX = x;
             mPivotY = mPenY = y;
             mPath.lineTo(x * mScale, y * mScale);
-
-            WritableArray points = Arguments.createArray();
-            points.pushMap(getPointMap(x, y));
-            points.pushMap(getPointMap(x, y));
-            points.pushMap(getPointMap(x, y));
-            mBezierCurves.pushArray(points);
         }
 
         private void curve(float c1x, float c1y, float c2x, float c2y, float ex, float ey) {
@@ -380,12 +363,6 @@ class PropHelper {
             mPenX = ex;
             mPenY = ey;
             mPath.cubicTo(c1x * mScale, c1y * mScale, c2x * mScale, c2y * mScale, ex * mScale, ey * mScale);
-
-            WritableArray points = Arguments.createArray();
-            points.pushMap(getPointMap(c1x, c1y));
-            points.pushMap(getPointMap(c2x, c2y));
-            points.pushMap(getPointMap(ex, ey));
-            mBezierCurves.pushArray(points);
         }
 
         private void smoothCurve(float c1x, float c1y, float ex, float ey) {
@@ -520,13 +497,13 @@ class PropHelper {
                     sweep = -sweep;
                 }
 
-                RectF oval = new RectF(
+                mOval.set(
                         (cx - rx) * mScale,
                         (cy - rx) * mScale,
                         (cx + rx) * mScale,
                         (cy + rx) * mScale);
 
-                mPath.arcTo(oval, start, sweep);
+                mPath.arcTo(mOval, start, sweep);
             }
         }
 
@@ -536,12 +513,6 @@ class PropHelper {
                 mPenY = mPenDownY;
                 mPendDownSet = false;
                 mPath.close();
-
-                WritableArray points = Arguments.createArray();
-                points.pushMap(clonePointMap(mLastStartPoint));
-                points.pushMap(clonePointMap(mLastStartPoint));
-                points.pushMap(clonePointMap(mLastStartPoint));
-                mBezierCurves.pushArray(points);
             }
         }
 
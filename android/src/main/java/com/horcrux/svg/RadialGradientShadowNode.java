@@ -24,7 +24,7 @@ import javax.annotation.Nullable;
 /**
  * Shadow node for virtual RadialGradient definition view
  */
-class RadialGradientShadowNode extends DefinitionShadowNode {
+class RadialGradientShadowNode extends DefinitionShadowNode implements Brush.Provider {
     private String mFx;
     private String mFy;
     private String mRx;
@@ -40,6 +40,7 @@ class RadialGradientShadowNode extends DefinitionShadowNode {
         0, 0, 1
     };
     private Matrix mMatrix = null;
+    private @Nullable Brush mBrush;
 
     @ReactProp(name = "fx")
     public void setFx(Dynamic fx) {
@@ -115,9 +116,25 @@ class RadialGradientShadowNode extends DefinitionShadowNode {
         markUpdated();
     }
 
+    @Override
+    void invalidate(int dirty) {
+        super.invalidate(dirty);
+        mBrush = null;
+    }
+
     @Override
     void saveDefinition() {
         if (mName != null) {
+            getSvgShadowNode().defineBrush(this, mName);
+        }
+    }
+
+    /**
+     * @return the brush of the current props, which is only rebuilt when they change
+     */
+    @Override
+    public Brush getBrush() {
+        if (mBrush == null) {
             WritableArray points = Arguments.createArray();
             points.pushString(mFx);
             points.pushString(mFy);
@@ -126,18 +143,17 @@ class RadialGradientShadowNode extends DefinitionShadowNode {
             points.pushString(mCx);
             points.pushString(mCy);
 
-            Brush brush = new Brush(Brush.BrushType.RADIAL_GRADIENT, points, mGradientUnits);
-            brush.setGradientColors(mGradient);
+            mBrush = new Brush(Brush.BrushType.RADIAL_GRADIENT, points, mGradientUnits);
+            mBrush.setGradientColors(mGradient);
             if (mMatrix != null) {
-                brush.setGradientTransform(mMatrix);
-            }
-
-            SvgViewShadowNode svg = getSvgShadowNode();
-            if (mGradientUnits == Brush.BrushUnits.USER_SPACE_ON_USE) {
-                brush.setUserSpaceBoundingBox(svg.getCanvasBounds());
+                mBrush.setGradientTransform(mMatrix);
             }
+        }
 
-            svg.defineBrush(brush, mName);
+        if (mGradientUnits == Brush.BrushUnits.USER_SPACE_ON_USE) {
+            mBrush.setUserSpaceBoundingBox(getSvgShadowNode().getCanvasBounds());
         }
+
+        return mBrush;
     }
 }
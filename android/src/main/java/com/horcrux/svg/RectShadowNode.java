@@ -21,46 +21,46 @@ import com.facebook.react.uimanager.annotations.ReactProp;
  * Shadow node for virtual Rect view
  */
 class RectShadowNode extends RenderableShadowNode {
-    private String mX;
-    private String mY;
-    private String mW;
-    private String mH;
-    private String mRx;
-    private String mRy;
+    private SvgLength mX;
+    private SvgLength mY;
+    private SvgLength mW;
+    private SvgLength mH;
+    private SvgLength mRx;
+    private SvgLength mRy;
 
     @ReactProp(name = "x")
     public void setX(Dynamic x) {
-        mX = getStringFromDynamic(x);
+        mX = getLengthFromDynamic(x);
         markUpdated();
     }
 
     @ReactProp(name = "y")
     public void setY(Dynamic y) {
-        mY = getStringFromDynamic(y);
+        mY = getLengthFromDynamic(y);
         markUpdated();
     }
 
     @ReactProp(name = "width")
     public void setWidth(Dynamic width) {
-        mW = getStringFromDynamic(width);
+        mW = getLengthFromDynamic(width);
         markUpdated();
     }
 
     @ReactProp(name = "height")
     public void setHeight(Dynamic height) {
-        mH = getStringFromDynamic(height);
+        mH = getLengthFromDynamic(height);
         markUpdated();
     }
 
     @ReactProp(name = "rx")
     public void setRx(Dynamic rx) {
-        mRx = getStringFromDynamic(rx);
+        mRx = getLengthFromDynamic(rx);
         markUpdated();
     }
 
     @ReactProp(name = "ry")
     public void setRy(Dynamic ry) {
-        mRy = getStringFromDynamic(ry);
+        mRy = getLengthFromDynamic(ry);
         markUpdated();
     }
 
@@ -0,0 +1,139 @@
+/*
+ * Copyright (c) 2015-present, Horcrux.
+ * All rights reserved.
+ *
+ * This source code is licensed under the MIT-style license found in the
+ * LICENSE file in the root directory of this source tree.
+ */
+
+
+package com.horcrux.svg;
+
+import android.graphics.Canvas;
+import android.graphics.Matrix;
+import android.graphics.Paint;
+import android.graphics.Rect;
+import android.graphics.RectF;
+import android.graphics.Typeface;
+import android.view.animation.AnimationUtils;
+
+/**
+ * State of the frame an svg view is drawing, set up once per frame by the svg root.
+ *
+ * Holds the viewport that percentage lengths resolve against and the objects reused by every
+ * frame, so nodes neither probe the canvas nor allocate while drawing.
+ */
+class RenderContext {
+    /*
+        N[1/Sqrt[2], 36]
+        The inverse of the square root of 2.
+        Provide enough digits for the 128-bit IEEE quad (36 significant digits).
+    */
+    private static final double M_SQRT1_2l = 0.707106781186547524400844362104849039;
+
+    private final Rect mClipBounds = new Rect();
+    private final Rect mScratchBounds = new Rect();
+    private final RectF mScratchRect = new RectF();
+    private final RectF mBoundsRect = new RectF();
+    private final Matrix mMatrix = new Matrix();
+    private final Paint mPaint = new Paint();
+
+    private float mWidth;
+    private float mHeight;
+    private double mDiagonal;
+    private long mFrameTime;
+    // Whether a node has been composited from a layer in this frame
+    private boolean mLayerDrawn;
+
+    /**
+     * Set up the context for a frame drawn into canvas, after the viewBox transform is applied.
+     */
+    void begin(Canvas canvas) {
+        canvas.getClipBounds(mClipBounds);
+        mWidth = mClipBounds.width();
+        mHeight = mClipBounds.height();
+        mDiagonal = getDiagonal(mWidth, mHeight);
+        mFrameTime = AnimationUtils.currentAnimationTimeMillis();
+        mLayerDrawn = false;
+
+        mPaint.reset();
+        mPaint.setFlags(Paint.ANTI_ALIAS_FLAG | Paint.DEV_KERN_TEXT_FLAG | Paint.SUBPIXEL_TEXT_FLAG);
+        mPaint.setTypeface(Typeface.DEFAULT);
+    }
+
+    /**
+     * Normalized diagonal, which lengths that are neither horizontal nor vertical are relative to.
+     * https://www.w3.org/TR/SVG11/coords.html#Units
+     */
+    static double getDiagonal(double width, double height) {
+        return Math.sqrt(width * width + height * height) * M_SQRT1_2l;
+    }
+
+    float getWidth() {
+        return mWidth;
+    }
+
+    float getHeight() {
+        return mHeight;
+    }
+
+    double getDiagonal() {
+        return mDiagonal;
+    }
+
+    /**
+     * @return start time of the frame in milliseconds, see {@link AnimationUtils#currentAnimationTimeMillis}
+     */
+    long getFrameTime() {
+        return mFrameTime;
+    }
+
+    void setLayerDrawn() {
+        mLayerDrawn = true;
+    }
+
+    boolean isLayerDrawn() {
+        return mLayerDrawn;
+    }
+
+    /**
+     * @return clip bounds of the canvas at the svg root, owned by the context
+     */
+    Rect getClipBounds() {
+        return mClipBounds;
+    }
+
+    /**
+     * @return the paint shared by the nodes of the frame
+     */
+    Paint getPaint() {
+        return mPaint;
+    }
+
+    /**
+     * @return current clip bounds of canvas, in a rect owned by the context and only valid until the next call
+     */
+    RectF getClipBounds(Canvas canvas) {
+        canvas.getClipBounds(mScratchBounds);
+        mScratchRect.set(mScratchBounds);
+        return mScratchRect;
+    }
+
+    /**
+     * @return a rect for the bounds a node computes while drawing, owned by the context and only
+     * valid until the node draws its children or returns
+     */
+    RectF getBoundsRect() {
+        return mBoundsRect;
+    }
+
+    /**
+     * @return current matrix of canvas, owned by the context and only valid until the next call
+     */
+    @SuppressWarnings("deprecation")
+    Matrix getMatrix(Canvas canvas) {
+        // We create the canvas ourselves, thus we can depend on getMatrix
+        canvas.getMatrix(mMatrix);
+        return mMatrix;
+    }
+}
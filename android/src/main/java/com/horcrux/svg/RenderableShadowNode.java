@@ -12,7 +12,6 @@ package com.horcrux.svg;
 import android.graphics.Bitmap;
 import android.graphics.Canvas;
 import android.graphics.DashPathEffect;
-import android.graphics.Matrix;
 import android.graphics.Paint;
 import android.graphics.Path;
 import android.graphics.PorterDuff;
@@ -23,15 +22,12 @@ import android.graphics.Region;
 
 import com.facebook.react.bridge.Dynamic;
 import com.facebook.react.bridge.JSApplicationIllegalArgumentException;
-import com.facebook.react.bridge.JavaOnlyArray;
 import com.facebook.react.bridge.ReadableArray;
 import com.facebook.react.bridge.ReadableType;
 import com.facebook.react.uimanager.annotations.ReactProp;
 
-import java.lang.reflect.Field;
 import java.util.ArrayList;
-import java.util.regex.Matcher;
-import java.util.regex.Pattern;
+import java.util.Arrays;
 
 import javax.annotation.Nullable;
 
@@ -54,10 +50,37 @@ abstract public class RenderableShadowNode extends VirtualNode {
     private static final int FILL_RULE_EVENODD = 0;
     static final int FILL_RULE_NONZERO = 1;
 
-    private @Nullable ReadableArray mStroke;
-    private @Nullable String[] mStrokeDasharray;
-
-    private String mStrokeWidth = "1";
+    // Props inherited from the node rendering a node, indexed like PROP_NAMES
+    private static final int PROP_FILL = 0;
+    private static final int PROP_FILL_OPACITY = 1;
+    private static final int PROP_FILL_RULE = 2;
+    private static final int PROP_STROKE = 3;
+    private static final int PROP_STROKE_WIDTH = 4;
+    private static final int PROP_STROKE_OPACITY = 5;
+    private static final int PROP_STROKE_DASHARRAY = 6;
+    private static final int PROP_STROKE_DASHOFFSET = 7;
+    private static final int PROP_STROKE_LINECAP = 8;
+    private static final int PROP_STROKE_LINEJOIN = 9;
+    private static final int PROP_STROKE_MITERLIMIT = 10;
+    private static final int PROP_COUNT = 11;
+    private static final String[] PROP_NAMES = {
+        "fill",
+        "fillOpacity",
+        "fillRule",
+        "stroke",
+        "strokeWidth",
+        "strokeOpacity",
+        "strokeDasharray",
+        "strokeDashoffset",
+        "strokeLinecap",
+        "strokeLinejoin",
+        "strokeMiterlimit",
+    };
+
+    private @Nullable SvgPaint mStroke;
+    private @Nullable SvgLength[] mStrokeDasharray;
+
+    private @Nullable SvgLength mStrokeWidth = new SvgLength(1, SvgLength.UNIT_NUMBER);
     private float mStrokeOpacity = 1;
     private float mStrokeMiterlimit = 4;
     private float mStrokeDashoffset = 0;
@@ -66,45 +89,35 @@ abstract public class RenderableShadowNode extends VirtualNode {
     private Paint.Join mStrokeLinejoin = Paint.Join.ROUND;
 
 
-    private @Nullable ReadableArray mFill;
+    private @Nullable SvgPaint mFill;
     private float mFillOpacity = 1;
     private Path.FillType mFillRule = Path.FillType.WINDING;
 
-    private @Nullable ArrayList<String> mLastMergedList;
-    private @Nullable ArrayList<Object> mOriginProperties;
-    private @Nullable ArrayList<String> mPropList;
-    private @Nullable ArrayList<String> mAttributeList;
+    // Inheritable props set on this node itself (1 << PROP_*)
+    private int mPropMask;
+    private @Nullable Style mStyle;
+    private @Nullable Style mStyleParent;
 
-    private static final Pattern regex = Pattern.compile("[0-9.-]+");
+    // Dash effect of the last resolved stroke dash array and offset
+    private @Nullable float[] mDashIntervals;
+    private float mDashOffset;
+    private @Nullable DashPathEffect mDashEffect;
 
     @ReactProp(name = "fill")
     public void setFill(@Nullable Dynamic fill) {
-        if (fill == null || fill.isNull()) {
-            mFill = null;
-            markUpdated();
-            return;
-        }
-        ReadableType type = fill.getType();
-        if (type.equals(ReadableType.Array)) {
-            mFill = fill.asArray();
-        } else {
-            JavaOnlyArray arr = new JavaOnlyArray();
-            arr.pushInt(0);
-            Matcher m = regex.matcher(fill.asString());
-            int i = 0;
-            while (m.find()) {
-                Double parsed = Double.parseDouble(m.group());
-                arr.pushDouble(i++ < 3 ? parsed / 255 : parsed);
-            }
-            mFill = arr;
+        SvgPaint previous = mFill;
+        mFill = getPaintFromDynamic(fill);
+        if ((previous == null) != (mFill == null)) {
+            invalidateFillPath();
         }
-        markUpdated();
+        saveReferences();
+        markUpdated(DIRTY_PAINT);
     }
 
     @ReactProp(name = "fillOpacity", defaultFloat = 1f)
     public void setFillOpacity(float fillOpacity) {
         mFillOpacity = fillOpacity;
-        markUpdated();
+        markUpdated(DIRTY_PAINT);
     }
 
     @ReactProp(name = "fillRule", defaultInt = FILL_RULE_NONZERO)
@@ -120,68 +133,103 @@ abstract public class RenderableShadowNode extends VirtualNode {
                         "fillRule " + mFillRule + " unrecognized");
         }
 
-        markUpdated();
+        mStyle = null;
+        markUpdated(DIRTY_GEOMETRY);
     }
 
     @ReactProp(name = "stroke")
     public void setStroke(@Nullable Dynamic strokeColors) {
-        if (strokeColors == null || strokeColors.isNull()) {
-            mStroke = null;
-            markUpdated();
-            return;
+        mStroke = getPaintFromDynamic(strokeColors);
+        saveReferences();
+        markUpdated(DIRTY_STROKE);
+    }
+
+    private static @Nullable SvgPaint getPaintFromDynamic(@Nullable Dynamic colors) {
+        if (colors == null || colors.isNull()) {
+            return null;
         }
-        ReadableType type = strokeColors.getType();
-        if (type.equals(ReadableType.Array)) {
-            mStroke = strokeColors.asArray();
-        } else {
-            JavaOnlyArray arr = new JavaOnlyArray();
-            arr.pushInt(0);
-            Matcher m = regex.matcher(strokeColors.asString());
-            while (m.find()) {
-                Double parsed = Double.parseDouble(m.group());
-                arr.pushDouble(parsed);
-            }
-            mStroke = arr;
+        if (colors.getType() == ReadableType.Array) {
+            return SvgPaint.from(colors.asArray());
         }
-        markUpdated();
+        return SvgPaint.from(colors.asString());
     }
 
     @ReactProp(name = "strokeOpacity", defaultFloat = 1f)
     public void setStrokeOpacity(float strokeOpacity) {
         mStrokeOpacity = strokeOpacity;
-        markUpdated();
+        markUpdated(DIRTY_PAINT);
     }
 
     @ReactProp(name = "strokeDasharray")
     public void setStrokeDasharray(@Nullable ReadableArray strokeDasharray) {
         if (strokeDasharray != null) {
             int fromSize = strokeDasharray.size();
-            mStrokeDasharray = new String[fromSize];
+            mStrokeDasharray = new SvgLength[fromSize];
             for (int i = 0; i < fromSize; i++) {
-                mStrokeDasharray[i] = strokeDasharray.getString(i);
+                mStrokeDasharray[i] = SvgLength.from(strokeDasharray.getString(i));
             }
         } else {
             mStrokeDasharray = null;
         }
-        markUpdated();
+        markUpdated(DIRTY_STROKE);
     }
 
     @ReactProp(name = "strokeDashoffset")
     public void setStrokeDashoffset(float strokeDashoffset) {
         mStrokeDashoffset = strokeDashoffset * mScale;
-        markUpdated();
+        markUpdated(DIRTY_STROKE);
+    }
+
+    /**
+     * @param rgba color components, 0 to 1
+     */
+    void setAnimatedFill(double[] rgba) {
+        int color = SvgPaint.pack(rgba[0], rgba[1], rgba[2], rgba[3]);
+        if (mFill != null && mFill.mType == SvgPaint.TYPE_COLOR && mFill.mColor == color) {
+            return;
+        }
+        boolean wasBrush = mFill != null && mFill.mType == SvgPaint.TYPE_BRUSH;
+        if (mFill == null) {
+            invalidateFillPath();
+        }
+        mFill = SvgPaint.color(color);
+        if (wasBrush) {
+            saveReferences();
+        }
+        invalidateTree(DIRTY_PAINT);
+    }
+
+    /**
+     * @param rgba color components, 0 to 1
+     */
+    void setAnimatedStroke(double[] rgba) {
+        int color = SvgPaint.pack(rgba[0], rgba[1], rgba[2], rgba[3]);
+        if (mStroke != null && mStroke.mType == SvgPaint.TYPE_COLOR && mStroke.mColor == color) {
+            return;
+        }
+        boolean wasBrush = mStroke != null && mStroke.mType == SvgPaint.TYPE_BRUSH;
+        mStroke = SvgPaint.color(color);
+        if (wasBrush) {
+            saveReferences();
+        }
+        invalidateTree(DIRTY_STROKE);
+    }
+
+    void setAnimatedStrokeDashoffset(float strokeDashoffset) {
+        mStrokeDashoffset = strokeDashoffset * mScale;
+        invalidateTree(DIRTY_STROKE);
     }
 
     @ReactProp(name = "strokeWidth")
     public void setStrokeWidth(Dynamic strokeWidth) {
-        mStrokeWidth = getStringFromDynamic(strokeWidth);
-        markUpdated();
+        mStrokeWidth = getLengthFromDynamic(strokeWidth);
+        markUpdated(DIRTY_STROKE);
     }
 
     @ReactProp(name = "strokeMiterlimit", defaultFloat = 4f)
     public void setStrokeMiterlimit(float strokeMiterlimit) {
         mStrokeMiterlimit = strokeMiterlimit;
-        markUpdated();
+        markUpdated(DIRTY_STROKE);
     }
 
     @ReactProp(name = "strokeLinecap", defaultInt = CAP_ROUND)
@@ -200,7 +248,7 @@ abstract public class RenderableShadowNode extends VirtualNode {
                 throw new JSApplicationIllegalArgumentException(
                         "strokeLinecap " + mStrokeLinecap + " unrecognized");
         }
-        markUpdated();
+        markUpdated(DIRTY_STROKE);
     }
 
     @ReactProp(name = "strokeLinejoin", defaultInt = JOIN_ROUND)
@@ -219,22 +267,65 @@ abstract public class RenderableShadowNode extends VirtualNode {
                 throw new JSApplicationIllegalArgumentException(
                         "strokeLinejoin " + mStrokeLinejoin + " unrecognized");
         }
-        markUpdated();
+        markUpdated(DIRTY_STROKE);
     }
 
     @ReactProp(name = "propList")
     public void setPropList(@Nullable ReadableArray propList) {
         if (propList != null) {
-            mPropList = mAttributeList = new ArrayList<>();
+            int propMask = 0;
             for (int i = 0; i < propList.size(); i++) {
-                String fieldName = propertyNameToFieldName(propList.getString(i));
-                mPropList.add(fieldName);
+                int prop = getPropIndex(propList.getString(i));
+                if (prop != -1) {
+                    propMask |= 1 << prop;
+                }
             }
+            mPropMask = propMask;
         }
 
         markUpdated();
     }
 
+    /**
+     * Adds the ids of the definitions referred to by what this node draws, e.g. its fill and stroke brushes.
+     * Declared here rather than in the generic VirtualNode, which subclasses extend as a raw type.
+     */
+    void getContentReferences(ArrayList<String> references) {
+        addBrushReference(references, mFill);
+        addBrushReference(references, mStroke);
+    }
+
+    private static void addBrushReference(ArrayList<String> references, @Nullable SvgPaint paint) {
+        if (paint != null && paint.mType == SvgPaint.TYPE_BRUSH) {
+            references.add(paint.mBrushRef);
+        }
+    }
+
+    @Override
+    void invalidate(int dirty) {
+        super.invalidate(dirty);
+        if ((dirty & (DIRTY_PAINT | DIRTY_STROKE)) != 0) {
+            mStyle = null;
+        }
+        if ((dirty & DIRTY_GEOMETRY) != 0) {
+            mFillPathValid = false;
+        }
+        if ((dirty & (DIRTY_GEOMETRY | DIRTY_STROKE)) != 0) {
+            mStrokePathValid = false;
+            mStrokeRegion = null;
+            invalidateHitTestBuffer();
+        }
+    }
+
+    /**
+     * Drops the fill path and the hit test region computed from it, for when the fill is set or removed.
+     */
+    private void invalidateFillPath() {
+        mFillPathValid = false;
+        mRegion = null;
+        invalidateHitTestBuffer();
+    }
+
     private static double saturate(double v) {
         return v <= 0 ? 0 : (v >= 1 ? 1 : v);
     }
@@ -304,55 +395,90 @@ abstract public class RenderableShadowNode extends VirtualNode {
 
     @Override
     void draw(Canvas canvas, Paint paint, float opacity) {
-        opacity *= mOpacity;
+        opacity *= getRenderOpacity();
 
         if (opacity > MIN_OPACITY_FOR_DRAW) {
+            final Style style = getStyle();
             boolean computePaths = mPath == null;
             if (computePaths) {
                 mPath = getPath(canvas, paint);
-                mPath.setFillType(mFillRule);
+                invalidateHitTestBuffer();
             }
             Path path = mPath;
+            // The fill rule may be inherited
+            path.setFillType(style.mFillRule);
 
-            RectF clientRect = new RectF();
+            final RenderContext context = getSvgShadowNode().getRenderContext();
+            RectF clientRect = context.getBoundsRect();
             path.computeBounds(clientRect, true);
-            mBox = new RectF(clientRect);
+            if (mBox == null) {
+                mBox = new RectF(clientRect);
+            } else {
+                mBox.set(clientRect);
+            }
 
-            // We create the canvas ourselves, thus we can depend on getMatrix
-            @SuppressWarnings("deprecation")
-            Matrix svgToViewMatrix = new Matrix(canvas.getMatrix());
-            svgToViewMatrix.mapRect(clientRect);
+            context.getMatrix(canvas).mapRect(clientRect);
             this.setClientRect(clientRect);
 
             clip(canvas, paint);
 
-            if (setupFillPaint(paint, opacity * mFillOpacity)) {
-                if (computePaths) {
-                    mFillPath = new Path();
+            if (setupFillPaint(paint, style, opacity * style.mFillOpacity)) {
+                if (computePaths || !mFillPathValid) {
+                    if (mFillPath == null) {
+                        mFillPath = new Path();
+                    }
                     paint.getFillPath(path, mFillPath);
+                    mFillPathValid = true;
+                    mRegion = null;
                 }
-                canvas.drawPath(path, paint);
+                drawFill(canvas, path, paint);
+            } else if (mFillPathValid) {
+                // An inherited fill was removed
+                invalidateFillPath();
             }
-            if (setupStrokePaint(paint, opacity * mStrokeOpacity)) {
-                if (computePaths) {
-                    mStrokePath = new Path();
+            if (setupStrokePaint(paint, style, opacity * style.mStrokeOpacity)) {
+                if (computePaths || !mStrokePathValid) {
+                    if (mStrokePath == null) {
+                        mStrokePath = new Path();
+                    }
                     paint.getFillPath(path, mStrokePath);
+                    mStrokePathValid = true;
                 }
                 canvas.drawPath(path, paint);
             }
         }
     }
 
+    void drawFill(Canvas canvas, Path path, Paint paint) {
+        canvas.drawPath(path, paint);
+    }
+
+    @Override
+    boolean getLayerBounds(RectF bounds) {
+        if (mPath == null) {
+            return false;
+        }
+
+        mPath.computeBounds(bounds, true);
+        if (mStrokePathValid) {
+            RectF strokeBounds = getSvgShadowNode().getRenderContext().getBoundsRect();
+            mStrokePath.computeBounds(strokeBounds, true);
+            bounds.union(strokeBounds);
+        }
+        return true;
+    }
+
     /**
      * Sets up paint according to the props set on a shadow view. Returns {@code true}
      * if the fill should be drawn, {@code false} if not.
      */
-    private boolean setupFillPaint(Paint paint, float opacity) {
-        if (mFill != null && mFill.size() > 0) {
+    private boolean setupFillPaint(Paint paint, Style style, float opacity) {
+        final SvgPaint fill = style.mFill;
+        if (fill != null) {
             paint.reset();
             paint.setFlags(Paint.ANTI_ALIAS_FLAG | Paint.DEV_KERN_TEXT_FLAG | Paint.SUBPIXEL_TEXT_FLAG);
             paint.setStyle(Paint.Style.FILL);
-            setupPaint(paint, opacity, mFill);
+            setupPaint(paint, opacity, fill);
             return true;
         }
         return false;
@@ -362,52 +488,74 @@ abstract public class RenderableShadowNode extends VirtualNode {
      * Sets up paint according to the props set on a shadow view. Returns {@code true}
      * if the stroke should be drawn, {@code false} if not.
      */
-    private boolean setupStrokePaint(Paint paint, float opacity) {
+    private boolean setupStrokePaint(Paint paint, Style style, float opacity) {
         paint.reset();
-        double strokeWidth = relativeOnOther(mStrokeWidth);
-        if (strokeWidth == 0 || mStroke == null || mStroke.size() == 0) {
+        final SvgPaint stroke = style.mStroke;
+        double strokeWidth = relativeOnOther(style.mStrokeWidth);
+        if (strokeWidth == 0 || stroke == null) {
             return false;
         }
 
         paint.setFlags(Paint.ANTI_ALIAS_FLAG | Paint.DEV_KERN_TEXT_FLAG | Paint.SUBPIXEL_TEXT_FLAG);
         paint.setStyle(Paint.Style.STROKE);
-        paint.setStrokeCap(mStrokeLinecap);
-        paint.setStrokeJoin(mStrokeLinejoin);
-        paint.setStrokeMiter(mStrokeMiterlimit * mScale);
+        paint.setStrokeCap(style.mStrokeLinecap);
+        paint.setStrokeJoin(style.mStrokeLinejoin);
+        paint.setStrokeMiter(style.mStrokeMiterlimit * mScale);
         paint.setStrokeWidth((float) strokeWidth);
-        setupPaint(paint, opacity, mStroke);
+        setupPaint(paint, opacity, stroke);
 
-        if (mStrokeDasharray != null) {
-            int length = mStrokeDasharray.length;
-            float[] intervals = new float[length];
-            for (int i = 0; i < length; i++) {
-                intervals[i] = (float)relativeOnOther(mStrokeDasharray[i]);
-            }
-            paint.setPathEffect(new DashPathEffect(intervals, mStrokeDashoffset));
+        final SvgLength[] strokeDasharray = style.mStrokeDasharray;
+        if (strokeDasharray != null) {
+            paint.setPathEffect(getDashPathEffect(strokeDasharray, style.mStrokeDashoffset));
         }
 
         return true;
     }
 
-    private void setupPaint(Paint paint, float opacity, ReadableArray colors) {
-        int colorType = colors.getInt(0);
-        switch (colorType) {
-            case 0:
+    /**
+     * @return the dash effect of the resolved intervals and offset, reused while they stay the same
+     */
+    private DashPathEffect getDashPathEffect(SvgLength[] strokeDasharray, float offset) {
+        final int length = strokeDasharray.length;
+        float[] intervals = mDashIntervals;
+        boolean changed = mDashEffect == null || offset != mDashOffset;
+        if (intervals == null || intervals.length != length) {
+            intervals = mDashIntervals = new float[length];
+            changed = true;
+        }
+        for (int i = 0; i < length; i++) {
+            float interval = (float) relativeOnOther(strokeDasharray[i]);
+            if (interval != intervals[i]) {
+                intervals[i] = interval;
+                changed = true;
+            }
+        }
+
+        if (changed) {
+            // The effect copies the intervals
+            mDashEffect = new DashPathEffect(intervals, offset);
+            mDashOffset = offset;
+        }
+        return mDashEffect;
+    }
+
+    private void setupPaint(Paint paint, float opacity, SvgPaint colors) {
+        switch (colors.mType) {
+            case SvgPaint.TYPE_COLOR: {
                 // solid color
-                paint.setARGB(
-                        (int) (colors.size() > 4 ? colors.getDouble(4) * opacity * 255 : opacity * 255),
-                        (int) (colors.getDouble(1) * 255),
-                        (int) (colors.getDouble(2) * 255),
-                        (int) (colors.getDouble(3) * 255));
+                int color = colors.mColor;
+                int alpha = Math.round((color >>> 24) * opacity);
+                paint.setColor(alpha << 24 | (color & 0xffffff));
                 break;
-            case 1: {
-                Brush brush = getSvgShadowNode().getDefinedBrush(colors.getString(1));
+            }
+            case SvgPaint.TYPE_BRUSH: {
+                Brush brush = getSvgShadowNode().getDefinedBrush(colors.mBrushRef);
                 if (brush != null) {
                     brush.setupPaint(paint, mBox, mScale, opacity);
                 }
                 break;
             }
-            case 2: {
+            case SvgPaint.TYPE_CURRENT_COLOR: {
                 int brush = getSvgShadowNode().mTintColor;
                 paint.setColor(brush);
                 break;
@@ -429,13 +577,13 @@ abstract public class RenderableShadowNode extends VirtualNode {
         int x = Math.round(dst[0]);
         int y = Math.round(dst[1]);
 
-        if (mRegion == null && mFillPath != null) {
+        if (mRegion == null && mFillPathValid) {
             mRegion = getRegion(mFillPath);
         }
         if (mRegion == null && mPath != null) {
             mRegion = getRegion(mPath);
         }
-        if (mStrokeRegion == null && mStrokePath != null) {
+        if (mStrokeRegion == null && mStrokePathValid) {
             mStrokeRegion = getRegion(mStrokePath);
         }
         if (
@@ -459,6 +607,29 @@ abstract public class RenderableShadowNode extends VirtualNode {
         return getReactTag();
     }
 
+    @Override
+    void drawHitTestBuffer(Canvas canvas, HitTestBuffer buffer, int tag) {
+        if (mPath == null || !mInvertible) {
+            return;
+        }
+
+        drawHitTestPaths(canvas, buffer, isResponsible() ? getReactTag() : tag, mFillPathValid ? mFillPath : mPath);
+    }
+
+    void drawHitTestPaths(Canvas canvas, HitTestBuffer buffer, int tag, @Nullable Path fillPath) {
+        Path clipPath = getClipPath();
+        if (clipPath != null) {
+            canvas.clipPath(clipPath);
+        }
+
+        if (fillPath != null) {
+            buffer.drawPath(canvas, fillPath, tag);
+        }
+        if (mStrokePathValid) {
+            buffer.drawPath(canvas, mStrokePath, tag);
+        }
+    }
+
     Region getRegion(Path path) {
         RectF rectF = new RectF();
         path.computeBounds(rectF, true);
@@ -476,70 +647,111 @@ abstract public class RenderableShadowNode extends VirtualNode {
         return region;
     }
 
-    private ArrayList<String> getAttributeList() {
-        return mAttributeList;
+    /**
+     * Resolve the inherited props against the style of the node rendering this node, i.e. its
+     * parent or a Use element, before it is drawn. The result is reused across frames as long as
+     * the props of this node and the (likewise reused) parent style stay the same, so unchanged
+     * subtrees resolve their styles once per update instead of once per draw.
+     */
+    void resolveStyle(@Nullable Style parent) {
+        if (mStyle == null || mStyleParent != parent) {
+            mStyle = new Style(parent, this);
+            mStyleParent = parent;
+        }
     }
 
-    void mergeProperties(RenderableShadowNode target) {
-        ArrayList<String> targetAttributeList = target.getAttributeList();
-
-        if (targetAttributeList == null ||
-                targetAttributeList.size() == 0) {
-            return;
+    /**
+     * @return the style this node was last resolved to
+     */
+    Style getStyle() {
+        if (mStyle == null) {
+            mStyle = new Style(null, this);
+            mStyleParent = null;
         }
+        return mStyle;
+    }
 
-        mOriginProperties = new ArrayList<>();
-        mAttributeList = mPropList == null ? new ArrayList<String>() : new ArrayList<>(mPropList);
-
-        for (int i = 0, size = targetAttributeList.size(); i < size; i++) {
-            try {
-                String fieldName = targetAttributeList.get(i);
-                Field field = getClass().getField(fieldName);
-                Object value = field.get(target);
-                mOriginProperties.add(field.get(this));
-
-                if (!hasOwnProperty(fieldName)) {
-                    mAttributeList.add(fieldName);
-                    field.set(this, value);
-                }
-            } catch (Exception e) {
-                throw new IllegalStateException(e);
+    private static int getPropIndex(String propName) {
+        for (int prop = 0; prop < PROP_COUNT; prop++) {
+            if (PROP_NAMES[prop].equals(propName)) {
+                return prop;
             }
         }
-
-        mLastMergedList = targetAttributeList;
+        return -1;
     }
 
-    void resetProperties() {
-        if (mLastMergedList != null && mOriginProperties != null) {
-            try {
-                for (int i = mLastMergedList.size() - 1; i >= 0; i--) {
-                    Field field = getClass().getField(mLastMergedList.get(i));
-                    field.set(this, mOriginProperties.get(i));
-                }
-            } catch (Exception e) {
-                throw new IllegalStateException(e);
-            }
+    /**
+     * Inheritable props of a node, resolved against the style of the node rendering it.
+     * A prop is inherited if the node doesn't set it, and the rendering node sets or inherits it.
+     */
+    static final class Style {
+        // Props set on or inherited by the node (1 << PROP_*)
+        private final int mMask;
+
+        private final @Nullable SvgPaint mFill;
+        private final float mFillOpacity;
+        private final Path.FillType mFillRule;
+        private final @Nullable SvgPaint mStroke;
+        private final @Nullable SvgLength mStrokeWidth;
+        private final float mStrokeOpacity;
+        private final @Nullable SvgLength[] mStrokeDasharray;
+        private final float mStrokeDashoffset;
+        private final Paint.Cap mStrokeLinecap;
+        private final Paint.Join mStrokeLinejoin;
+        private final float mStrokeMiterlimit;
+
+        private Style(@Nullable Style parent, RenderableShadowNode node) {
+            final int inherited = parent == null ? 0 : parent.mMask & ~node.mPropMask;
+            mMask = node.mPropMask | inherited;
+
+            mFill = inherits(inherited, PROP_FILL) ? parent.mFill : node.mFill;
+            mFillOpacity = inherits(inherited, PROP_FILL_OPACITY) ? parent.mFillOpacity : node.mFillOpacity;
+            mFillRule = inherits(inherited, PROP_FILL_RULE) ? parent.mFillRule : node.mFillRule;
+            mStroke = inherits(inherited, PROP_STROKE) ? parent.mStroke : node.mStroke;
+            mStrokeWidth = inherits(inherited, PROP_STROKE_WIDTH) ? parent.mStrokeWidth : node.mStrokeWidth;
+            mStrokeOpacity = inherits(inherited, PROP_STROKE_OPACITY) ? parent.mStrokeOpacity : node.mStrokeOpacity;
+            mStrokeDasharray = inherits(inherited, PROP_STROKE_DASHARRAY) ? parent.mStrokeDasharray : node.mStrokeDasharray;
+            mStrokeDashoffset = inherits(inherited, PROP_STROKE_DASHOFFSET) ? parent.mStrokeDashoffset : node.mStrokeDashoffset;
+            mStrokeLinecap = inherits(inherited, PROP_STROKE_LINECAP) ? parent.mStrokeLinecap : node.mStrokeLinecap;
+            mStrokeLinejoin = inherits(inherited, PROP_STROKE_LINEJOIN) ? parent.mStrokeLinejoin : node.mStrokeLinejoin;
+            mStrokeMiterlimit = inherits(inherited, PROP_STROKE_MITERLIMIT) ? parent.mStrokeMiterlimit : node.mStrokeMiterlimit;
+        }
 
-            mLastMergedList = null;
-            mOriginProperties = null;
-            mAttributeList = mPropList;
+        private static boolean inherits(int mask, int prop) {
+            return (mask & (1 << prop)) != 0;
         }
-    }
 
-    // convert propertyName something like fillOpacity to fieldName like mFillOpacity
-    private String propertyNameToFieldName(String fieldName) {
-        Pattern pattern = Pattern.compile("^(\\w)");
-        Matcher matched = pattern.matcher(fieldName);
-        StringBuffer sb = new StringBuffer("m");
-        while (matched.find()) {
-            matched.appendReplacement(sb, matched.group(1).toUpperCase());
+        /**
+         * Whether the styles pass on the same values, e.g. to the template of a Use element.
+         */
+        @Override
+        public boolean equals(Object obj) {
+            if (this == obj) {
+                return true;
+            }
+            if (!(obj instanceof Style)) {
+                return false;
+            }
+
+            final Style other = (Style) obj;
+            final int mask = mMask;
+            return mask == other.mMask &&
+                (!inherits(mask, PROP_FILL) || (mFill == null ? other.mFill == null : mFill.equals(other.mFill))) &&
+                (!inherits(mask, PROP_FILL_OPACITY) || mFillOpacity == other.mFillOpacity) &&
+                (!inherits(mask, PROP_FILL_RULE) || mFillRule == other.mFillRule) &&
+                (!inherits(mask, PROP_STROKE) || (mStroke == null ? other.mStroke == null : mStroke.equals(other.mStroke))) &&
+                (!inherits(mask, PROP_STROKE_WIDTH) || (mStrokeWidth == null ? other.mStrokeWidth == null : mStrokeWidth.equals(other.mStrokeWidth))) &&
+                (!inherits(mask, PROP_STROKE_OPACITY) || mStrokeOpacity == other.mStrokeOpacity) &&
+                (!inherits(mask, PROP_STROKE_DASHARRAY) || Arrays.equals(mStrokeDasharray, other.mStrokeDasharray)) &&
+                (!inherits(mask, PROP_STROKE_DASHOFFSET) || mStrokeDashoffset == other.mStrokeDashoffset) &&
+                (!inherits(mask, PROP_STROKE_LINECAP) || mStrokeLinecap == other.mStrokeLinecap) &&
+                (!inherits(mask, PROP_STROKE_LINEJOIN) || mStrokeLinejoin == other.mStrokeLinejoin) &&
+                (!inherits(mask, PROP_STROKE_MITERLIMIT) || mStrokeMiterlimit == other.mStrokeMiterlimit);
         }
-        matched.appendTail(sb);
-        return sb.toString();
-    }
 
-    private boolean hasOwnProperty(String propName) {
-        return mAttributeList != null && mAttributeList.contains(propName);
+        @Override
+        public int hashCode() {
+            return mMask;
+        }
     }
 }
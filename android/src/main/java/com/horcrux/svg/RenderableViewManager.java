@@ -9,6 +9,7 @@
 
 package com.horcrux.svg;
 
+import android.graphics.Matrix;
 import android.support.annotation.NonNull;
 import android.util.SparseArray;
 import android.view.View;
@@ -260,8 +261,14 @@ class RenderableViewManager<T extends VirtualNode> extends ViewGroupManager<Rend
         return new RenderableViewManager<PathShadowNode>(SVGClass.RNSVGPath, PathShadowNode.class) {
 
             @ReactProp(name = "d")
-            public void setD(RenderableView<PathShadowNode> node, String d) {
-                node.shadowNode.setD(d);
+            public void setD(RenderableView<PathShadowNode> node, final String d) {
+                final PathShadowNode shadow = node.shadowNode;
+                shadow.runOnShadowThread(new Runnable() {
+                    @Override
+                    public void run() {
+                        shadow.setD(d);
+                    }
+                });
             }
         };
     }
@@ -270,68 +277,146 @@ class RenderableViewManager<T extends VirtualNode> extends ViewGroupManager<Rend
         return new RenderableViewManager<TextShadowNode>(SVGClass.RNSVGText, TextShadowNode.class) {
 
             @ReactProp(name = "textLength")
-            public void setTextLength(RenderableView<TextShadowNode> node, Dynamic length) {
-                node.shadowNode.setTextLength(length);
+            public void setTextLength(RenderableView<TextShadowNode> node, final Dynamic length) {
+                final TextShadowNode shadow = node.shadowNode;
+                shadow.runOnShadowThread(new Runnable() {
+                    @Override
+                    public void run() {
+                        shadow.setTextLength(length);
+                    }
+                });
             }
 
             @ReactProp(name = "lengthAdjust")
-            public void setLengthAdjust(RenderableView<TextShadowNode> node, @Nullable String adjustment) {
-                node.shadowNode.setLengthAdjust(adjustment);
+            public void setLengthAdjust(RenderableView<TextShadowNode> node, @Nullable final String adjustment) {
+                final TextShadowNode shadow = node.shadowNode;
+                shadow.runOnShadowThread(new Runnable() {
+                    @Override
+                    public void run() {
+                        shadow.setLengthAdjust(adjustment);
+                    }
+                });
             }
 
             @ReactProp(name = "alignmentBaseline")
-            public void setMethod(RenderableView<TextShadowNode> node, @Nullable String alignment) {
-                node.shadowNode.setMethod(alignment);
+            public void setMethod(RenderableView<TextShadowNode> node, @Nullable final String alignment) {
+                final TextShadowNode shadow = node.shadowNode;
+                shadow.runOnShadowThread(new Runnable() {
+                    @Override
+                    public void run() {
+                        shadow.setMethod(alignment);
+                    }
+                });
             }
 
             @ReactProp(name = "baselineShift")
-            public void setBaselineShift(RenderableView<TextShadowNode> node, Dynamic baselineShift) {
-                node.shadowNode.setBaselineShift(baselineShift);
+            public void setBaselineShift(RenderableView<TextShadowNode> node, final Dynamic baselineShift) {
+                final TextShadowNode shadow = node.shadowNode;
+                shadow.runOnShadowThread(new Runnable() {
+                    @Override
+                    public void run() {
+                        shadow.setBaselineShift(baselineShift);
+                    }
+                });
             }
 
             @ReactProp(name = "verticalAlign")
-            public void setVerticalAlign(RenderableView<TextShadowNode> node, @Nullable String verticalAlign) {
-                node.shadowNode.setVerticalAlign(verticalAlign);
+            public void setVerticalAlign(RenderableView<TextShadowNode> node, @Nullable final String verticalAlign) {
+                final TextShadowNode shadow = node.shadowNode;
+                shadow.runOnShadowThread(new Runnable() {
+                    @Override
+                    public void run() {
+                        shadow.setVerticalAlign(verticalAlign);
+                    }
+                });
             }
 
             @ReactProp(name = "rotate")
-            public void setRotate(RenderableView<TextShadowNode> node, Dynamic rotate) {
-                node.shadowNode.setRotate(rotate);
+            public void setRotate(RenderableView<TextShadowNode> node, final Dynamic rotate) {
+                final TextShadowNode shadow = node.shadowNode;
+                shadow.runOnShadowThread(new Runnable() {
+                    @Override
+                    public void run() {
+                        shadow.setRotate(rotate);
+                    }
+                });
             }
 
             @ReactProp(name = "dx")
-            public void setDeltaX(RenderableView<TextShadowNode> node, Dynamic deltaX) {
-                node.shadowNode.setDeltaX(deltaX);
+            public void setDeltaX(RenderableView<TextShadowNode> node, final Dynamic deltaX) {
+                final TextShadowNode shadow = node.shadowNode;
+                shadow.runOnShadowThread(new Runnable() {
+                    @Override
+                    public void run() {
+                        shadow.setDeltaX(deltaX);
+                    }
+                });
             }
 
             @ReactProp(name = "dy")
-            public void setDeltaY(RenderableView<TextShadowNode> node, Dynamic deltaY) {
-                node.shadowNode.setDeltaY(deltaY);
+            public void setDeltaY(RenderableView<TextShadowNode> node, final Dynamic deltaY) {
+                final TextShadowNode shadow = node.shadowNode;
+                shadow.runOnShadowThread(new Runnable() {
+                    @Override
+                    public void run() {
+                        shadow.setDeltaY(deltaY);
+                    }
+                });
             }
 
             @ReactProp(name = "positionX")
-            public void setPositionX(RenderableView<TextShadowNode> node, Dynamic positionX) {
-                node.shadowNode.setPositionX(positionX);
+            public void setPositionX(RenderableView<TextShadowNode> node, final Dynamic positionX) {
+                final TextShadowNode shadow = node.shadowNode;
+                shadow.runOnShadowThread(new Runnable() {
+                    @Override
+                    public void run() {
+                        shadow.setPositionX(positionX);
+                    }
+                });
             }
 
             @ReactProp(name = "x")
-            public void setX(RenderableView<TextShadowNode> node, Dynamic positionX) {
-                node.shadowNode.setPositionX(positionX);
+            public void setX(RenderableView<TextShadowNode> node, final Dynamic positionX) {
+                final TextShadowNode shadow = node.shadowNode;
+                shadow.runOnShadowThread(new Runnable() {
+                    @Override
+                    public void run() {
+                        shadow.setPositionX(positionX);
+                    }
+                });
             }
 
             @ReactProp(name = "positionY")
-            public void setPositionY(RenderableView<TextShadowNode> node, Dynamic positionY) {
-                node.shadowNode.setPositionY(positionY);
+            public void setPositionY(RenderableView<TextShadowNode> node, final Dynamic positionY) {
+                final TextShadowNode shadow = node.shadowNode;
+                shadow.runOnShadowThread(new Runnable() {
+                    @Override
+                    public void run() {
+                        shadow.setPositionY(positionY);
+                    }
+                });
             }
 
             @ReactProp(name = "y")
-            public void setY(RenderableView<TextShadowNode> node, Dynamic positionY) {
-                node.shadowNode.setPositionY(positionY);
+            public void setY(RenderableView<TextShadowNode> node, final Dynamic positionY) {
+                final TextShadowNode shadow = node.shadowNode;
+                shadow.runOnShadowThread(new Runnable() {
+                    @Override
+                    public void run() {
+                        shadow.setPositionY(positionY);
+                    }
+                });
             }
 
             @ReactProp(name = "font")
-            public void setFont(RenderableView<TextShadowNode> node, @Nullable ReadableMap font) {
-                node.shadowNode.setFont(font);
+            public void setFont(RenderableView<TextShadowNode> node, @Nullable final ReadableMap font) {
+                final TextShadowNode shadow = node.shadowNode;
+                shadow.runOnShadowThread(new Runnable() {
+                    @Override
+                    public void run() {
+                        shadow.setFont(font);
+                    }
+                });
             }
         };
     }
@@ -340,43 +425,91 @@ class RenderableViewManager<T extends VirtualNode> extends ViewGroupManager<Rend
         return new RenderableViewManager<TSpanShadowNode>(SVGClass.RNSVGTSpan, TSpanShadowNode.class) {
 
             @ReactProp(name = "content")
-            public void setContent(RenderableView<TSpanShadowNode> node, @Nullable String content) {
-                node.shadowNode.setContent(content);
+            public void setContent(RenderableView<TSpanShadowNode> node, @Nullable final String content) {
+                final TSpanShadowNode shadow = node.shadowNode;
+                shadow.runOnShadowThread(new Runnable() {
+                    @Override
+                    public void run() {
+                        shadow.setContent(content);
+                    }
+                });
             }
 
             @ReactProp(name = "rotate")
-            public void setRotate(RenderableView<TextShadowNode> node, Dynamic rotate) {
-                node.shadowNode.setRotate(rotate);
+            public void setRotate(RenderableView<TextShadowNode> node, final Dynamic rotate) {
+                final TextShadowNode shadow = node.shadowNode;
+                shadow.runOnShadowThread(new Runnable() {
+                    @Override
+                    public void run() {
+                        shadow.setRotate(rotate);
+                    }
+                });
             }
 
             @ReactProp(name = "dx")
-            public void setDeltaX(RenderableView<TextShadowNode> node, Dynamic deltaX) {
-                node.shadowNode.setDeltaX(deltaX);
+            public void setDeltaX(RenderableView<TextShadowNode> node, final Dynamic deltaX) {
+                final TextShadowNode shadow = node.shadowNode;
+                shadow.runOnShadowThread(new Runnable() {
+                    @Override
+                    public void run() {
+                        shadow.setDeltaX(deltaX);
+                    }
+                });
             }
 
             @ReactProp(name = "dy")
-            public void setDeltaY(RenderableView<TextShadowNode> node, Dynamic deltaY) {
-                node.shadowNode.setDeltaY(deltaY);
+            public void setDeltaY(RenderableView<TextShadowNode> node, final Dynamic deltaY) {
+                final TextShadowNode shadow = node.shadowNode;
+                shadow.runOnShadowThread(new Runnable() {
+                    @Override
+                    public void run() {
+                        shadow.setDeltaY(deltaY);
+                    }
+                });
             }
 
             @ReactProp(name = "positionX")
-            public void setPositionX(RenderableView<TextShadowNode> node, Dynamic positionX) {
-                node.shadowNode.setPositionX(positionX);
+            public void setPositionX(RenderableView<TextShadowNode> node, final Dynamic positionX) {
+                final TextShadowNode shadow = node.shadowNode;
+                shadow.runOnShadowThread(new Runnable() {
+                    @Override
+                    public void run() {
+                        shadow.setPositionX(positionX);
+                    }
+                });
             }
 
             @ReactProp(name = "x")
-            public void setX(RenderableView<TextShadowNode> node, Dynamic positionX) {
-                node.shadowNode.setPositionX(positionX);
+            public void setX(RenderableView<TextShadowNode> node, final Dynamic positionX) {
+                final TextShadowNode shadow = node.shadowNode;
+                shadow.runOnShadowThread(new Runnable() {
+                    @Override
+                    public void run() {
+                        shadow.setPositionX(positionX);
+                    }
+                });
             }
 
             @ReactProp(name = "positionY")
-            public void setPositionY(RenderableView<TextShadowNode> node, Dynamic positionY) {
-                node.shadowNode.setPositionY(positionY);
+            public void setPositionY(RenderableView<TextShadowNode> node, final Dynamic positionY) {
+                final TextShadowNode shadow = node.shadowNode;
+                shadow.runOnShadowThread(new Runnable() {
+                    @Override
+                    public void run() {
+                        shadow.setPositionY(positionY);
+                    }
+                });
             }
 
             @ReactProp(name = "y")
-            public void setY(RenderableView<TextShadowNode> node, Dynamic positionY) {
-                node.shadowNode.setPositionY(positionY);
+            public void setY(RenderableView<TextShadowNode> node, final Dynamic positionY) {
+                final TextShadowNode shadow = node.shadowNode;
+                shadow.runOnShadowThread(new Runnable() {
+                    @Override
+                    public void run() {
+                        shadow.setPositionY(positionY);
+                    }
+                });
             }
         };
     }
@@ -385,33 +518,69 @@ class RenderableViewManager<T extends VirtualNode> extends ViewGroupManager<Rend
         return new RenderableViewManager<TextPathShadowNode>(SVGClass.RNSVGTextPath, TextPathShadowNode.class) {
 
             @ReactProp(name = "href")
-            public void setHref(RenderableView<TextPathShadowNode> node, String href) {
-                node.shadowNode.setHref(href);
+            public void setHref(RenderableView<TextPathShadowNode> node, final String href) {
+                final TextPathShadowNode shadow = node.shadowNode;
+                shadow.runOnShadowThread(new Runnable() {
+                    @Override
+                    public void run() {
+                        shadow.setHref(href);
+                    }
+                });
             }
 
             @ReactProp(name = "startOffset")
-            public void setStartOffset(RenderableView<TextPathShadowNode> node, Dynamic startOffset) {
-                node.shadowNode.setStartOffset(startOffset);
+            public void setStartOffset(RenderableView<TextPathShadowNode> node, final Dynamic startOffset) {
+                final TextPathShadowNode shadow = node.shadowNode;
+                shadow.runOnShadowThread(new Runnable() {
+                    @Override
+                    public void run() {
+                        shadow.setStartOffset(startOffset);
+                    }
+                });
             }
 
             @ReactProp(name = "method")
-            public void setMethod(RenderableView<TextPathShadowNode> node, @Nullable String method) {
-                node.shadowNode.setMethod(method);
+            public void setMethod(RenderableView<TextPathShadowNode> node, @Nullable final String method) {
+                final TextPathShadowNode shadow = node.shadowNode;
+                shadow.runOnShadowThread(new Runnable() {
+                    @Override
+                    public void run() {
+                        shadow.setMethod(method);
+                    }
+                });
             }
 
             @ReactProp(name = "spacing")
-            public void setSpacing(RenderableView<TextPathShadowNode> node, @Nullable String spacing) {
-                node.shadowNode.setSpacing(spacing);
+            public void setSpacing(RenderableView<TextPathShadowNode> node, @Nullable final String spacing) {
+                final TextPathShadowNode shadow = node.shadowNode;
+                shadow.runOnShadowThread(new Runnable() {
+                    @Override
+                    public void run() {
+                        shadow.setSpacing(spacing);
+                    }
+                });
             }
 
             @ReactProp(name = "side")
-            public void setSide(RenderableView<TextPathShadowNode> node, @Nullable String side) {
-                node.shadowNode.setSide(side);
+            public void setSide(RenderableView<TextPathShadowNode> node, @Nullable final String side) {
+                final TextPathShadowNode shadow = node.shadowNode;
+                shadow.runOnShadowThread(new Runnable() {
+                    @Override
+                    public void run() {
+                        shadow.setSide(side);
+                    }
+                });
             }
 
             @ReactProp(name = "midLine")
-            public void setSharp(RenderableView<TextPathShadowNode> node, @Nullable String midLine) {
-                node.shadowNode.setSharp(midLine);
+            public void setSharp(RenderableView<TextPathShadowNode> node, @Nullable final String midLine) {
+                final TextPathShadowNode shadow = node.shadowNode;
+                shadow.runOnShadowThread(new Runnable() {
+                    @Override
+                    public void run() {
+                        shadow.setSharp(midLine);
+                    }
+                });
             }
         };
     }
@@ -420,49 +589,103 @@ class RenderableViewManager<T extends VirtualNode> extends ViewGroupManager<Rend
         return new RenderableViewManager<ImageShadowNode>(SVGClass.RNSVGImage, ImageShadowNode.class) {
 
             @ReactProp(name = "x")
-            public void setX(RenderableView<ImageShadowNode> node, Dynamic x) {
-                node.shadowNode.setX(x);
+            public void setX(RenderableView<ImageShadowNode> node, final Dynamic x) {
+                final ImageShadowNode shadow = node.shadowNode;
+                shadow.runOnShadowThread(new Runnable() {
+                    @Override
+                    public void run() {
+                        shadow.setX(x);
+                    }
+                });
             }
 
             @ReactProp(name = "y")
-            public void setY(RenderableView<ImageShadowNode> node, Dynamic y) {
-                node.shadowNode.setY(y);
+            public void setY(RenderableView<ImageShadowNode> node, final Dynamic y) {
+                final ImageShadowNode shadow = node.shadowNode;
+                shadow.runOnShadowThread(new Runnable() {
+                    @Override
+                    public void run() {
+                        shadow.setY(y);
+                    }
+                });
             }
 
             @ReactProp(name = "imagewidth")
-            public void setImageWidth(RenderableView<ImageShadowNode> node, Dynamic width) {
-                node.shadowNode.setWidth(width);
+            public void setImageWidth(RenderableView<ImageShadowNode> node, final Dynamic width) {
+                final ImageShadowNode shadow = node.shadowNode;
+                shadow.runOnShadowThread(new Runnable() {
+                    @Override
+                    public void run() {
+                        shadow.setWidth(width);
+                    }
+                });
             }
 
             @ReactProp(name = "width")
-            public void setWidth(RenderableView<ImageShadowNode> node, Dynamic width) {
-                node.shadowNode.setWidth(width);
+            public void setWidth(RenderableView<ImageShadowNode> node, final Dynamic width) {
+                final ImageShadowNode shadow = node.shadowNode;
+                shadow.runOnShadowThread(new Runnable() {
+                    @Override
+                    public void run() {
+                        shadow.setWidth(width);
+                    }
+                });
             }
 
             @ReactProp(name = "imageheight")
-            public void setImageHeight(RenderableView<ImageShadowNode> node, Dynamic height) {
-                node.shadowNode.setHeight(height);
+            public void setImageHeight(RenderableView<ImageShadowNode> node, final Dynamic height) {
+                final ImageShadowNode shadow = node.shadowNode;
+                shadow.runOnShadowThread(new Runnable() {
+                    @Override
+                    public void run() {
+                        shadow.setHeight(height);
+                    }
+                });
             }
 
             @ReactProp(name = "height")
-            public void setHeight(RenderableView<ImageShadowNode> node, Dynamic height) {
-                node.shadowNode.setHeight(height);
+            public void setHeight(RenderableView<ImageShadowNode> node, final Dynamic height) {
+                final ImageShadowNode shadow = node.shadowNode;
+                shadow.runOnShadowThread(new Runnable() {
+                    @Override
+                    public void run() {
+                        shadow.setHeight(height);
+                    }
+                });
             }
 
             @ReactProp(name = "src")
-            public void setSrc(RenderableView<ImageShadowNode> node, @Nullable ReadableMap src) {
-                node.shadowNode.setSrc(src);
+            public void setSrc(RenderableView<ImageShadowNode> node, @Nullable final ReadableMap src) {
+                final ImageShadowNode shadow = node.shadowNode;
+                shadow.runOnShadowThread(new Runnable() {
+                    @Override
+                    public void run() {
+                        shadow.setSrc(src);
+                    }
+                });
             }
 
 
             @ReactProp(name = "align")
-            public void setAlign(RenderableView<ImageShadowNode> node, String align) {
-                node.shadowNode.setAlign(align);
+            public void setAlign(RenderableView<ImageShadowNode> node, final String align) {
+                final ImageShadowNode shadow = node.shadowNode;
+                shadow.runOnShadowThread(new Runnable() {
+                    @Override
+                    public void run() {
+                        shadow.setAlign(align);
+                    }
+                });
             }
 
             @ReactProp(name = "meetOrSlice")
-            public void setMeetOrSlice(RenderableView<ImageShadowNode> node, int meetOrSlice) {
-                node.shadowNode.setMeetOrSlice(meetOrSlice);
+            public void setMeetOrSlice(RenderableView<ImageShadowNode> node, final int meetOrSlice) {
+                final ImageShadowNode shadow = node.shadowNode;
+                shadow.runOnShadowThread(new Runnable() {
+                    @Override
+                    public void run() {
+                        shadow.setMeetOrSlice(meetOrSlice);
+                    }
+                });
             }
         };
     }
@@ -471,18 +694,36 @@ class RenderableViewManager<T extends VirtualNode> extends ViewGroupManager<Rend
         return new RenderableViewManager<CircleShadowNode>(SVGClass.RNSVGCircle, CircleShadowNode.class) {
 
             @ReactProp(name = "cx")
-            public void setCx(RenderableView<CircleShadowNode> node, Dynamic cx) {
-                node.shadowNode.setCx(cx);
+            public void setCx(RenderableView<CircleShadowNode> node, final Dynamic cx) {
+                final CircleShadowNode shadow = node.shadowNode;
+                shadow.runOnShadowThread(new Runnable() {
+                    @Override
+                    public void run() {
+                        shadow.setCx(cx);
+                    }
+                });
             }
 
             @ReactProp(name = "cy")
-            public void setCy(RenderableView<CircleShadowNode> node, Dynamic cy) {
-                node.shadowNode.setCy(cy);
+            public void setCy(RenderableView<CircleShadowNode> node, final Dynamic cy) {
+                final CircleShadowNode shadow = node.shadowNode;
+                shadow.runOnShadowThread(new Runnable() {
+                    @Override
+                    public void run() {
+                        shadow.setCy(cy);
+                    }
+                });
             }
 
             @ReactProp(name = "r")
-            public void setR(RenderableView<CircleShadowNode> node, Dynamic r) {
-                node.shadowNode.setR(r);
+            public void setR(RenderableView<CircleShadowNode> node, final Dynamic r) {
+                final CircleShadowNode shadow = node.shadowNode;
+                shadow.runOnShadowThread(new Runnable() {
+                    @Override
+                    public void run() {
+                        shadow.setR(r);
+                    }
+                });
             }
         };
     }
@@ -491,23 +732,47 @@ class RenderableViewManager<T extends VirtualNode> extends ViewGroupManager<Rend
         return new RenderableViewManager<EllipseShadowNode>(SVGClass.RNSVGEllipse, EllipseShadowNode.class) {
 
             @ReactProp(name = "cx")
-            public void setCx(RenderableView<EllipseShadowNode> node, Dynamic cx) {
-                node.shadowNode.setCx(cx);
+            public void setCx(RenderableView<EllipseShadowNode> node, final Dynamic cx) {
+                final EllipseShadowNode shadow = node.shadowNode;
+                shadow.runOnShadowThread(new Runnable() {
+                    @Override
+                    public void run() {
+                        shadow.setCx(cx);
+                    }
+                });
             }
 
             @ReactProp(name = "cy")
-            public void setCy(RenderableView<EllipseShadowNode> node, Dynamic cy) {
-                node.shadowNode.setCy(cy);
+            public void setCy(RenderableView<EllipseShadowNode> node, final Dynamic cy) {
+                final EllipseShadowNode shadow = node.shadowNode;
+                shadow.runOnShadowThread(new Runnable() {
+                    @Override
+                    public void run() {
+                        shadow.setCy(cy);
+                    }
+                });
             }
 
             @ReactProp(name = "rx")
-            public void setRx(RenderableView<EllipseShadowNode> node, Dynamic rx) {
-                node.shadowNode.setRx(rx);
+            public void setRx(RenderableView<EllipseShadowNode> node, final Dynamic rx) {
+                final EllipseShadowNode shadow = node.shadowNode;
+                shadow.runOnShadowThread(new Runnable() {
+                    @Override
+                    public void run() {
+                        shadow.setRx(rx);
+                    }
+                });
             }
 
             @ReactProp(name = "ry")
-            public void setRy(RenderableView<EllipseShadowNode> node, Dynamic ry) {
-                node.shadowNode.setRy(ry);
+            public void setRy(RenderableView<EllipseShadowNode> node, final Dynamic ry) {
+                final EllipseShadowNode shadow = node.shadowNode;
+                shadow.runOnShadowThread(new Runnable() {
+                    @Override
+                    public void run() {
+                        shadow.setRy(ry);
+                    }
+                });
             }
         };
     }
@@ -516,23 +781,47 @@ class RenderableViewManager<T extends VirtualNode> extends ViewGroupManager<Rend
         return new RenderableViewManager<LineShadowNode>(SVGClass.RNSVGLine, LineShadowNode.class) {
 
             @ReactProp(name = "x1")
-            public void setX1(RenderableView<LineShadowNode> node, Dynamic x1) {
-                node.shadowNode.setX1(x1);
+            public void setX1(RenderableView<LineShadowNode> node, final Dynamic x1) {
+                final LineShadowNode shadow = node.shadowNode;
+                shadow.runOnShadowThread(new Runnable() {
+                    @Override
+                    public void run() {
+                        shadow.setX1(x1);
+                    }
+                });
             }
 
             @ReactProp(name = "y1")
-            public void setY1(RenderableView<LineShadowNode> node, Dynamic y1) {
-                node.shadowNode.setY1(y1);
+            public void setY1(RenderableView<LineShadowNode> node, final Dynamic y1) {
+                final LineShadowNode shadow = node.shadowNode;
+                shadow.runOnShadowThread(new Runnable() {
+                    @Override
+                    public void run() {
+                        shadow.setY1(y1);
+                    }
+                });
             }
 
             @ReactProp(name = "x2")
-            public void setX2(RenderableView<LineShadowNode> node, Dynamic x2) {
-                node.shadowNode.setX2(x2);
+            public void setX2(RenderableView<LineShadowNode> node, final Dynamic x2) {
+                final LineShadowNode shadow = node.shadowNode;
+                shadow.runOnShadowThread(new Runnable() {
+                    @Override
+                    public void run() {
+                        shadow.setX2(x2);
+                    }
+                });
             }
 
             @ReactProp(name = "y2")
-            public void setY2(RenderableView<LineShadowNode> node, Dynamic y2) {
-                node.shadowNode.setY2(y2);
+            public void setY2(RenderableView<LineShadowNode> node, final Dynamic y2) {
+                final LineShadowNode shadow = node.shadowNode;
+                shadow.runOnShadowThread(new Runnable() {
+                    @Override
+                    public void run() {
+                        shadow.setY2(y2);
+                    }
+                });
             }
 
         };
@@ -542,43 +831,91 @@ class RenderableViewManager<T extends VirtualNode> extends ViewGroupManager<Rend
         return new RenderableViewManager<RectShadowNode>(SVGClass.RNSVGRect, RectShadowNode.class) {
 
             @ReactProp(name = "x")
-            public void setX(RenderableView<RectShadowNode> node, Dynamic x) {
-                node.shadowNode.setX(x);
+            public void setX(RenderableView<RectShadowNode> node, final Dynamic x) {
+                final RectShadowNode shadow = node.shadowNode;
+                shadow.runOnShadowThread(new Runnable() {
+                    @Override
+                    public void run() {
+                        shadow.setX(x);
+                    }
+                });
             }
 
             @ReactProp(name = "y")
-            public void setY(RenderableView<RectShadowNode> node, Dynamic y) {
-                node.shadowNode.setY(y);
+            public void setY(RenderableView<RectShadowNode> node, final Dynamic y) {
+                final RectShadowNode shadow = node.shadowNode;
+                shadow.runOnShadowThread(new Runnable() {
+                    @Override
+                    public void run() {
+                        shadow.setY(y);
+                    }
+                });
             }
 
             @ReactProp(name = "rectwidth")
-            public void setRectWidth(RenderableView<RectShadowNode> node, Dynamic width) {
-                node.shadowNode.setWidth(width);
+            public void setRectWidth(RenderableView<RectShadowNode> node, final Dynamic width) {
+                final RectShadowNode shadow = node.shadowNode;
+                shadow.runOnShadowThread(new Runnable() {
+                    @Override
+                    public void run() {
+                        shadow.setWidth(width);
+                    }
+                });
             }
 
             @ReactProp(name = "width")
-            public void setWidth(RenderableView<RectShadowNode> node, Dynamic width) {
-                node.shadowNode.setWidth(width);
+            public void setWidth(RenderableView<RectShadowNode> node, final Dynamic width) {
+                final RectShadowNode shadow = node.shadowNode;
+                shadow.runOnShadowThread(new Runnable() {
+                    @Override
+                    public void run() {
+                        shadow.setWidth(width);
+                    }
+                });
             }
 
             @ReactProp(name = "rectheight")
-            public void setRectHeight(RenderableView<RectShadowNode> node, Dynamic height) {
-                node.shadowNode.setHeight(height);
+            public void setRectHeight(RenderableView<RectShadowNode> node, final Dynamic height) {
+                final RectShadowNode shadow = node.shadowNode;
+                shadow.runOnShadowThread(new Runnable() {
+                    @Override
+                    public void run() {
+                        shadow.setHeight(height);
+                    }
+                });
             }
 
             @ReactProp(name = "height")
-            public void setHeight(RenderableView<RectShadowNode> node, Dynamic height) {
-                node.shadowNode.setHeight(height);
+            public void setHeight(RenderableView<RectShadowNode> node, final Dynamic height) {
+                final RectShadowNode shadow = node.shadowNode;
+                shadow.runOnShadowThread(new Runnable() {
+                    @Override
+                    public void run() {
+                        shadow.setHeight(height);
+                    }
+                });
             }
 
             @ReactProp(name = "rx")
-            public void setRx(RenderableView<RectShadowNode> node, Dynamic rx) {
-                node.shadowNode.setRx(rx);
+            public void setRx(RenderableView<RectShadowNode> node, final Dynamic rx) {
+                final RectShadowNode shadow = node.shadowNode;
+                shadow.runOnShadowThread(new Runnable() {
+                    @Override
+                    public void run() {
+                        shadow.setRx(rx);
+                    }
+                });
             }
 
             @ReactProp(name = "ry")
-            public void setRy(RenderableView<RectShadowNode> node, Dynamic ry) {
-                node.shadowNode.setRy(ry);
+            public void setRy(RenderableView<RectShadowNode> node, final Dynamic ry) {
+                final RectShadowNode shadow = node.shadowNode;
+                shadow.runOnShadowThread(new Runnable() {
+                    @Override
+                    public void run() {
+                        shadow.setRy(ry);
+                    }
+                });
             }
         };
     }
@@ -595,28 +932,58 @@ class RenderableViewManager<T extends VirtualNode> extends ViewGroupManager<Rend
         return new RenderableViewManager<UseShadowNode>(SVGClass.RNSVGUse, UseShadowNode.class) {
 
             @ReactProp(name = "href")
-            public void setHref(RenderableView<UseShadowNode> node, String href) {
-                node.shadowNode.setHref(href);
+            public void setHref(RenderableView<UseShadowNode> node, final String href) {
+                final UseShadowNode shadow = node.shadowNode;
+                shadow.runOnShadowThread(new Runnable() {
+                    @Override
+                    public void run() {
+                        shadow.setHref(href);
+                    }
+                });
             }
 
             @ReactProp(name = "usewidth")
-            public void setUseWidth(RenderableView<UseShadowNode> node, Dynamic width) {
-                node.shadowNode.setWidth(width);
+            public void setUseWidth(RenderableView<UseShadowNode> node, final Dynamic width) {
+                final UseShadowNode shadow = node.shadowNode;
+                shadow.runOnShadowThread(new Runnable() {
+                    @Override
+                    public void run() {
+                        shadow.setWidth(width);
+                    }
+                });
             }
 
             @ReactProp(name = "width")
-            public void setWidth(RenderableView<UseShadowNode> node, Dynamic width) {
-                node.shadowNode.setWidth(width);
+            public void setWidth(RenderableView<UseShadowNode> node, final Dynamic width) {
+                final UseShadowNode shadow = node.shadowNode;
+                shadow.runOnShadowThread(new Runnable() {
+                    @Override
+                    public void run() {
+                        shadow.setWidth(width);
+                    }
+                });
             }
 
             @ReactProp(name = "useheight")
-            public void setUseHeight(RenderableView<UseShadowNode> node, Dynamic height) {
-                node.shadowNode.setHeight(height);
+            public void setUseHeight(RenderableView<UseShadowNode> node, final Dynamic height) {
+                final UseShadowNode shadow = node.shadowNode;
+                shadow.runOnShadowThread(new Runnable() {
+                    @Override
+                    public void run() {
+                        shadow.setHeight(height);
+                    }
+                });
             }
 
             @ReactProp(name = "height")
-            public void setHeight(RenderableView<UseShadowNode> node, Dynamic height) {
-                node.shadowNode.setHeight(height);
+            public void setHeight(RenderableView<UseShadowNode> node, final Dynamic height) {
+                final UseShadowNode shadow = node.shadowNode;
+                shadow.runOnShadowThread(new Runnable() {
+                    @Override
+                    public void run() {
+                        shadow.setHeight(height);
+                    }
+                });
             }
         };
     }
@@ -625,33 +992,69 @@ class RenderableViewManager<T extends VirtualNode> extends ViewGroupManager<Rend
         return new RenderableViewManager<SymbolShadowNode>(SVGClass.RNSVGSymbol, SymbolShadowNode.class) {
 
             @ReactProp(name = "minX")
-            public void setMinX(RenderableView<SymbolShadowNode> node, float minX) {
-                node.shadowNode.setMinX(minX);
+            public void setMinX(RenderableView<SymbolShadowNode> node, final float minX) {
+                final SymbolShadowNode shadow = node.shadowNode;
+                shadow.runOnShadowThread(new Runnable() {
+                    @Override
+                    public void run() {
+                        shadow.setMinX(minX);
+                    }
+                });
             }
 
             @ReactProp(name = "minY")
-            public void setMinY(RenderableView<SymbolShadowNode> node, float minY) {
-                node.shadowNode.setMinY(minY);
+            public void setMinY(RenderableView<SymbolShadowNode> node, final float minY) {
+                final SymbolShadowNode shadow = node.shadowNode;
+                shadow.runOnShadowThread(new Runnable() {
+                    @Override
+                    public void run() {
+                        shadow.setMinY(minY);
+                    }
+                });
             }
 
             @ReactProp(name = "vbWidth")
-            public void setVbWidth(RenderableView<SymbolShadowNode> node, float vbWidth) {
-                node.shadowNode.setVbWidth(vbWidth);
+            public void setVbWidth(RenderableView<SymbolShadowNode> node, final float vbWidth) {
+                final SymbolShadowNode shadow = node.shadowNode;
+                shadow.runOnShadowThread(new Runnable() {
+                    @Override
+                    public void run() {
+                        shadow.setVbWidth(vbWidth);
+                    }
+                });
             }
 
             @ReactProp(name = "vbHeight")
-            public void setVbHeight(RenderableView<SymbolShadowNode> node, float vbHeight) {
-                node.shadowNode.setVbHeight(vbHeight);
+            public void setVbHeight(RenderableView<SymbolShadowNode> node, final float vbHeight) {
+                final SymbolShadowNode shadow = node.shadowNode;
+                shadow.runOnShadowThread(new Runnable() {
+                    @Override
+                    public void run() {
+                        shadow.setVbHeight(vbHeight);
+                    }
+                });
             }
 
             @ReactProp(name = "align")
-            public void setAlign(RenderableView<SymbolShadowNode> node, String align) {
-                node.shadowNode.setAlign(align);
+            public void setAlign(RenderableView<SymbolShadowNode> node, final String align) {
+                final SymbolShadowNode shadow = node.shadowNode;
+                shadow.runOnShadowThread(new Runnable() {
+                    @Override
+                    public void run() {
+                        shadow.setAlign(align);
+                    }
+                });
             }
 
             @ReactProp(name = "meetOrSlice")
-            public void setMeetOrSlice(RenderableView<SymbolShadowNode> node, int meetOrSlice) {
-                node.shadowNode.setMeetOrSlice(meetOrSlice);
+            public void setMeetOrSlice(RenderableView<SymbolShadowNode> node, final int meetOrSlice) {
+                final SymbolShadowNode shadow = node.shadowNode;
+                shadow.runOnShadowThread(new Runnable() {
+                    @Override
+                    public void run() {
+                        shadow.setMeetOrSlice(meetOrSlice);
+                    }
+                });
             }
         };
     }
@@ -660,78 +1063,168 @@ class RenderableViewManager<T extends VirtualNode> extends ViewGroupManager<Rend
         return new RenderableViewManager<PatternShadowNode>(SVGClass.RNSVGPattern, PatternShadowNode.class) {
 
             @ReactProp(name = "x")
-            public void setX(RenderableView<PatternShadowNode> node, Dynamic x) {
-                node.shadowNode.setX(x);
+            public void setX(RenderableView<PatternShadowNode> node, final Dynamic x) {
+                final PatternShadowNode shadow = node.shadowNode;
+                shadow.runOnShadowThread(new Runnable() {
+                    @Override
+                    public void run() {
+                        shadow.setX(x);
+                    }
+                });
             }
 
             @ReactProp(name = "y")
-            public void setY(RenderableView<PatternShadowNode> node, Dynamic y) {
-                node.shadowNode.setY(y);
+            public void setY(RenderableView<PatternShadowNode> node, final Dynamic y) {
+                final PatternShadowNode shadow = node.shadowNode;
+                shadow.runOnShadowThread(new Runnable() {
+                    @Override
+                    public void run() {
+                        shadow.setY(y);
+                    }
+                });
             }
 
             @ReactProp(name = "patternwidth")
-            public void setPatternWidth(RenderableView<PatternShadowNode> node, Dynamic width) {
-                node.shadowNode.setWidth(width);
+            public void setPatternWidth(RenderableView<PatternShadowNode> node, final Dynamic width) {
+                final PatternShadowNode shadow = node.shadowNode;
+                shadow.runOnShadowThread(new Runnable() {
+                    @Override
+                    public void run() {
+                        shadow.setWidth(width);
+                    }
+                });
             }
 
             @ReactProp(name = "width")
-            public void setWidth(RenderableView<PatternShadowNode> node, Dynamic width) {
-                node.shadowNode.setWidth(width);
+            public void setWidth(RenderableView<PatternShadowNode> node, final Dynamic width) {
+                final PatternShadowNode shadow = node.shadowNode;
+                shadow.runOnShadowThread(new Runnable() {
+                    @Override
+                    public void run() {
+                        shadow.setWidth(width);
+                    }
+                });
             }
 
             @ReactProp(name = "patternheight")
-            public void setPatternHeight(RenderableView<PatternShadowNode> node, Dynamic height) {
-                node.shadowNode.setHeight(height);
+            public void setPatternHeight(RenderableView<PatternShadowNode> node, final Dynamic height) {
+                final PatternShadowNode shadow = node.shadowNode;
+                shadow.runOnShadowThread(new Runnable() {
+                    @Override
+                    public void run() {
+                        shadow.setHeight(height);
+                    }
+                });
             }
 
             @ReactProp(name = "height")
-            public void setHeight(RenderableView<PatternShadowNode> node, Dynamic height) {
-                node.shadowNode.setHeight(height);
+            public void setHeight(RenderableView<PatternShadowNode> node, final Dynamic height) {
+                final PatternShadowNode shadow = node.shadowNode;
+                shadow.runOnShadowThread(new Runnable() {
+                    @Override
+                    public void run() {
+                        shadow.setHeight(height);
+                    }
+                });
             }
 
             @ReactProp(name = "patternUnits")
-            public void setPatternUnits(RenderableView<PatternShadowNode> node, int patternUnits) {
-                node.shadowNode.setPatternUnits(patternUnits);
+            public void setPatternUnits(RenderableView<PatternShadowNode> node, final int patternUnits) {
+                final PatternShadowNode shadow = node.shadowNode;
+                shadow.runOnShadowThread(new Runnable() {
+                    @Override
+                    public void run() {
+                        shadow.setPatternUnits(patternUnits);
+                    }
+                });
             }
 
             @ReactProp(name = "patternContentUnits")
-            public void setPatternContentUnits(RenderableView<PatternShadowNode> node, int patternContentUnits) {
-                node.shadowNode.setPatternContentUnits(patternContentUnits);
+            public void setPatternContentUnits(RenderableView<PatternShadowNode> node, final int patternContentUnits) {
+                final PatternShadowNode shadow = node.shadowNode;
+                shadow.runOnShadowThread(new Runnable() {
+                    @Override
+                    public void run() {
+                        shadow.setPatternContentUnits(patternContentUnits);
+                    }
+                });
             }
 
             @ReactProp(name = "patternTransform")
-            public void setPatternTransform(RenderableView<PatternShadowNode> node, @Nullable ReadableArray matrixArray) {
-                node.shadowNode.setPatternTransform(matrixArray);
+            public void setPatternTransform(RenderableView<PatternShadowNode> node, @Nullable final ReadableArray matrixArray) {
+                final PatternShadowNode shadow = node.shadowNode;
+                shadow.runOnShadowThread(new Runnable() {
+                    @Override
+                    public void run() {
+                        shadow.setPatternTransform(matrixArray);
+                    }
+                });
             }
 
             @ReactProp(name = "minX")
-            public void setMinX(RenderableView<PatternShadowNode> node, float minX) {
-                node.shadowNode.setMinX(minX);
+            public void setMinX(RenderableView<PatternShadowNode> node, final float minX) {
+                final PatternShadowNode shadow = node.shadowNode;
+                shadow.runOnShadowThread(new Runnable() {
+                    @Override
+                    public void run() {
+                        shadow.setMinX(minX);
+                    }
+                });
             }
 
             @ReactProp(name = "minY")
-            public void setMinY(RenderableView<PatternShadowNode> node, float minY) {
-                node.shadowNode.setMinY(minY);
+            public void setMinY(RenderableView<PatternShadowNode> node, final float minY) {
+                final PatternShadowNode shadow = node.shadowNode;
+                shadow.runOnShadowThread(new Runnable() {
+                    @Override
+                    public void run() {
+                        shadow.setMinY(minY);
+                    }
+                });
             }
 
             @ReactProp(name = "vbWidth")
-            public void setVbWidth(RenderableView<PatternShadowNode> node, float vbWidth) {
-                node.shadowNode.setVbWidth(vbWidth);
+            public void setVbWidth(RenderableView<PatternShadowNode> node, final float vbWidth) {
+                final PatternShadowNode shadow = node.shadowNode;
+                shadow.runOnShadowThread(new Runnable() {
+                    @Override
+                    public void run() {
+                        shadow.setVbWidth(vbWidth);
+                    }
+                });
             }
 
             @ReactProp(name = "vbHeight")
-            public void setVbHeight(RenderableView<PatternShadowNode> node, float vbHeight) {
-                node.shadowNode.setVbHeight(vbHeight);
+            public void setVbHeight(RenderableView<PatternShadowNode> node, final float vbHeight) {
+                final PatternShadowNode shadow = node.shadowNode;
+                shadow.runOnShadowThread(new Runnable() {
+                    @Override
+                    public void run() {
+                        shadow.setVbHeight(vbHeight);
+                    }
+                });
             }
 
             @ReactProp(name = "align")
-            public void setAlign(RenderableView<PatternShadowNode> node, String align) {
-                node.shadowNode.setAlign(align);
+            public void setAlign(RenderableView<PatternShadowNode> node, final String align) {
+                final PatternShadowNode shadow = node.shadowNode;
+                shadow.runOnShadowThread(new Runnable() {
+                    @Override
+                    public void run() {
+                        shadow.setAlign(align);
+                    }
+                });
             }
 
             @ReactProp(name = "meetOrSlice")
-            public void setMeetOrSlice(RenderableView<PatternShadowNode> node, int meetOrSlice) {
-                node.shadowNode.setMeetOrSlice(meetOrSlice);
+            public void setMeetOrSlice(RenderableView<PatternShadowNode> node, final int meetOrSlice) {
+                final PatternShadowNode shadow = node.shadowNode;
+                shadow.runOnShadowThread(new Runnable() {
+                    @Override
+                    public void run() {
+                        shadow.setMeetOrSlice(meetOrSlice);
+                    }
+                });
             }
         };
     }
@@ -740,48 +1233,102 @@ class RenderableViewManager<T extends VirtualNode> extends ViewGroupManager<Rend
         return new RenderableViewManager<MaskShadowNode>(SVGClass.RNSVGMask, MaskShadowNode.class) {
 
             @ReactProp(name = "x")
-            public void setX(RenderableView<MaskShadowNode> node, Dynamic x) {
-                node.shadowNode.setX(x);
+            public void setX(RenderableView<MaskShadowNode> node, final Dynamic x) {
+                final MaskShadowNode shadow = node.shadowNode;
+                shadow.runOnShadowThread(new Runnable() {
+                    @Override
+                    public void run() {
+                        shadow.setX(x);
+                    }
+                });
             }
 
             @ReactProp(name = "y")
-            public void setY(RenderableView<MaskShadowNode> node, Dynamic y) {
-                node.shadowNode.setY(y);
+            public void setY(RenderableView<MaskShadowNode> node, final Dynamic y) {
+                final MaskShadowNode shadow = node.shadowNode;
+                shadow.runOnShadowThread(new Runnable() {
+                    @Override
+                    public void run() {
+                        shadow.setY(y);
+                    }
+                });
             }
 
             @ReactProp(name = "maskwidth")
-            public void setMaskWidth(RenderableView<MaskShadowNode> node, Dynamic width) {
-                node.shadowNode.setWidth(width);
+            public void setMaskWidth(RenderableView<MaskShadowNode> node, final Dynamic width) {
+                final MaskShadowNode shadow = node.shadowNode;
+                shadow.runOnShadowThread(new Runnable() {
+                    @Override
+                    public void run() {
+                        shadow.setWidth(width);
+                    }
+                });
             }
 
             @ReactProp(name = "width")
-            public void setWidth(RenderableView<MaskShadowNode> node, Dynamic width) {
-                node.shadowNode.setWidth(width);
+            public void setWidth(RenderableView<MaskShadowNode> node, final Dynamic width) {
+                final MaskShadowNode shadow = node.shadowNode;
+                shadow.runOnShadowThread(new Runnable() {
+                    @Override
+                    public void run() {
+                        shadow.setWidth(width);
+                    }
+                });
             }
 
             @ReactProp(name = "maskheight")
-            public void setMaskHeight(RenderableView<MaskShadowNode> node, Dynamic height) {
-                node.shadowNode.setHeight(height);
+            public void setMaskHeight(RenderableView<MaskShadowNode> node, final Dynamic height) {
+                final MaskShadowNode shadow = node.shadowNode;
+                shadow.runOnShadowThread(new Runnable() {
+                    @Override
+                    public void run() {
+                        shadow.setHeight(height);
+                    }
+                });
             }
 
             @ReactProp(name = "height")
-            public void setHeight(RenderableView<MaskShadowNode> node, Dynamic height) {
-                node.shadowNode.setHeight(height);
+            public void setHeight(RenderableView<MaskShadowNode> node, final Dynamic height) {
+                final MaskShadowNode shadow = node.shadowNode;
+                shadow.runOnShadowThread(new Runnable() {
+                    @Override
+                    public void run() {
+                        shadow.setHeight(height);
+                    }
+                });
             }
 
             @ReactProp(name = "maskUnits")
-            public void setMaskUnits(RenderableView<MaskShadowNode> node, int maskUnits) {
-                node.shadowNode.setMaskUnits(maskUnits);
+            public void setMaskUnits(RenderableView<MaskShadowNode> node, final int maskUnits) {
+                final MaskShadowNode shadow = node.shadowNode;
+                shadow.runOnShadowThread(new Runnable() {
+                    @Override
+                    public void run() {
+                        shadow.setMaskUnits(maskUnits);
+                    }
+                });
             }
 
             @ReactProp(name = "maskContentUnits")
-            public void setMaskContentUnits(RenderableView<MaskShadowNode> node, int maskContentUnits) {
-                node.shadowNode.setMaskContentUnits(maskContentUnits);
+            public void setMaskContentUnits(RenderableView<MaskShadowNode> node, final int maskContentUnits) {
+                final MaskShadowNode shadow = node.shadowNode;
+                shadow.runOnShadowThread(new Runnable() {
+                    @Override
+                    public void run() {
+                        shadow.setMaskContentUnits(maskContentUnits);
+                    }
+                });
             }
 
             @ReactProp(name = "maskTransform")
-            public void setMaskTransform(RenderableView<MaskShadowNode> node, @Nullable ReadableArray matrixArray) {
-                node.shadowNode.setMaskTransform(matrixArray);
+            public void setMaskTransform(RenderableView<MaskShadowNode> node, @Nullable final ReadableArray matrixArray) {
+                final MaskShadowNode shadow = node.shadowNode;
+                shadow.runOnShadowThread(new Runnable() {
+                    @Override
+                    public void run() {
+                        shadow.setMaskTransform(matrixArray);
+                    }
+                });
             }
         };
     }
@@ -790,38 +1337,80 @@ class RenderableViewManager<T extends VirtualNode> extends ViewGroupManager<Rend
         return new RenderableViewManager<LinearGradientShadowNode>(SVGClass.RNSVGLinearGradient, LinearGradientShadowNode.class) {
 
             @ReactProp(name = "x1")
-            public void setX1(RenderableView<LinearGradientShadowNode> node, Dynamic x1) {
-                node.shadowNode.setX1(x1);
+            public void setX1(RenderableView<LinearGradientShadowNode> node, final Dynamic x1) {
+                final LinearGradientShadowNode shadow = node.shadowNode;
+                shadow.runOnShadowThread(new Runnable() {
+                    @Override
+                    public void run() {
+                        shadow.setX1(x1);
+                    }
+                });
             }
 
             @ReactProp(name = "y1")
-            public void setY1(RenderableView<LinearGradientShadowNode> node, Dynamic y1) {
-                node.shadowNode.setY1(y1);
+            public void setY1(RenderableView<LinearGradientShadowNode> node, final Dynamic y1) {
+                final LinearGradientShadowNode shadow = node.shadowNode;
+                shadow.runOnShadowThread(new Runnable() {
+                    @Override
+                    public void run() {
+                        shadow.setY1(y1);
+                    }
+                });
             }
 
             @ReactProp(name = "x2")
-            public void setX2(RenderableView<LinearGradientShadowNode> node, Dynamic x2) {
-                node.shadowNode.setX2(x2);
+            public void setX2(RenderableView<LinearGradientShadowNode> node, final Dynamic x2) {
+                final LinearGradientShadowNode shadow = node.shadowNode;
+                shadow.runOnShadowThread(new Runnable() {
+                    @Override
+                    public void run() {
+                        shadow.setX2(x2);
+                    }
+                });
             }
 
             @ReactProp(name = "y2")
-            public void setY2(RenderableView<LinearGradientShadowNode> node, Dynamic y2) {
-                node.shadowNode.setY2(y2);
+            public void setY2(RenderableView<LinearGradientShadowNode> node, final Dynamic y2) {
+                final LinearGradientShadowNode shadow = node.shadowNode;
+                shadow.runOnShadowThread(new Runnable() {
+                    @Override
+                    public void run() {
+                        shadow.setY2(y2);
+                    }
+                });
             }
 
             @ReactProp(name = "gradient")
-            public void setGradient(RenderableView<LinearGradientShadowNode> node, ReadableArray gradient) {
-                node.shadowNode.setGradient(gradient);
+            public void setGradient(RenderableView<LinearGradientShadowNode> node, final ReadableArray gradient) {
+                final LinearGradientShadowNode shadow = node.shadowNode;
+                shadow.runOnShadowThread(new Runnable() {
+                    @Override
+                    public void run() {
+                        shadow.setGradient(gradient);
+                    }
+                });
             }
 
             @ReactProp(name = "gradientUnits")
-            public void setGradientUnits(RenderableView<LinearGradientShadowNode> node, int gradientUnits) {
-                node.shadowNode.setGradientUnits(gradientUnits);
+            public void setGradientUnits(RenderableView<LinearGradientShadowNode> node, final int gradientUnits) {
+                final LinearGradientShadowNode shadow = node.shadowNode;
+                shadow.runOnShadowThread(new Runnable() {
+                    @Override
+                    public void run() {
+                        shadow.setGradientUnits(gradientUnits);
+                    }
+                });
             }
 
             @ReactProp(name = "gradientTransform")
-            public void setGradientTransform(RenderableView<LinearGradientShadowNode> node, @Nullable ReadableArray matrixArray) {
-                node.shadowNode.setGradientTransform(matrixArray);
+            public void setGradientTransform(RenderableView<LinearGradientShadowNode> node, @Nullable final ReadableArray matrixArray) {
+                final LinearGradientShadowNode shadow = node.shadowNode;
+                shadow.runOnShadowThread(new Runnable() {
+                    @Override
+                    public void run() {
+                        shadow.setGradientTransform(matrixArray);
+                    }
+                });
             }
         };
     }
@@ -830,48 +1419,102 @@ class RenderableViewManager<T extends VirtualNode> extends ViewGroupManager<Rend
         return new RenderableViewManager<RadialGradientShadowNode>(SVGClass.RNSVGRadialGradient, RadialGradientShadowNode.class) {
 
             @ReactProp(name = "fx")
-            public void setFx(RenderableView<RadialGradientShadowNode> node, Dynamic fx) {
-                node.shadowNode.setFx(fx);
+            public void setFx(RenderableView<RadialGradientShadowNode> node, final Dynamic fx) {
+                final RadialGradientShadowNode shadow = node.shadowNode;
+                shadow.runOnShadowThread(new Runnable() {
+                    @Override
+                    public void run() {
+                        shadow.setFx(fx);
+                    }
+                });
             }
 
             @ReactProp(name = "fy")
-            public void setFy(RenderableView<RadialGradientShadowNode> node, Dynamic fy) {
-                node.shadowNode.setFy(fy);
+            public void setFy(RenderableView<RadialGradientShadowNode> node, final Dynamic fy) {
+                final RadialGradientShadowNode shadow = node.shadowNode;
+                shadow.runOnShadowThread(new Runnable() {
+                    @Override
+                    public void run() {
+                        shadow.setFy(fy);
+                    }
+                });
             }
 
             @ReactProp(name = "rx")
-            public void setRx(RenderableView<RadialGradientShadowNode> node, Dynamic rx) {
-                node.shadowNode.setRx(rx);
+            public void setRx(RenderableView<RadialGradientShadowNode> node, final Dynamic rx) {
+                final RadialGradientShadowNode shadow = node.shadowNode;
+                shadow.runOnShadowThread(new Runnable() {
+                    @Override
+                    public void run() {
+                        shadow.setRx(rx);
+                    }
+                });
             }
 
             @ReactProp(name = "ry")
-            public void setRy(RenderableView<RadialGradientShadowNode> node, Dynamic ry) {
-                node.shadowNode.setRy(ry);
+            public void setRy(RenderableView<RadialGradientShadowNode> node, final Dynamic ry) {
+                final RadialGradientShadowNode shadow = node.shadowNode;
+                shadow.runOnShadowThread(new Runnable() {
+                    @Override
+                    public void run() {
+                        shadow.setRy(ry);
+                    }
+                });
             }
 
             @ReactProp(name = "cx")
-            public void setCx(RenderableView<RadialGradientShadowNode> node, Dynamic cx) {
-                node.shadowNode.setCx(cx);
+            public void setCx(RenderableView<RadialGradientShadowNode> node, final Dynamic cx) {
+                final RadialGradientShadowNode shadow = node.shadowNode;
+                shadow.runOnShadowThread(new Runnable() {
+                    @Override
+                    public void run() {
+                        shadow.setCx(cx);
+                    }
+                });
             }
 
             @ReactProp(name = "cy")
-            public void setCy(RenderableView<RadialGradientShadowNode> node, Dynamic cy) {
-                node.shadowNode.setCy(cy);
+            public void setCy(RenderableView<RadialGradientShadowNode> node, final Dynamic cy) {
+                final RadialGradientShadowNode shadow = node.shadowNode;
+                shadow.runOnShadowThread(new Runnable() {
+                    @Override
+                    public void run() {
+                        shadow.setCy(cy);
+                    }
+                });
             }
 
             @ReactProp(name = "gradient")
-            public void setGradient(RenderableView<RadialGradientShadowNode> node, ReadableArray gradient) {
-                node.shadowNode.setGradient(gradient);
+            public void setGradient(RenderableView<RadialGradientShadowNode> node, final ReadableArray gradient) {
+                final RadialGradientShadowNode shadow = node.shadowNode;
+                shadow.runOnShadowThread(new Runnable() {
+                    @Override
+                    public void run() {
+                        shadow.setGradient(gradient);
+                    }
+                });
             }
 
             @ReactProp(name = "gradientUnits")
-            public void setGradientUnits(RenderableView<RadialGradientShadowNode> node, int gradientUnits) {
-                node.shadowNode.setGradientUnits(gradientUnits);
+            public void setGradientUnits(RenderableView<RadialGradientShadowNode> node, final int gradientUnits) {
+                final RadialGradientShadowNode shadow = node.shadowNode;
+                shadow.runOnShadowThread(new Runnable() {
+                    @Override
+                    public void run() {
+                        shadow.setGradientUnits(gradientUnits);
+                    }
+                });
             }
 
             @ReactProp(name = "gradientTransform")
-            public void setGradientTransform(RenderableView<RadialGradientShadowNode> node, @Nullable ReadableArray matrixArray) {
-                node.shadowNode.setGradientTransform(matrixArray);
+            public void setGradientTransform(RenderableView<RadialGradientShadowNode> node, @Nullable final ReadableArray matrixArray) {
+                final RadialGradientShadowNode shadow = node.shadowNode;
+                shadow.runOnShadowThread(new Runnable() {
+                    @Override
+                    public void run() {
+                        shadow.setGradientTransform(matrixArray);
+                    }
+                });
             }
         };
     }
@@ -944,79 +1587,169 @@ class RenderableViewManager<T extends VirtualNode> extends ViewGroupManager<Rend
     }
 
     @ReactProp(name = "mask")
-    public void setMask(RenderableView node, String mask) {
-        node.shadowNode.setMask(mask);
+    public void setMask(RenderableView node, final String mask) {
+        final VirtualNode shadow = node.shadowNode;
+        shadow.runOnShadowThread(new Runnable() {
+            @Override
+            public void run() {
+                shadow.setMask(mask);
+            }
+        });
     }
 
     @ReactProp(name = "clipPath")
-    public void setClipPath(RenderableView node, String clipPath) {
-        node.shadowNode.setClipPath(clipPath);
+    public void setClipPath(RenderableView node, final String clipPath) {
+        final VirtualNode shadow = node.shadowNode;
+        shadow.runOnShadowThread(new Runnable() {
+            @Override
+            public void run() {
+                shadow.setClipPath(clipPath);
+            }
+        });
     }
 
     @ReactProp(name = "clipRule")
-    public void setClipRule(RenderableView node, int clipRule) {
-        node.shadowNode.setClipRule(clipRule);
+    public void setClipRule(RenderableView node, final int clipRule) {
+        final VirtualNode shadow = node.shadowNode;
+        shadow.runOnShadowThread(new Runnable() {
+            @Override
+            public void run() {
+                shadow.setClipRule(clipRule);
+            }
+        });
     }
 
     @ReactProp(name = "fill")
-    public void setFill(RenderableView<RenderableShadowNode> node, @Nullable Dynamic fill) {
-        node.shadowNode.setFill(fill);
+    public void setFill(RenderableView<RenderableShadowNode> node, @Nullable final Dynamic fill) {
+        final RenderableShadowNode shadow = node.shadowNode;
+        shadow.runOnShadowThread(new Runnable() {
+            @Override
+            public void run() {
+                shadow.setFill(fill);
+            }
+        });
     }
 
     @ReactProp(name = "fillOpacity", defaultFloat = 1f)
-    public void setFillOpacity(RenderableView<RenderableShadowNode> node, float fillOpacity) {
-        node.shadowNode.setFillOpacity(fillOpacity);
+    public void setFillOpacity(RenderableView<RenderableShadowNode> node, final float fillOpacity) {
+        final RenderableShadowNode shadow = node.shadowNode;
+        shadow.runOnShadowThread(new Runnable() {
+            @Override
+            public void run() {
+                shadow.setFillOpacity(fillOpacity);
+            }
+        });
     }
 
     @ReactProp(name = "fillRule", defaultInt = FILL_RULE_NONZERO)
-    public void setFillRule(RenderableView<RenderableShadowNode> node, int fillRule) {
-        node.shadowNode.setFillRule(fillRule);
+    public void setFillRule(RenderableView<RenderableShadowNode> node, final int fillRule) {
+        final RenderableShadowNode shadow = node.shadowNode;
+        shadow.runOnShadowThread(new Runnable() {
+            @Override
+            public void run() {
+                shadow.setFillRule(fillRule);
+            }
+        });
     }
 
 
     @ReactProp(name = "stroke")
-    public void setStroke(RenderableView<RenderableShadowNode> node, @Nullable Dynamic strokeColors) {
-        node.shadowNode.setStroke(strokeColors);
+    public void setStroke(RenderableView<RenderableShadowNode> node, @Nullable final Dynamic strokeColors) {
+        final RenderableShadowNode shadow = node.shadowNode;
+        shadow.runOnShadowThread(new Runnable() {
+            @Override
+            public void run() {
+                shadow.setStroke(strokeColors);
+            }
+        });
     }
 
     @ReactProp(name = "strokeOpacity", defaultFloat = 1f)
-    public void setStrokeOpacity(RenderableView<RenderableShadowNode> node, float strokeOpacity) {
-        node.shadowNode.setStrokeOpacity(strokeOpacity);
+    public void setStrokeOpacity(RenderableView<RenderableShadowNode> node, final float strokeOpacity) {
+        final RenderableShadowNode shadow = node.shadowNode;
+        shadow.runOnShadowThread(new Runnable() {
+            @Override
+            public void run() {
+                shadow.setStrokeOpacity(strokeOpacity);
+            }
+        });
     }
 
     @ReactProp(name = "strokeDasharray")
-    public void setStrokeDasharray(RenderableView<RenderableShadowNode> node, @Nullable ReadableArray strokeDasharray) {
-        node.shadowNode.setStrokeDasharray(strokeDasharray);
+    public void setStrokeDasharray(RenderableView<RenderableShadowNode> node, @Nullable final ReadableArray strokeDasharray) {
+        final RenderableShadowNode shadow = node.shadowNode;
+        shadow.runOnShadowThread(new Runnable() {
+            @Override
+            public void run() {
+                shadow.setStrokeDasharray(strokeDasharray);
+            }
+        });
     }
 
     @ReactProp(name = "strokeDashoffset")
-    public void setStrokeDashoffset(RenderableView<RenderableShadowNode> node, float strokeDashoffset) {
-        node.shadowNode.setStrokeDashoffset(strokeDashoffset);
+    public void setStrokeDashoffset(RenderableView<RenderableShadowNode> node, final float strokeDashoffset) {
+        final RenderableShadowNode shadow = node.shadowNode;
+        shadow.runOnShadowThread(new Runnable() {
+            @Override
+            public void run() {
+                shadow.setStrokeDashoffset(strokeDashoffset);
+            }
+        });
     }
 
     @ReactProp(name = "strokeWidth")
-    public void setStrokeWidth(RenderableView<RenderableShadowNode> node, Dynamic strokeWidth) {
-        node.shadowNode.setStrokeWidth(strokeWidth);
+    public void setStrokeWidth(RenderableView<RenderableShadowNode> node, final Dynamic strokeWidth) {
+        final RenderableShadowNode shadow = node.shadowNode;
+        shadow.runOnShadowThread(new Runnable() {
+            @Override
+            public void run() {
+                shadow.setStrokeWidth(strokeWidth);
+            }
+        });
     }
 
     @ReactProp(name = "strokeMiterlimit", defaultFloat = 4f)
-    public void setStrokeMiterlimit(RenderableView<RenderableShadowNode> node, float strokeMiterlimit) {
-        node.shadowNode.setStrokeMiterlimit(strokeMiterlimit);
+    public void setStrokeMiterlimit(RenderableView<RenderableShadowNode> node, final float strokeMiterlimit) {
+        final RenderableShadowNode shadow = node.shadowNode;
+        shadow.runOnShadowThread(new Runnable() {
+            @Override
+            public void run() {
+                shadow.setStrokeMiterlimit(strokeMiterlimit);
+            }
+        });
     }
 
     @ReactProp(name = "strokeLinecap", defaultInt = CAP_ROUND)
-    public void setStrokeLinecap(RenderableView<RenderableShadowNode> node, int strokeLinecap) {
-        node.shadowNode.setStrokeLinecap(strokeLinecap);
+    public void setStrokeLinecap(RenderableView<RenderableShadowNode> node, final int strokeLinecap) {
+        final RenderableShadowNode shadow = node.shadowNode;
+        shadow.runOnShadowThread(new Runnable() {
+            @Override
+            public void run() {
+                shadow.setStrokeLinecap(strokeLinecap);
+            }
+        });
     }
 
     @ReactProp(name = "strokeLinejoin", defaultInt = JOIN_ROUND)
-    public void setStrokeLinejoin(RenderableView<RenderableShadowNode> node, int strokeLinejoin) {
-        node.shadowNode.setStrokeLinejoin(strokeLinejoin);
+    public void setStrokeLinejoin(RenderableView<RenderableShadowNode> node, final int strokeLinejoin) {
+        final RenderableShadowNode shadow = node.shadowNode;
+        shadow.runOnShadowThread(new Runnable() {
+            @Override
+            public void run() {
+                shadow.setStrokeLinejoin(strokeLinejoin);
+            }
+        });
     }
 
     @ReactProp(name = "matrix")
-    public void setMatrix(RenderableView node, Dynamic matrixArray) {
-        node.shadowNode.setMatrix(matrixArray);
+    public void setMatrix(RenderableView node, final Dynamic matrixArray) {
+        final VirtualNode shadow = node.shadowNode;
+        shadow.runOnShadowThread(new Runnable() {
+            @Override
+            public void run() {
+                shadow.setMatrix(matrixArray);
+            }
+        });
     }
 
     @ReactProp(name = "transform")
@@ -1025,13 +1758,32 @@ class RenderableViewManager<T extends VirtualNode> extends ViewGroupManager<Rend
             resetTransformProperty(node);
         } else {
             setTransformProperty(node, matrix);
-            node.shadowNode.mTransform = node.getMatrix();
         }
+
+        final VirtualNode shadow = node.shadowNode;
+        final Matrix transform = new Matrix(node.getMatrix());
+        shadow.runOnShadowThread(new Runnable() {
+            @Override
+            public void run() {
+                shadow.mTransform = transform;
+                shadow.invalidateTree(VirtualNode.DIRTY_TRANSFORM);
+                SvgViewShadowNode svg = shadow.getSvgShadowNode();
+                if (svg != null) {
+                    svg.invalidateView();
+                }
+            }
+        });
     }
 
     @ReactProp(name = "propList")
-    public void setPropList(RenderableView<RenderableShadowNode> node, @Nullable ReadableArray propList) {
-        node.shadowNode.setPropList(propList);
+    public void setPropList(RenderableView<RenderableShadowNode> node, @Nullable final ReadableArray propList) {
+        final RenderableShadowNode shadow = node.shadowNode;
+        shadow.runOnShadowThread(new Runnable() {
+            @Override
+            public void run() {
+                shadow.setPropList(propList);
+            }
+        });
     }
 
     /**
@@ -1043,16 +1795,17 @@ class RenderableViewManager<T extends VirtualNode> extends ViewGroupManager<Rend
     @Override
     protected void onAfterUpdateTransaction(RenderableView node) {
         super.onAfterUpdateTransaction(node);
-        VirtualNode shadow = node.shadowNode;
-        SvgViewShadowNode view = shadow.getSvgShadowNode();
-        if (view == null) {
-            return;
-        }
-        SvgView root = SvgViewManager.getSvgViewByTag(view.getReactTag());
-        if (root == null) {
-            return;
-        }
-        root.invalidate();
+        // Runs after the props posted to the shadow node by the setters above
+        final VirtualNode shadow = node.shadowNode;
+        shadow.runOnShadowThread(new Runnable() {
+            @Override
+            public void run() {
+                SvgViewShadowNode svg = shadow.getSvgShadowNode();
+                if (svg != null) {
+                    svg.invalidateView();
+                }
+            }
+        });
     }
 
     @Override
@@ -1068,15 +1821,30 @@ class RenderableViewManager<T extends VirtualNode> extends ViewGroupManager<Rend
     }
 
     private final SparseArray<T> mTagToShadowNode = new SparseArray<>();
+    // Shadow nodes of all managers, for native animations. Nodes are added on the native modules
+    // thread and dropped on the ui thread, so it's guarded by itself
+    private static final SparseArray<VirtualNode> sTagToShadowNode = new SparseArray<>();
 
     @Override
     public void onDropViewInstance(RenderableView view) {
         mTagToShadowNode.remove(view.getId());
+        synchronized (sTagToShadowNode) {
+            sTagToShadowNode.remove(view.getId());
+        }
         view.dropView();
     }
 
     void setShadowNode(int reactTag, T virtualNode) {
         mTagToShadowNode.put(reactTag, virtualNode);
+        synchronized (sTagToShadowNode) {
+            sTagToShadowNode.put(reactTag, virtualNode);
+        }
+    }
+
+    static @Nullable VirtualNode getVirtualNodeByTag(int tag) {
+        synchronized (sTagToShadowNode) {
+            return sTagToShadowNode.get(tag);
+        }
     }
 
     T getShadowNodeByTag(int id) {
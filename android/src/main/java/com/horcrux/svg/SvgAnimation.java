@@ -0,0 +1,326 @@
+/*
+ * Copyright (c) 2015-present, Horcrux.
+ * All rights reserved.
+ *
+ * This source code is licensed under the MIT-style license found in the
+ * LICENSE file in the root directory of this source tree.
+ */
+
+
+package com.horcrux.svg;
+
+import com.facebook.common.logging.FLog;
+import com.facebook.react.bridge.JSApplicationIllegalArgumentException;
+import com.facebook.react.bridge.ReadableArray;
+import com.facebook.react.bridge.ReadableMap;
+import com.facebook.react.bridge.ReadableType;
+import com.facebook.react.common.ReactConstants;
+
+import javax.annotation.Nullable;
+
+/**
+ * Keyframe timeline of a single prop of a shadow node, stepped by {@link SvgAnimationDriver}.
+ *
+ * Numeric values are interpolated per component (colors as rgba, matrices per entry), path data
+ * per number, which requires all keyframes of a path to have the same commands. Each segment
+ * between two keyframes is eased separately, like css keyframe animations.
+ */
+class SvgAnimation {
+    enum Property {
+        opacity,
+        strokeDashoffset,
+        fill,
+        stroke,
+        matrix,
+        d,
+    }
+
+    final int mId;
+    final int mTag;
+    private final Property mProperty;
+
+    // Components of each keyframe
+    private final double[][] mValues;
+    private final double[] mOffsets;
+    // Commands of the path keyframes
+    private @Nullable PropHelper.PathData mPathData;
+
+    private final double mDuration;
+    private final double mDelay;
+    // Negative for infinite
+    private final double mIterations;
+    private final boolean mAlternate;
+    private final CubicBezier mEasing;
+
+    private final double[] mValue;
+    private long mStartTime = -1;
+
+    SvgAnimation(int id, int tag, ReadableMap config) {
+        mId = id;
+        mTag = tag;
+        mProperty = Property.valueOf(config.getString("prop"));
+
+        ReadableArray values = config.getArray("values");
+        int count = values.size();
+        if (count == 0) {
+            throw new JSApplicationIllegalArgumentException("RNSVG: Animation of " + mProperty + " without values");
+        }
+
+        mValues = new double[count][];
+        for (int i = 0; i < count; i++) {
+            mValues[i] = parseValue(values, i);
+        }
+        mValue = new double[mValues[0].length];
+
+        mOffsets = new double[count];
+        ReadableArray offsets = config.hasKey("offsets") && !config.isNull("offsets") ? config.getArray("offsets") : null;
+        for (int i = 0; i < count; i++) {
+            if (offsets != null && i < offsets.size()) {
+                mOffsets[i] = offsets.getDouble(i);
+            } else {
+                mOffsets[i] = count == 1 ? 1 : (double) i / (count - 1);
+            }
+        }
+
+        mDuration = config.hasKey("duration") ? Math.max(0, config.getDouble("duration")) : 0;
+        mDelay = config.hasKey("delay") ? config.getDouble("delay") : 0;
+        mIterations = config.hasKey("iterations") ? config.getDouble("iterations") : 1;
+        mAlternate = config.hasKey("direction") && "alternate".equals(config.getString("direction"));
+        mEasing = config.hasKey("easing") ? CubicBezier.parse(config, "easing") : CubicBezier.LINEAR;
+    }
+
+    private double[] parseValue(ReadableArray values, int index) {
+        switch (mProperty) {
+            case opacity:
+            case strokeDashoffset:
+                return new double[]{values.getDouble(index)};
+            case d:
+                return parsePath(values.getString(index));
+            default:
+                ReadableArray components = values.getArray(index);
+                int size = components.size();
+                int expected = mProperty == Property.matrix ? 6 : 4;
+                if (size != expected) {
+                    throw new JSApplicationIllegalArgumentException(
+                        "RNSVG: Animated " + mProperty + " values must be of size " + expected);
+                }
+                double[] value = new double[size];
+                for (int i = 0; i < size; i++) {
+                    value[i] = components.getDouble(i);
+                }
+                return value;
+        }
+    }
+
+    private double[] parsePath(String d) {
+        PropHelper.PathData data = PropHelper.PathParser.parse(d);
+        if (mPathData == null) {
+            mPathData = data;
+        } else if (!mPathData.hasCommandsOf(data)) {
+            throw new JSApplicationIllegalArgumentException(
+                "RNSVG: Animated paths must have the same commands in all keyframes");
+        }
+        return data.mNumbers;
+    }
+
+    /**
+     * Advance the timeline to the time of the frame and apply the current value to node.
+     *
+     * @param frameTimeNanos time of the frame, see {@link android.view.Choreographer}
+     * @return false if the animation has finished
+     */
+    boolean step(VirtualNode node, long frameTimeNanos) {
+        if (mStartTime == -1) {
+            mStartTime = frameTimeNanos;
+        }
+
+        double elapsed = (frameTimeNanos - mStartTime) / 1e6 - mDelay;
+        if (elapsed < 0) {
+            return true;
+        }
+
+        double iteration = mDuration == 0 ? 0 : elapsed / mDuration;
+        boolean finished = mDuration == 0 || (mIterations >= 0 && iteration >= mIterations);
+        if (finished) {
+            iteration = mIterations >= 0 ? mIterations : 1;
+        }
+
+        int index = (int) Math.floor(iteration);
+        double progress = iteration - index;
+        if (progress == 0 && index > 0 && finished) {
+            // End of the last iteration
+            index--;
+            progress = 1;
+        }
+        if (mAlternate && index % 2 == 1) {
+            progress = 1 - progress;
+        }
+
+        interpolate(progress);
+        apply(node);
+
+        return !finished;
+    }
+
+    private void interpolate(double progress) {
+        final double[] offsets = mOffsets;
+        final int last = offsets.length - 1;
+        if (last == 0 || progress <= offsets[0]) {
+            System.arraycopy(mValues[0], 0, mValue, 0, mValue.length);
+            return;
+        }
+        if (progress >= offsets[last]) {
+            System.arraycopy(mValues[last], 0, mValue, 0, mValue.length);
+            return;
+        }
+
+        int i = 0;
+        while (i < last - 1 && progress > offsets[i + 1]) {
+            i++;
+        }
+
+        double span = offsets[i + 1] - offsets[i];
+        double t = span <= 0 ? 1 : mEasing.get((progress - offsets[i]) / span);
+        double[] from = mValues[i];
+        double[] to = mValues[i + 1];
+        for (int j = 0; j < mValue.length; j++) {
+            mValue[j] = from[j] + (to[j] - from[j]) * t;
+        }
+    }
+
+    private void apply(VirtualNode node) {
+        switch (mProperty) {
+            case opacity:
+                node.setAnimatedOpacity((float) mValue[0]);
+                return;
+            case matrix:
+                node.setAnimatedMatrix(mValue);
+                return;
+        }
+
+        if (!(node instanceof RenderableShadowNode)) {
+            FLog.w(ReactConstants.TAG, "RNSVG: " + mProperty + " can't be animated on " + node.getClass().getName());
+            return;
+        }
+        RenderableShadowNode renderable = (RenderableShadowNode) node;
+
+        switch (mProperty) {
+            case strokeDashoffset:
+                renderable.setAnimatedStrokeDashoffset((float) mValue[0]);
+                break;
+            case fill:
+                renderable.setAnimatedFill(mValue);
+                break;
+            case stroke:
+                renderable.setAnimatedStroke(mValue);
+                break;
+            case d:
+                if (node instanceof PathShadowNode) {
+                    ((PathShadowNode) node).setAnimatedD(mPathData, mValue);
+                } else {
+                    FLog.w(ReactConstants.TAG, "RNSVG: d can only be animated on paths");
+                }
+                break;
+        }
+    }
+
+    /**
+     * Timing function of a segment, see https://www.w3.org/TR/css-easing-1/#cubic-bezier-easing-functions
+     */
+    static final class CubicBezier {
+        static final CubicBezier LINEAR = new CubicBezier(0, 0, 1, 1);
+
+        private static final int NEWTON_ITERATIONS = 8;
+        private static final double EPSILON = 1e-6;
+
+        private final double mX1;
+        private final double mY1;
+        private final double mX2;
+        private final double mY2;
+
+        CubicBezier(double x1, double y1, double x2, double y2) {
+            mX1 = x1;
+            mY1 = y1;
+            mX2 = x2;
+            mY2 = y2;
+        }
+
+        static CubicBezier parse(ReadableMap config, String key) {
+            if (config.isNull(key)) {
+                return LINEAR;
+            }
+
+            if (config.getType(key) == ReadableType.Array) {
+                ReadableArray points = config.getArray(key);
+                if (points.size() != 4) {
+                    throw new JSApplicationIllegalArgumentException("RNSVG: Cubic bezier easings must be of size 4");
+                }
+                return new CubicBezier(points.getDouble(0), points.getDouble(1), points.getDouble(2), points.getDouble(3));
+            }
+
+            String easing = config.getString(key);
+            switch (easing) {
+                case "linear":
+                    return LINEAR;
+                case "ease":
+                    return new CubicBezier(0.25, 0.1, 0.25, 1);
+                case "easeIn":
+                    return new CubicBezier(0.42, 0, 1, 1);
+                case "easeOut":
+                    return new CubicBezier(0, 0, 0.58, 1);
+                case "easeInOut":
+                    return new CubicBezier(0.42, 0, 0.58, 1);
+                default:
+                    throw new JSApplicationIllegalArgumentException("RNSVG: easing " + easing + " unrecognized");
+            }
+        }
+
+        private static double bezier(double t, double p1, double p2) {
+            // B(t) of a curve from 0 to 1 with control points p1 and p2
+            double u = 1 - t;
+            return 3 * u * u * t * p1 + 3 * u * t * t * p2 + t * t * t;
+        }
+
+        private static double slope(double t, double p1, double p2) {
+            double u = 1 - t;
+            return 3 * u * u * p1 + 6 * u * t * (p2 - p1) + 3 * t * t * (1 - p2);
+        }
+
+        double get(double x) {
+            if (this == LINEAR || x <= 0 || x >= 1) {
+                return x;
+            }
+
+            // Solve x(t) = x, with Newton's method and bisection as the fallback
+            double t = x;
+            for (int i = 0; i < NEWTON_ITERATIONS; i++) {
+                double error = bezier(t, mX1, mX2) - x;
+                if (Math.abs(error) < EPSILON) {
+                    return bezier(t, mY1, mY2);
+                }
+                double d = slope(t, mX1, mX2);
+                if (Math.abs(d) < EPSILON) {
+                    break;
+                }
+                t -= error / d;
+            }
+
+            double lower = 0;
+            double upper = 1;
+            t = x;
+            while (upper - lower > EPSILON) {
+                double value = bezier(t, mX1, mX2);
+                if (Math.abs(value - x) < EPSILON) {
+                    break;
+                }
+                if (value < x) {
+                    lower = t;
+                } else {
+                    upper = t;
+                }
+                t = (lower + upper) / 2;
+            }
+            return bezier(t, mY1, mY2);
+        }
+    }
+}
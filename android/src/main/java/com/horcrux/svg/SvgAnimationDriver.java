@@ -0,0 +1,163 @@
+/*
+ * Copyright (c) 2015-present, Horcrux.
+ * All rights reserved.
+ *
+ * This source code is licensed under the MIT-style license found in the
+ * LICENSE file in the root directory of this source tree.
+ */
+
+
+package com.horcrux.svg;
+
+import android.util.SparseArray;
+import android.util.SparseBooleanArray;
+import android.view.Choreographer;
+
+import com.facebook.react.bridge.ReactContext;
+import com.facebook.react.bridge.UiThreadUtil;
+
+/**
+ * Steps the native animations of the svg views of a react context once per frame. Owned by the
+ * module starting them, so that animations don't outlive the react instance they were started by.
+ *
+ * Frames are timed by the choreographer of the ui thread, but animations update the fields of their
+ * shadow node on the native modules thread, which react updates shadow nodes and the reference index
+ * of the svg on. Every svg view containing an animated node is then invalidated once per frame on the
+ * ui thread. The next frame is only requested once the previous one has been applied.
+ */
+class SvgAnimationDriver implements Choreographer.FrameCallback {
+    private final ReactContext mContext;
+
+    // Native modules thread
+    private final SparseArray<SvgAnimation> mAnimations = new SparseArray<>();
+
+    // Ui thread
+    private boolean mScheduled;
+
+    // Handed from the native modules thread to the ui thread
+    private volatile long mFrameTimeNanos;
+    private volatile boolean mRunning;
+    private volatile boolean mDestroyed;
+    // Tags of the svg views to invalidate, guarded by itself
+    private final SparseBooleanArray mInvalidated = new SparseBooleanArray();
+
+    private final Runnable mSchedule = new Runnable() {
+        @Override
+        public void run() {
+            schedule();
+        }
+    };
+
+    private final Runnable mStep = new Runnable() {
+        @Override
+        public void run() {
+            step(mFrameTimeNanos);
+        }
+    };
+
+    private final Runnable mInvalidate = new Runnable() {
+        @Override
+        public void run() {
+            invalidate();
+        }
+    };
+
+    SvgAnimationDriver(ReactContext context) {
+        mContext = context;
+    }
+
+    /**
+     * Start animation, replacing the running animation with the same id. Must be called on the native modules thread.
+     */
+    void start(SvgAnimation animation) {
+        if (mDestroyed) {
+            return;
+        }
+        mAnimations.put(animation.mId, animation);
+        mRunning = true;
+        UiThreadUtil.runOnUiThread(mSchedule);
+    }
+
+    /**
+     * Stop the animation with the given id, leaving its node at its current value. Must be called on the native modules thread.
+     */
+    void stop(int id) {
+        mAnimations.remove(id);
+    }
+
+    /**
+     * Drops all animations once the react instance is destroyed, as their tags may be reused by the next one.
+     * Must be called on the native modules thread.
+     */
+    void destroy() {
+        mDestroyed = true;
+        mRunning = false;
+        mAnimations.clear();
+        synchronized (mInvalidated) {
+            mInvalidated.clear();
+        }
+    }
+
+    private void schedule() {
+        if (!mScheduled && mRunning) {
+            mScheduled = true;
+            Choreographer.getInstance().postFrameCallback(this);
+        }
+    }
+
+    @Override
+    public void doFrame(long frameTimeNanos) {
+        if (mDestroyed) {
+            mScheduled = false;
+            return;
+        }
+
+        // mScheduled stays set until the frame has been applied, see invalidate()
+        mFrameTimeNanos = frameTimeNanos;
+        mContext.runOnNativeModulesQueueThread(mStep);
+    }
+
+    private void step(long frameTimeNanos) {
+        if (mDestroyed) {
+            return;
+        }
+        for (int i = mAnimations.size() - 1; i >= 0; i--) {
+            SvgAnimation animation = mAnimations.valueAt(i);
+            VirtualNode node = RenderableViewManager.getVirtualNodeByTag(animation.mTag);
+            if (node == null) {
+                // The node has been dropped
+                mAnimations.removeAt(i);
+                continue;
+            }
+
+            if (!animation.step(node, frameTimeNanos)) {
+                mAnimations.removeAt(i);
+            }
+
+            SvgViewShadowNode svg = node.getSvgShadowNode();
+            if (svg != null) {
+                synchronized (mInvalidated) {
+                    mInvalidated.put(svg.getReactTag(), true);
+                }
+            }
+        }
+
+        mRunning = mAnimations.size() != 0;
+        UiThreadUtil.runOnUiThread(mInvalidate);
+    }
+
+    private void invalidate() {
+        synchronized (mInvalidated) {
+            for (int i = 0; i < mInvalidated.size(); i++) {
+                SvgView view = SvgViewManager.getSvgViewByTag(mInvalidated.keyAt(i));
+                if (view != null) {
+                    view.invalidate();
+                }
+            }
+            mInvalidated.clear();
+        }
+
+        mScheduled = false;
+        schedule();
+    }
+}
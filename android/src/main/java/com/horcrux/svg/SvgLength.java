@@ -0,0 +1,163 @@
+/*
+ * Copyright (c) 2015-present, Horcrux.
+ * All rights reserved.
+ *
+ * This source code is licensed under the MIT-style license found in the
+ * LICENSE file in the root directory of this source tree.
+ */
+
+
+package com.horcrux.svg;
+
+import javax.annotation.Nullable;
+
+/**
+ * Length prop, parsed once when the prop is set and resolved numerically when drawing.
+ * Absolute units are converted to user units when parsing, leaving only lengths relative to
+ * the viewport or the font size to be resolved against the current context.
+ */
+class SvgLength {
+    static final int UNIT_NUMBER = 0;
+    static final int UNIT_PERCENTAGE = 1;
+    static final int UNIT_EM = 2;
+
+    static final SvgLength ZERO = new SvgLength(0, UNIT_NUMBER);
+
+    final double mValue;
+    final int mUnit;
+
+    SvgLength(double value, int unit) {
+        mValue = value;
+        mUnit = unit;
+    }
+
+    /**
+     * Parses a length string like "12", "50%", "1.5em" or "10mm".
+     *
+     * @throws NumberFormatException if the number of the length is invalid
+     */
+    static @Nullable SvgLength from(@Nullable String length) {
+        /*
+            TODO list
+
+            unit  relative to
+            ex    x-height of the element’s font
+            ch    width of the "0" (ZERO, U+0030) glyph in the element’s font
+            rem   font size of the root element
+            vw    1% of viewport’s width
+            vh    1% of viewport’s height
+            vmin  1% of viewport’s smaller dimension
+            vmax  1% of viewport’s larger dimension
+
+            relative-size [ larger | smaller ]
+            absolute-size: [ xx-small | x-small | small | medium | large | x-large | xx-large ]
+
+            https://www.w3.org/TR/css3-values/#relative-lengths
+            https://www.w3.org/TR/css3-values/#absolute-lengths
+            https://drafts.csswg.org/css-cascade-4/#computed-value
+            https://drafts.csswg.org/css-fonts-3/#propdef-font-size
+            https://drafts.csswg.org/css2/fonts.html#propdef-font-size
+        */
+        if (length == null) {
+            return null;
+        }
+
+        length = length.trim();
+        int stringLength = length.length();
+        int percentIndex = stringLength - 1;
+        if (stringLength == 0 || length.equals("normal")) {
+            return ZERO;
+        } else if (length.codePointAt(percentIndex) == '%') {
+            return new SvgLength(Double.valueOf(length.substring(0, percentIndex)), UNIT_PERCENTAGE);
+        }
+
+        int twoLetterUnitIndex = stringLength - 2;
+        if (twoLetterUnitIndex <= 0) {
+            return new SvgLength(Double.valueOf(length), UNIT_NUMBER);
+        }
+
+        String lastTwo = length.substring(twoLetterUnitIndex);
+        int end = twoLetterUnitIndex;
+        int unit = UNIT_NUMBER;
+        double factor = 1;
+
+        switch (lastTwo) {
+            case "px":
+                break;
+
+            case "em":
+                unit = UNIT_EM;
+                break;
+
+            /*
+             "1pt" equals "1.25px" (and therefore 1.25 user units)
+             "1pc" equals "15px" (and therefore 15 user units)
+             "1mm" would be "3.543307px" (3.543307 user units)
+             "1cm" equals "35.43307px" (and therefore 35.43307 user units)
+             "1in" equals "90px" (and therefore 90 user units)
+             */
+
+            case "pt":
+                factor = 1.25d;
+                break;
+
+            case "pc":
+                factor = 15;
+                break;
+
+            case "mm":
+                factor = 3.543307d;
+                break;
+
+            case "cm":
+                factor = 35.43307d;
+                break;
+
+            case "in":
+                factor = 90;
+                break;
+
+            default:
+                end = stringLength;
+        }
+
+        return new SvgLength(Double.valueOf(length.substring(0, end)) * factor, unit);
+    }
+
+    /**
+     * Converts the length into px / user units in the current user coordinate system.
+     *
+     * @param relative relative size for percentages
+     * @param offset   offset for all units
+     * @param scale    scaling parameter
+     * @param fontSize current font size
+     * @return value in the current user coordinate system
+     */
+    double resolve(double relative, double offset, double scale, double fontSize) {
+        switch (mUnit) {
+            case UNIT_PERCENTAGE:
+                return mValue / 100 * relative + offset;
+            case UNIT_EM:
+                return mValue * fontSize * scale + offset;
+            default:
+                return mValue * scale + offset;
+        }
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+        if (this == obj) {
+            return true;
+        }
+        if (!(obj instanceof SvgLength)) {
+            return false;
+        }
+        SvgLength other = (SvgLength) obj;
+        return mValue == other.mValue && mUnit == other.mUnit;
+    }
+
+    @Override
+    public int hashCode() {
+        return 31 * Double.valueOf(mValue).hashCode() + mUnit;
+    }
+}
@@ -0,0 +1,221 @@
+/*
+ * Copyright (c) 2015-present, Horcrux.
+ * All rights reserved.
+ *
+ * This source code is licensed under the MIT-style license found in the
+ * LICENSE file in the root directory of this source tree.
+ */
+
+
+package com.horcrux.svg;
+
+import com.facebook.react.bridge.ReadableArray;
+
+import java.util.HashMap;
+
+import javax.annotation.Nullable;
+
+/**
+ * Fill or stroke prop, parsed once when the prop is set.
+ * Solid colors are stored as a packed ARGB int, brushes by the name of their definition.
+ */
+class SvgPaint {
+    static final int TYPE_COLOR = 0;
+    static final int TYPE_BRUSH = 1;
+    static final int TYPE_CURRENT_COLOR = 2;
+
+    static final SvgPaint CURRENT_COLOR = new SvgPaint(TYPE_CURRENT_COLOR, 0, null);
+
+    // Color strings repeat a lot across elements, e.g. in animated or generated drawings.
+    // Props are set on the native modules thread, but the cache is shared by all react contexts, so it's guarded by itself
+    private static final int MAX_INTERNED = 64;
+    private static final HashMap<String, SvgPaint> sInterned = new HashMap<>();
+
+    final int mType;
+    final int mColor;
+    final @Nullable String mBrushRef;
+
+    private SvgPaint(int type, int color, @Nullable String brushRef) {
+        mType = type;
+        mColor = color;
+        mBrushRef = brushRef;
+    }
+
+    static SvgPaint color(int color) {
+        return new SvgPaint(TYPE_COLOR, color, null);
+    }
+
+    /**
+     * @param r red, 0 to 1
+     * @param g green, 0 to 1
+     * @param b blue, 0 to 1
+     * @param a alpha, 0 to 1
+     */
+    static SvgPaint rgba(double r, double g, double b, double a) {
+        return color(pack(r, g, b, a));
+    }
+
+    static int pack(double r, double g, double b, double a) {
+        return toByte(a) << 24 | toByte(r) << 16 | toByte(g) << 8 | toByte(b);
+    }
+
+    private static int toByte(double component) {
+        if (component <= 0) {
+            return 0;
+        }
+        if (component >= 1) {
+            return 255;
+        }
+        return (int) (component * 255 + 0.5);
+    }
+
+    /**
+     * Parses the array form sent by js: [0, r, g, b, a?] with components from 0 to 1 for
+     * solid colors, [1, name] for brushes and [2] for the current color.
+     */
+    static @Nullable SvgPaint from(ReadableArray colors) {
+        if (colors.size() == 0) {
+            return null;
+        }
+
+        switch (colors.getInt(0)) {
+            case TYPE_COLOR:
+                if (colors.size() < 4) {
+                    return null;
+                }
+                return rgba(
+                    colors.getDouble(1),
+                    colors.getDouble(2),
+                    colors.getDouble(3),
+                    colors.size() > 4 ? colors.getDouble(4) : 1);
+            case TYPE_BRUSH:
+                return colors.size() > 1 ? new SvgPaint(TYPE_BRUSH, 0, colors.getString(1)) : null;
+            case TYPE_CURRENT_COLOR:
+                return CURRENT_COLOR;
+            default:
+                return null;
+        }
+    }
+
+    /**
+     * Parses a color string like "rgba(255, 0, 0, 0.5)", "#f00" or "#ff000080".
+     * Like before, any other string is read as the sequence of its numbers: red, green and blue
+     * from 0 to 255, and alpha from 0 to 1.
+     */
+    static @Nullable SvgPaint from(String color) {
+        SvgPaint paint;
+        synchronized (sInterned) {
+            paint = sInterned.get(color);
+        }
+        if (paint != null) {
+            return paint;
+        }
+
+        paint = parse(color);
+        if (paint != null) {
+            synchronized (sInterned) {
+                if (sInterned.size() == MAX_INTERNED) {
+                    sInterned.clear();
+                }
+                sInterned.put(color, paint);
+            }
+        }
+        return paint;
+    }
+
+    private static @Nullable SvgPaint parse(String color) {
+        String trimmed = color.trim();
+        if (trimmed.equals("currentColor")) {
+            return CURRENT_COLOR;
+        }
+        if (trimmed.length() > 1 && trimmed.charAt(0) == '#') {
+            return parseHex(trimmed);
+        }
+
+        double[] rgba = {0, 0, 0, 1};
+        int count = 0;
+        int length = trimmed.length();
+        int i = 0;
+        while (i < length && count < 4) {
+            char c = trimmed.charAt(i);
+            if (!isNumberChar(c)) {
+                i++;
+                continue;
+            }
+
+            int start = i;
+            while (i < length && isNumberChar(trimmed.charAt(i))) {
+                i++;
+            }
+            double value;
+            try {
+                value = Double.parseDouble(trimmed.substring(start, i));
+            } catch (NumberFormatException e) {
+                return null;
+            }
+            rgba[count] = count < 3 ? value / 255 : value;
+            count++;
+        }
+
+        if (count < 3) {
+            return null;
+        }
+        return rgba(rgba[0], rgba[1], rgba[2], rgba[3]);
+    }
+
+    private static boolean isNumberChar(char c) {
+        return (c >= '0' && c <= '9') || c == '.' || c == '-';
+    }
+
+    private static @Nullable SvgPaint parseHex(String color) {
+        int length = color.length() - 1;
+        int value = 0;
+        for (int i = 1; i <= length; i++) {
+            int digit = Character.digit(color.charAt(i), 16);
+            if (digit == -1) {
+                return null;
+            }
+            value = value << 4 | digit;
+        }
+
+        switch (length) {
+            case 3:
+                // #rgb
+                return color(0xff000000 | expand(value >> 8) << 16 | expand(value >> 4) << 8 | expand(value));
+            case 4:
+                // #rgba
+                return color(expand(value) << 24 | expand(value >> 12) << 16 | expand(value >> 8) << 8 | expand(value >> 4));
+            case 6:
+                // #rrggbb
+                return color(0xff000000 | value);
+            case 8:
+                // #rrggbbaa
+                return color(value << 24 | value >>> 8);
+            default:
+                return null;
+        }
+    }
+
+    private static int expand(int digit) {
+        digit &= 0xf;
+        return digit << 4 | digit;
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+        if (this == obj) {
+            return true;
+        }
+        if (!(obj instanceof SvgPaint)) {
+            return false;
+        }
+        SvgPaint other = (SvgPaint) obj;
+        return mType == other.mType && mColor == other.mColor &&
+            (mBrushRef == null ? other.mBrushRef == null : mBrushRef.equals(other.mBrushRef));
+    }
+
+    @Override
+    public int hashCode() {
+        return 31 * (31 * mType + mColor) + (mBrushRef == null ? 0 : mBrushRef.hashCode());
+    }
+}
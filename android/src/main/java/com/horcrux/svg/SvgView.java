@@ -50,6 +50,31 @@ public class SvgView extends ReactViewGroup implements ReactCompoundView, ReactC
     }
 
     private @Nullable Bitmap mBitmap;
+    // Whether mBitmap is out of date, it's kept to be drawn into again by the next frame
+    private boolean mBitmapInvalid;
+    // Whether the view has been invalidated for the next frame, so the view is invalidated once
+    // per frame, however many nodes have been updated since the last one
+    private boolean mInvalidated;
+
+    // Cleared on the next frame rather than when drawing it, as the frame may not draw this view
+    // (e.g. hidden or empty), which would otherwise drop every later invalidation
+    private final Runnable mFrameStarted = new Runnable() {
+        @Override
+        public void run() {
+            mInvalidated = false;
+        }
+    };
+
+    // Drops the layers of animated nodes once their animations have ended, as no more frames are drawn then
+    private final Runnable mReleaseLayers = new Runnable() {
+        @Override
+        public void run() {
+            SvgViewShadowNode node = getShadowNode();
+            if (node != null) {
+                node.releaseIdleLayers();
+            }
+        }
+    };
 
     public SvgView(ReactContext reactContext) {
         super(reactContext);
@@ -61,24 +86,47 @@ public class SvgView extends ReactViewGroup implements ReactCompoundView, ReactC
         SvgViewManager.setSvgView(this);
     }
 
+    /**
+     * Discards the bitmap content and redraws the view on the next frame.
+     */
     @Override
     public void invalidate() {
-        super.invalidate();
-        if (mBitmap != null) {
-            mBitmap.recycle();
+        mBitmapInvalid = true;
+        if (!mInvalidated) {
+            mInvalidated = true;
+            super.invalidate();
+            postOnAnimation(mFrameStarted);
         }
-        mBitmap = null;
+    }
+
+    @Override
+    protected void onDetachedFromWindow() {
+        super.onDetachedFromWindow();
+        removeCallbacks(mFrameStarted);
+        mInvalidated = false;
+        removeCallbacks(mReleaseLayers);
+        mReleaseLayers.run();
     }
 
     @Override
     protected void onDraw(Canvas canvas) {
         super.onDraw(canvas);
-        if (mBitmap == null) {
+        if (mBitmap == null || mBitmapInvalid) {
             SvgViewShadowNode node = getShadowNode();
             if (node == null) {
                 return;
             }
-            mBitmap = node.drawOutput();
+            Bitmap bitmap = node.drawOutput(mBitmap);
+            if (mBitmap != null && mBitmap != bitmap) {
+                mBitmap.recycle();
+            }
+            mBitmap = bitmap;
+            mBitmapInvalid = false;
+
+            removeCallbacks(mReleaseLayers);
+            if (node.isLayerDrawn()) {
+                postDelayed(mReleaseLayers, VirtualNode.LAYER_IDLE_TIME);
+            }
         }
         canvas.drawBitmap(mBitmap, 0, 0, null);
     }
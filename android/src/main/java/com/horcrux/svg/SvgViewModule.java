@@ -13,10 +13,14 @@ import com.facebook.react.bridge.Callback;
 import com.facebook.react.bridge.ReactApplicationContext;
 import com.facebook.react.bridge.ReactContextBaseJavaModule;
 import com.facebook.react.bridge.ReactMethod;
+import com.facebook.react.bridge.ReadableMap;
 
 class SvgViewModule extends ReactContextBaseJavaModule {
+    private final SvgAnimationDriver mAnimationDriver;
+
     SvgViewModule(ReactApplicationContext reactContext) {
         super(reactContext);
+        mAnimationDriver = new SvgAnimationDriver(reactContext);
     }
 
     @Override
@@ -33,4 +37,22 @@ class SvgViewModule extends ReactContextBaseJavaModule {
             successCallback.invoke(svg.toDataURL());
         }
     }
+
+    @ReactMethod
+    public void startAnimation(int id, int tag, ReadableMap config) {
+        // Animations are applied on the native modules thread, which react methods are called on
+        mAnimationDriver.start(new SvgAnimation(id, tag, config));
+    }
+
+    @ReactMethod
+    public void stopAnimation(int id) {
+        mAnimationDriver.stop(id);
+    }
+
+    @Override
+    public void onCatalystInstanceDestroy() {
+        super.onCatalystInstanceDestroy();
+        // Called on the native modules thread, like the animation methods
+        mAnimationDriver.destroy();
+    }
 }
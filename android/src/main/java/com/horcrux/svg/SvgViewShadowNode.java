@@ -11,23 +11,31 @@ package com.horcrux.svg;
 
 import android.graphics.Bitmap;
 import android.graphics.Canvas;
+import android.graphics.Color;
 import android.graphics.Matrix;
 import android.graphics.Paint;
 import android.graphics.Point;
 import android.graphics.Rect;
 import android.graphics.RectF;
-import android.graphics.Typeface;
 import android.util.Base64;
+import android.view.animation.AnimationUtils;
 
+import com.facebook.react.bridge.UiThreadUtil;
 import com.facebook.react.uimanager.DisplayMetricsHolder;
 import com.facebook.react.uimanager.LayoutShadowNode;
 import com.facebook.react.uimanager.ReactShadowNode;
 import com.facebook.react.uimanager.ReactShadowNodeImpl;
+import com.facebook.react.uimanager.UIManagerModule;
 import com.facebook.react.uimanager.UIViewOperationQueue;
 import com.facebook.react.uimanager.annotations.ReactProp;
+import com.facebook.react.uimanager.events.EventDispatcher;
 
 import java.io.ByteArrayOutputStream;
+import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
 import java.util.Map;
 
 import javax.annotation.Nullable;
@@ -41,8 +49,16 @@ public class SvgViewShadowNode extends LayoutShadowNode {
     private final Map<String, VirtualNode> mDefinedClipPaths = new HashMap<>();
     private final Map<String, VirtualNode> mDefinedTemplates = new HashMap<>();
     private final Map<String, VirtualNode> mDefinedMasks = new HashMap<>();
-    private final Map<String, Brush> mDefinedBrushes = new HashMap<>();
-    private Canvas mCanvas;
+    private final Map<String, VirtualNode> mDefinedBrushes = new HashMap<>();
+    // Nodes referring to each id, by their clipPath, mask, fill, stroke or href
+    private final Map<String, ArrayList<VirtualNode>> mReferences = new HashMap<>();
+    private final HashSet<String> mInvalidatingReferences = new HashSet<>();
+    // Nodes with an onLayout listener whose client rect changed while drawing
+    private final ArrayList<VirtualNode> mLayoutEvents = new ArrayList<>();
+    private final RenderContext mRenderContext = new RenderContext();
+    // Canvas of the last bitmap returned by drawOutput
+    private @Nullable Bitmap mOutputBitmap;
+    private @Nullable Canvas mOutputCanvas;
     private final float mScale;
 
     private float mMinX;
@@ -53,10 +69,14 @@ public class SvgViewShadowNode extends LayoutShadowNode {
     private String mbbHeight;
     private String mAlign;
     private int mMeetOrSlice;
+    private @Nullable Matrix mViewBoxMatrix;
     private final Matrix mInvViewBoxMatrix = new Matrix();
     private boolean mInvertible = true;
     private boolean mRendered = false;
+    private @Nullable HitTestBuffer mHitTestBuffer;
     int mTintColor = 0;
+    // Set while the update of a descendant is propagated to this node by react, see VirtualNode#markUpdated(int)
+    boolean mMarkedByDescendant;
 
     public SvgViewShadowNode() {
         mScale = DisplayMetricsHolder.getScreenDisplayMetrics().density;
@@ -79,11 +99,34 @@ public class SvgViewShadowNode extends LayoutShadowNode {
 
     @ReactProp(name = "tintColor", customType = "Color")
     public void setTintColor(@Nullable Integer tintColor) {
-        if (tintColor == null) {
-            mTintColor = 0;
-        } else {
-            mTintColor = tintColor;
+        int color = tintColor == null ? 0 : tintColor;
+        if (color == mTintColor) {
+            return;
         }
+
+        mTintColor = color;
+        markUpdated();
+        // The current color is drawn into the layers and template instances
+        traverseChildren(new VirtualNode.NodeRunnable() {
+            public void run(ReactShadowNode node) {
+                if (node instanceof VirtualNode) {
+                    ((VirtualNode) node).releaseLayers();
+                }
+            }
+        });
+    }
+
+    /**
+     * Enables color picking hit testing through an offscreen id buffer,
+     * rendered at {@code scale} times the resolution of the view. 0 disables it.
+     */
+    @ReactProp(name = "hitTestBufferScale", defaultFloat = 0f)
+    public void setHitTestBufferScale(float scale) {
+        if (mHitTestBuffer != null) {
+            mHitTestBuffer.recycle();
+        }
+        mHitTestBuffer = scale > 0 ? new HitTestBuffer(Math.min(scale, 1f)) : null;
+        markUpdated();
     }
 
     @ReactProp(name = "minX")
@@ -142,6 +185,15 @@ public class SvgViewShadowNode extends LayoutShadowNode {
         releaseCachedPath();
     }
 
+    @Override
+    public void markUpdated() {
+        super.markUpdated();
+        if (!mMarkedByDescendant) {
+            // Children may have been added or removed, updated descendants invalidate themselves
+            invalidateHitTestBuffer();
+        }
+    }
+
     @Override
     public boolean isVirtual() {
         return false;
@@ -164,7 +216,12 @@ public class SvgViewShadowNode extends LayoutShadowNode {
         SvgViewManager.setShadowNode(this);
     }
 
-    Bitmap drawOutput() {
+    /**
+     * Draws the svg into a bitmap of its layout size.
+     *
+     * @param reuse bitmap of the previous frame, drawn into again if it still has the right size
+     */
+    Bitmap drawOutput(@Nullable Bitmap reuse) {
         mRendered = true;
         float width = getLayoutWidth();
         float height = getLayoutHeight();
@@ -176,21 +233,86 @@ public class SvgViewShadowNode extends LayoutShadowNode {
             width = (float) PropHelper.fromRelative(mbbWidth, parentWidth, 0, mScale, 12);
             height = (float) PropHelper.fromRelative(mbbHeight, parentHeight, 0, mScale, 12);
         }
-        Bitmap bitmap = Bitmap.createBitmap(
-                (int) width,
-                (int) height,
-                Bitmap.Config.ARGB_8888);
+        Bitmap bitmap;
+        if (reuse != null && reuse == mOutputBitmap && !reuse.isRecycled() &&
+            reuse.getWidth() == (int) width && reuse.getHeight() == (int) height) {
+            bitmap = reuse;
+            bitmap.eraseColor(Color.TRANSPARENT);
+        } else {
+            bitmap = Bitmap.createBitmap(
+                    (int) width,
+                    (int) height,
+                    Bitmap.Config.ARGB_8888);
+            mOutputBitmap = bitmap;
+            mOutputCanvas = new Canvas(bitmap);
+        }
+
+        Canvas canvas = mOutputCanvas;
+        int count = canvas.save();
+        drawChildren(canvas);
+        canvas.restoreToCount(count);
+
+        if (mHitTestBuffer != null && mHitTestBuffer.needsUpdate(bitmap.getWidth(), bitmap.getHeight())) {
+            drawHitTestBuffer(bitmap.getWidth(), bitmap.getHeight());
+        }
 
-        drawChildren(new Canvas(bitmap));
         return bitmap;
     }
 
+    private void drawHitTestBuffer(int width, int height) {
+        HitTestBuffer buffer = mHitTestBuffer;
+        Canvas canvas = buffer.begin(width, height);
+        if (mViewBoxMatrix != null) {
+            canvas.concat(mViewBoxMatrix);
+        }
+
+        for (int i = 0; i < getChildCount(); i++) {
+            ReactShadowNodeImpl child = getChildAt(i);
+            if (!(child instanceof VirtualNode)) {
+                continue;
+            }
+
+            VirtualNode node = (VirtualNode) child;
+            int count = node.saveAndSetupCanvas(canvas);
+            node.drawHitTestBuffer(canvas, buffer, node.getReactTag());
+            node.restoreCanvas(canvas, count);
+        }
+
+        buffer.end();
+    }
+
+    /**
+     * Redraws the view of the svg after an update made outside of a react update, which would redraw it itself.
+     */
+    void invalidateView() {
+        final int tag = getReactTag();
+        UiThreadUtil.runOnUiThread(new Runnable() {
+            @Override
+            public void run() {
+                SvgView view = SvgViewManager.getSvgViewByTag(tag);
+                if (view != null) {
+                    view.invalidate();
+                }
+            }
+        });
+    }
+
+    void invalidateHitTestBuffer() {
+        if (mHitTestBuffer != null) {
+            mHitTestBuffer.invalidate();
+        }
+    }
+
     Rect getCanvasBounds() {
-        return mCanvas.getClipBounds();
+        return mRenderContext.getClipBounds();
+    }
+
+    RenderContext getRenderContext() {
+        return mRenderContext;
     }
 
     void drawChildren(final Canvas canvas) {
-        mCanvas = canvas;
+        mViewBoxMatrix = null;
         if (mAlign != null) {
             RectF vbRect = getViewBox();
             float width = canvas.getWidth();
@@ -204,43 +326,78 @@ public class SvgViewShadowNode extends LayoutShadowNode {
             if (nested) {
                 canvas.clipRect(eRect);
             }
-            Matrix mViewBoxMatrix = ViewBox.getTransform(vbRect, eRect, mAlign, mMeetOrSlice);
+            mViewBoxMatrix = ViewBox.getTransform(vbRect, eRect, mAlign, mMeetOrSlice);
             mInvertible = mViewBoxMatrix.invert(mInvViewBoxMatrix);
             canvas.concat(mViewBoxMatrix);
         }
 
-        final Paint paint = new Paint();
+        mRenderContext.begin(canvas);
+        final Paint paint = mRenderContext.getPaint();
 
-        paint.setFlags(Paint.ANTI_ALIAS_FLAG | Paint.DEV_KERN_TEXT_FLAG | Paint.SUBPIXEL_TEXT_FLAG);
-
-        paint.setTypeface(Typeface.DEFAULT);
+        for (int i = 0; i < getChildCount(); i++) {
+            ReactShadowNode lNode = getChildAt(i);
+            if (lNode instanceof VirtualNode) {
+                VirtualNode node = (VirtualNode)lNode;
+                if (node instanceof RenderableShadowNode) {
+                    ((RenderableShadowNode)node).resolveStyle(null);
+                }
 
+                int count = node.saveAndSetupCanvas(canvas);
+                node.composite(canvas, paint, 1f);
+                node.restoreCanvas(canvas, count);
+                node.markUpdateSeen();
 
-        traverseChildren(new VirtualNode.NodeRunnable() {
-            public void run(ReactShadowNode node) {
-                if (node instanceof VirtualNode) {
-                    ((VirtualNode)node).saveDefinition();
+                if (node.isResponsible() && !mResponsible) {
+                    mResponsible = true;
                 }
+            } else {
+                lNode.calculateLayout();
             }
-        });
+        }
 
-        traverseChildren(new VirtualNode.NodeRunnable() {
-            public void run(ReactShadowNode lNode) {
-                if (lNode instanceof VirtualNode) {
-                    VirtualNode node = (VirtualNode)lNode;
-                    int count = node.saveAndSetupCanvas(canvas);
-                    node.render(canvas, paint, 1f);
-                    node.restoreCanvas(canvas, count);
-                    node.markUpdateSeen();
-
-                    if (node.isResponsible() && !mResponsible) {
-                        mResponsible = true;
-                    }
-                } else {
-                    lNode.calculateLayout();
-                }
+        dispatchLayoutEvents();
+    }
+
+    /**
+     * @return whether the last frame composited a node from its layer, i.e. there are layers to release once idle
+     */
+    boolean isLayerDrawn() {
+        return mRenderContext.isLayerDrawn();
+    }
+
+    /**
+     * Drops the layers of nodes whose animations have ended, see {@link VirtualNode#releaseIdleLayers}.
+     */
+    void releaseIdleLayers() {
+        final long time = AnimationUtils.currentAnimationTimeMillis();
+        for (int i = 0; i < getChildCount(); i++) {
+            ReactShadowNodeImpl child = getChildAt(i);
+            if (child instanceof VirtualNode) {
+                ((VirtualNode) child).releaseIdleLayers(time);
             }
-        });
+        }
+    }
+
+    void queueLayoutEvent(VirtualNode node) {
+        mLayoutEvents.add(node);
+    }
+
+    /**
+     * Send the final client rects of the frame to the onLayout listeners in one batch, so nested
+     * groups updating their union while their children are drawn only send one event each.
+     */
+    private void dispatchLayoutEvents() {
+        if (mLayoutEvents.isEmpty()) {
+            return;
+        }
+
+        EventDispatcher eventDispatcher = getThemedContext()
+                .getNativeModule(UIManagerModule.class)
+                .getEventDispatcher();
+        for (int i = 0; i < mLayoutEvents.size(); i++) {
+            mLayoutEvents.get(i).dispatchLayoutEvent(eventDispatcher);
+        }
+        mLayoutEvents.clear();
     }
 
     private RectF getViewBox() {
@@ -268,7 +425,16 @@ public class SvgViewShadowNode extends LayoutShadowNode {
     }
 
     int hitTest(Point point) {
-        if (!mResponsible || !mInvertible) {
+        if (!mResponsible) {
+            return getReactTag();
+        }
+
+        if (mHitTestBuffer != null) {
+            int viewTag = mHitTestBuffer.hitTest(point.x, point.y);
+            return viewTag == -1 ? getReactTag() : viewTag;
+        }
+
+        if (!mInvertible) {
             return getReactTag();
         }
 
@@ -294,6 +460,7 @@ public class SvgViewShadowNode extends LayoutShadowNode {
 
     void defineClipPath(VirtualNode clipPath, String clipPathRef) {
         mDefinedClipPaths.put(clipPathRef, clipPath);
+        invalidateReferences(clipPathRef);
     }
 
     VirtualNode getDefinedClipPath(String clipPathRef) {
@@ -302,28 +469,140 @@ public class SvgViewShadowNode extends LayoutShadowNode {
 
     void defineTemplate(VirtualNode template, String templateRef) {
         mDefinedTemplates.put(templateRef, template);
+        invalidateReferences(templateRef);
     }
 
     VirtualNode getDefinedTemplate(String templateRef) {
         return mDefinedTemplates.get(templateRef);
     }
 
-    void defineBrush(Brush brush, String brushRef) {
+    void defineBrush(VirtualNode brush, String brushRef) {
         mDefinedBrushes.put(brushRef, brush);
+        invalidateReferences(brushRef);
     }
 
-    Brush getDefinedBrush(String brushRef) {
-        return mDefinedBrushes.get(brushRef);
+    @Nullable Brush getDefinedBrush(String brushRef) {
+        VirtualNode brush = mDefinedBrushes.get(brushRef);
+        return brush instanceof Brush.Provider ? ((Brush.Provider) brush).getBrush() : null;
     }
 
     void defineMask(VirtualNode mask, String maskRef) {
         mDefinedMasks.put(maskRef, mask);
+        invalidateReferences(maskRef);
     }
 
     VirtualNode getDefinedMask(String maskRef) {
         return mDefinedMasks.get(maskRef);
     }
 
+    /**
+     * Unregisters the definitions of node, e.g. before its name changes.
+     */
+    void removeDefinition(VirtualNode node) {
+        if (node.mName == null) {
+            return;
+        }
+        removeDefinition(mDefinedClipPaths, node);
+        removeDefinition(mDefinedTemplates, node);
+        removeDefinition(mDefinedMasks, node);
+        removeDefinition(mDefinedBrushes, node);
+    }
+
+    private void removeDefinition(Map<String, VirtualNode> definitions, VirtualNode node) {
+        Iterator<Map.Entry<String, VirtualNode>> it = definitions.entrySet().iterator();
+        while (it.hasNext()) {
+            Map.Entry<String, VirtualNode> definition = it.next();
+            if (definition.getValue() == node) {
+                it.remove();
+                invalidateReferences(definition.getKey());
+            }
+        }
+    }
+
+    /**
+     * Unregisters the definitions and references of node and its descendants, when it is removed from the tree.
+     */
+    void removeNode(VirtualNode node) {
+        removeDefinition(node);
+        node.releaseReferences();
+        if (node.mLayoutPending) {
+            node.mLayoutPending = false;
+            mLayoutEvents.remove(node);
+        }
+        node.traverseChildren(new VirtualNode.NodeRunnable() {
+            public void run(ReactShadowNode child) {
+                if (child instanceof VirtualNode) {
+                    removeNode((VirtualNode) child);
+                }
+            }
+        });
+    }
+
+    void addReferences(VirtualNode node, List<String> refs) {
+        for (int i = 0; i < refs.size(); i++) {
+            String ref = refs.get(i);
+            ArrayList<VirtualNode> nodes = mReferences.get(ref);
+            if (nodes == null) {
+                nodes = new ArrayList<>();
+                mReferences.put(ref, nodes);
+            }
+            nodes.add(node);
+        }
+    }
+
+    void removeReferences(VirtualNode node, List<String> refs) {
+        for (int i = 0; i < refs.size(); i++) {
+            String ref = refs.get(i);
+            ArrayList<VirtualNode> nodes = mReferences.get(ref);
+            if (nodes != null) {
+                nodes.remove(node);
+                if (nodes.isEmpty()) {
+                    mReferences.remove(ref);
+                }
+            }
+        }
+    }
+
+    /**
+     * Invalidates the cached state of the nodes referring to the definition with the given id,
+     * after the definition has been updated, added or removed.
+     */
+    void invalidateReferences(String ref) {
+        ArrayList<VirtualNode> nodes = mReferences.get(ref);
+        // Definitions may refer to each other in a cycle
+        if (nodes == null || !mInvalidatingReferences.add(ref)) {
+            return;
+        }
+
+        try {
+            for (int i = 0; i < nodes.size(); i++) {
+                VirtualNode node = nodes.get(i);
+                node.invalidateTree(node.getReferenceDirty());
+            }
+        } finally {
+            mInvalidatingReferences.remove(ref);
+        }
+    }
+
+    @Override
+    public void addChildAt(ReactShadowNodeImpl child, int i) {
+        super.addChildAt(child, i);
+        if (child instanceof VirtualNode) {
+            VirtualNode node = (VirtualNode) child;
+            node.saveDefinition();
+            node.saveAllReferences();
+        }
+    }
+
+    @Override
+    public ReactShadowNodeImpl removeChildAt(int i) {
+        ReactShadowNodeImpl child = super.removeChildAt(i);
+        if (child instanceof VirtualNode) {
+            removeNode((VirtualNode) child);
+        }
+        return child;
+    }
+
     void traverseChildren(VirtualNode.NodeRunnable runner) {
         for (int i = 0; i < getChildCount(); i++) {
             ReactShadowNode child = getChildAt(i);
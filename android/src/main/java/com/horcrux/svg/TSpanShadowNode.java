@@ -15,9 +15,6 @@ import android.graphics.Canvas;
 import android.graphics.Matrix;
 import android.graphics.Paint;
 import android.graphics.Path;
-import android.graphics.PathMeasure;
-import android.graphics.Rect;
-import android.graphics.RectF;
 import android.graphics.Typeface;
 import android.os.Build;
 
@@ -40,18 +37,45 @@ class TSpanShadowNode extends TextShadowNode {
     private static final double tau = 2 * Math.PI;
     private static final double radToDeg = 360 / tau;
 
-    private static final String FONTS = "fonts/";
-    private static final String OTF = ".otf";
-    private static final String TTF = ".ttf";
-
+    // Glyph outlines of the content, and the layout they were built for
     private Path mCache;
+    private boolean mLaidOut;
+    private int mLayoutPass = -1;
+    private int mLayoutStart;
+    private @Nullable FontData mLayoutFont;
+    private double mLayoutBaselineShift;
+    private double mLayoutDirection;
+    // Number of results of the span, and the glyph context it was laid out from and to
+    private int mLayoutCount;
+    private final GlyphContext.State mLayoutFrom = new GlyphContext.State();
+    private final GlyphContext.State mLayoutTo = new GlyphContext.State();
+    // Whether the span picked up no positioning values, i.e. it's positioned by its advances alone
+    private boolean mLayoutByAdvances;
+
+    // Run laid out in one go, which can be drawn as text instead of filling its outlines
+    private boolean mTextRun;
+    private float mTextRunX;
+    private float mTextRunY;
+    private Typeface mTextRunTypeface;
+    private float mTextRunSize;
+    private @Nullable String mTextRunFeatureSettings;
+
     @Nullable String mContent;
     private TextPathShadowNode textPath;
 
+    @Override
+    void invalidate(int dirty) {
+        super.invalidate(dirty);
+        if ((dirty & (DIRTY_GEOMETRY | DIRTY_TEXT_LAYOUT)) != 0) {
+            // The content or a property of the span itself changed
+            mCache = null;
+        }
+    }
+
     @ReactProp(name = "content")
     public void setContent(@Nullable String content) {
         mContent = content;
-        markUpdated();
+        markUpdated(DIRTY_TEXT_LAYOUT);
     }
 
     @Override
@@ -64,15 +88,32 @@ class TSpanShadowNode extends TextShadowNode {
         }
     }
 
+    @Override
+    void drawFill(Canvas canvas, Path path, Paint paint) {
+        if (!mTextRun || getTextRendering() != TextRendering.optimizeSpeed) {
+            super.drawFill(canvas, path, paint);
+            return;
+        }
+
+        paint.setTypeface(mTextRunTypeface);
+        paint.setTextSize(mTextRunSize);
+        paint.setTextAlign(Paint.Align.LEFT);
+        if (Build.VERSION.SDK_INT >= Build.VERSION_CODES.LOLLIPOP) {
+            paint.setFontFeatureSettings(mTextRunFeatureSettings);
+        }
+        canvas.drawText(mContent, mTextRunX, mTextRunY, paint);
+    }
+
     @Override
     void releaseCachedPath() {
-        mCache = null;
-        mPath = null;
+        // Keep the outlines, they are reused if the next layout doesn't move any of the glyphs
+        mLaidOut = false;
+        super.releaseCachedPath();
     }
 
     @Override
     Path getPath(Canvas canvas, Paint paint) {
-        if (mCache != null) {
+        if (mCache != null && mLaidOut) {
             return mCache;
         }
 
@@ -84,6 +125,7 @@ class TSpanShadowNode extends TextShadowNode {
 
         pushGlyphContext();
         mCache = getLinePath(mContent, paint, canvas);
+        mLaidOut = true;
         popGlyphContext();
 
         return mCache;
@@ -95,15 +137,20 @@ class TSpanShadowNode extends TextShadowNode {
         final Path path = new Path();
 
         if (length == 0) {
+            mTextRun = false;
             return path;
         }
 
         double pathLength = 0;
-        PathMeasure pm = null;
+        TextPathMeasure pm = null;
         boolean isClosed = false;
         final boolean hasTextPath = textPath != null;
         if (hasTextPath) {
-            pm = new PathMeasure(textPath.getTextPath(canvas, paint), false);
+            mTextRun = false;
+            pm = textPath.getTextPathMeasure(canvas, paint);
+            if (pm == null) {
+                return path;
+            }
             pathLength = pm.getLength();
             isClosed = pm.isClosed();
             if (pathLength == 0) {
@@ -114,8 +161,6 @@ class TSpanShadowNode extends TextShadowNode {
         GlyphContext gc = getTextRootGlyphContext();
         FontData font = gc.getFont();
         applyTextPropertiesToPaint(paint, font);
-        GlyphPathBag bag = new GlyphPathBag(paint);
-        boolean[] ligature = new boolean[length];
         final char[] chars = line.toCharArray();
 
         /*
@@ -263,8 +308,10 @@ class TSpanShadowNode extends TextShadowNode {
         // OpenType.js font data
         ReadableMap fontData = font.fontData;
 
-        float[] advances = new float[length];
-        paint.getTextWidths(line, advances);
+        final float glyphScale = GlyphPathBag.getScale(paint);
+
+        final TextMeasureCache.Run run = TextMeasureCache.getRun(paint, line);
+        final float[] advances = run.advances;
 
         /*
         This would give both advances and textMeasure in one call / looping over the text
@@ -294,7 +341,7 @@ class TSpanShadowNode extends TextShadowNode {
             attributes, such as a ‘dx’ attribute value on a ‘tspan’ element.
          */
         final TextAnchor textAnchor = font.textAnchor;
-        final double textMeasure = paint.measureText(line);
+        final double textMeasure = run.textMeasure;
         double offset = getTextAnchorOffset(textAnchor, textMeasure);
 
         int side = 1;
@@ -497,7 +544,7 @@ class TSpanShadowNode extends TextShadowNode {
 
             Neither 'text-before-edge' nor 'text-after-edge' should be used with the vertical-align property.
         */
-        final Paint.FontMetrics fm = paint.getFontMetrics();
+        final Paint.FontMetrics fm = run.fontMetrics;
         final double descenderDepth = fm.descent;
         final double bottom = descenderDepth + fm.leading;
         final double ascenderHeight = -fm.ascent + fm.leading;
@@ -542,10 +589,7 @@ class TSpanShadowNode extends TextShadowNode {
                 case middle:
                     // Align the vertical midpoint of the box with the baseline of the parent box plus half the x-height of the parent.
                     // middle = x height / 2
-                    Rect bounds = new Rect();
-                    // this will just retrieve the bounding rect for 'x'
-                    paint.getTextBounds("x", 0, 1, bounds);
-                    int xHeight = bounds.height();
+                    int xHeight = run.getXHeight(paint);
                     baselineShift = xHeight / 2;
                     break;
 
@@ -669,40 +713,60 @@ class TSpanShadowNode extends TextShadowNode {
             }
         }
 
-        final Matrix start = new Matrix();
-        final Matrix mid = new Matrix();
-        final Matrix end = new Matrix();
+        /*
+            Without a textPath, per glyph positioning attributes, adjusted spacing or textLength,
+            every glyph is placed at the advance of the preceding ones, which is exactly how the
+            whole run is laid out by the font engine, so get its outline in one go.
+        */
+        final TextLayoutResults layout = getTextRootLayoutResults();
+        final int layoutStart = layout.beginSpan();
+        if (skipLayout(gc, layout, layoutStart, length, font, baselineShift, scaledDirection, hasTextPath)) {
+            return mCache;
+        }
+        mTextRun = false;
+        gc.save(mLayoutFrom);
+        mLayoutByAdvances = gc.canPositionRun();
+
+        final boolean canPositionRun = !hasTextPath &&
+            mTextLength == null &&
+            autoKerning &&
+            wordSpacing == 0 &&
+            letterSpacing == 0 &&
+            gc.canPositionRun() &&
+            run.hasOutlinesOnly(paint);
+        if (canPositionRun) {
+            double x = gc.nextRun(length, run.totalAdvance);
+            double startX = offset + x + gc.getDeltaX();
+            double startY = gc.getY() + gc.getDeltaY() + baselineShift;
+            layout.add(startX, startY, 0, 0, 0, TextLayoutResults.RUN);
+
+            mTextRun = true;
+            mTextRunX = (float) startX;
+            mTextRunY = (float) startY;
+            mTextRunTypeface = paint.getTypeface();
+            mTextRunSize = paint.getTextSize();
+            if (Build.VERSION.SDK_INT >= Build.VERSION_CODES.LOLLIPOP) {
+                mTextRunFeatureSettings = paint.getFontFeatureSettings();
+            }
 
-        final float[] startPointMatrixData = new float[9];
-        final float[] midPointMatrixData = new float[9];
-        final float[] endPointMatrixData = new float[9];
+            gc.save(mLayoutTo);
+            if (canReuseGlyphs(layout, layoutStart, font, baselineShift, scaledDirection, false)) {
+                return mCache;
+            }
+            paint.getTextPath(line, 0, length, (float) startX, (float) startY, path);
+            return path;
+        }
 
         for (int index = 0; index < length; index++) {
             char currentChar = chars[index];
-            String current = String.valueOf(currentChar);
-            boolean alreadyRenderedGraphemeCluster = ligature[index];
+            String current = run.clusters[index];
+            boolean alreadyRenderedGraphemeCluster = current.isEmpty();
 
             /*
-                Determine the glyph's charwidth (i.e., the amount which the current text position
+                The glyph's charwidth (i.e., the amount which the current text position
                 advances horizontally when the glyph is drawn using horizontal text layout).
             */
-            boolean hasLigature = false;
-            if (alreadyRenderedGraphemeCluster) {
-                current = "";
-            } else {
-                int nextIndex = index;
-                while (++nextIndex < length) {
-                    float nextWidth = advances[nextIndex];
-                    if (nextWidth > 0) {
-                        break;
-                    }
-                    String nextLigature = current + String.valueOf(chars[nextIndex]);
-                    ligature[nextIndex] = true;
-                    current = nextLigature;
-                    hasLigature = true;
-                }
-            }
-            double charWidth = paint.measureText(current) * scaleSpacingAndGlyphs;
+            double charWidth = run.clusterWidths[index] * scaleSpacingAndGlyphs;
 
             /*
                 For each subsequent glyph, set a new startpoint-on-the-path as the previous
@@ -732,6 +796,7 @@ class TSpanShadowNode extends TextShadowNode {
             if (alreadyRenderedGraphemeCluster || isWordSeparator) {
                 // Skip rendering other grapheme clusters of ligatures (already rendered),
                 // But, make sure to increment index positions by making gc.next() calls.
+                layout.add(0, 0, 0, 0, 0, TextLayoutResults.HIDDEN);
                 continue;
             }
 
@@ -740,6 +805,35 @@ class TSpanShadowNode extends TextShadowNode {
             double cursor = offset + (x + dx) * side;
             double startPoint = cursor - advance;
 
+            layout.add(startPoint, y, dy, r, charWidth, (byte) 0);
+        }
+
+        gc.save(mLayoutTo);
+        if (canReuseGlyphs(layout, layoutStart, font, baselineShift, scaledDirection, hasTextPath)) {
+            return mCache;
+        }
+
+        final Matrix start = new Matrix();
+        final Matrix mid = new Matrix();
+        final Matrix end = new Matrix();
+
+        final float[] startPointMatrixData = new float[9];
+        final float[] midPointMatrixData = new float[9];
+        final float[] endPointMatrixData = new float[9];
+
+        for (int index = 0; index < length; index++) {
+            final int layoutIndex = layoutStart + index;
+            if (layout.isHidden(layoutIndex)) {
+                continue;
+            }
+
+            String current = run.clusters[index];
+            double startPoint = layout.getX(layoutIndex);
+            double charWidth = layout.getCharWidth(layoutIndex);
+            double y = layout.getY(layoutIndex);
+            double dy = layout.getDeltaY(layoutIndex);
+            double r = layout.getRotate(layoutIndex);
+
             if (hasTextPath) {
                 /*
                     Determine the point on the curve which is charwidth distance along the path from
@@ -845,17 +939,8 @@ class TSpanShadowNode extends TextShadowNode {
             mid.preRotate((float) r);
 
 
-            Path glyph;
-            if (hasLigature) {
-                glyph = new Path();
-                paint.getTextPath(current, 0, current.length(), 0, 0, glyph);
-            } else {
-                glyph = bag.getOrCreateAndCache(currentChar, current);
-            }
-            RectF bounds = new RectF();
-            glyph.computeBounds(bounds, true);
-            float width = bounds.width();
-            if (width == 0) { // Render unicode emoji
+            Path glyph = GlyphPathBag.getOrCreateAndCache(paint, current);
+            if (glyph == null) { // Render unicode emoji
                 mid.getValues(midPointMatrixData);
                 double midX = midPointMatrixData[MTRANS_X];
                 double midY = midPointMatrixData[MTRANS_Y];
@@ -863,14 +948,104 @@ class TSpanShadowNode extends TextShadowNode {
                 canvas.drawText(current, (float)midX, (float)midY, paint);
                 canvas.rotate((float) -r, (float)midX, (float)midY);
             } else {
-                glyph.transform(mid);
-                path.addPath(glyph);
+                mid.preScale(glyphScale, glyphScale);
+                path.addPath(glyph, mid);
             }
         }
 
         return path;
     }
 
+    /**
+     * Whether the span can skip positioning its characters, as it's laid out from the glyph context
+     * it was laid out from in the preceding pass, or lies inside a text chunk which another span
+     * moved, i.e. it picks up no positioning values and only its current text position changed.
+     * Copies the results of the preceding pass, translated to the current text position, and
+     * advances the glyph context past the span. The outlines are translated along.
+     */
+    private boolean skipLayout(
+        GlyphContext gc,
+        TextLayoutResults layout,
+        int start,
+        int length,
+        FontData font,
+        double baselineShift,
+        double direction,
+        boolean hasTextPath
+    ) {
+        if (mCache == null ||
+            hasTextPath ||
+            mTextLength != null ||
+            mLayoutPass != layout.getPass() - 1 ||
+            mLayoutFont != font ||
+            mLayoutBaselineShift != baselineShift ||
+            mLayoutDirection != direction) {
+            return false;
+        }
+
+        final GlyphContext.State from = mLayoutFrom;
+        if (gc.isAt(from)) {
+            if (!layout.copy(mLayoutStart, mLayoutCount, 0, 0, 0)) {
+                return false;
+            }
+            gc.save(from);
+            gc.skip(length, mLayoutTo);
+        } else if (mLayoutByAdvances && gc.canPositionRun()) {
+            final double dx = gc.getX() + gc.getDeltaX() - (from.getX() + from.getDeltaX());
+            final double dy = gc.getY() - from.getY();
+            final double deltaY = gc.getDeltaY() - from.getDeltaY();
+            if (!layout.copy(mLayoutStart, mLayoutCount, dx, dy, deltaY)) {
+                return false;
+            }
+            final double advance = mLayoutTo.getX() - from.getX();
+            gc.save(from);
+            gc.nextRun(length, advance);
+            gc.save(mLayoutTo);
+
+            mCache.offset((float) dx, (float) (dy + deltaY));
+            mTextRunX += dx;
+            mTextRunY += dy + deltaY;
+        } else {
+            return false;
+        }
+
+        mLayoutPass = layout.getPass();
+        mLayoutStart = start;
+        return true;
+    }
+
+    /**
+     * Whether the outlines built by the preceding layout can be reused, i.e. the characters of
+     * this span were resolved to the same results, with the same font and span wide adjustments.
+     * Records the current layout to compare the next one with.
+     */
+    private boolean canReuseGlyphs(
+        TextLayoutResults layout,
+        int start,
+        FontData font,
+        double baselineShift,
+        double direction,
+        boolean hasTextPath
+    ) {
+        final boolean reuse = mCache != null &&
+            !hasTextPath &&
+            mLayoutPass == layout.getPass() - 1 &&
+            mLayoutStart == start &&
+            mLayoutFont == font &&
+            mLayoutBaselineShift == baselineShift &&
+            mLayoutDirection == direction &&
+            layout.isUnchanged(start);
+
+        mLayoutPass = layout.getPass();
+        mLayoutStart = start;
+        mLayoutCount = layout.getCount() - start;
+        mLayoutFont = font;
+        mLayoutBaselineShift = baselineShift;
+        mLayoutDirection = direction;
+
+        return reuse;
+    }
+
     private double getAbsoluteStartOffset(String startOffset, double distance, double fontSize) {
         return PropHelper.fromRelative(startOffset, distance, 0, mScale, fontSize);
     }
@@ -894,9 +1069,6 @@ class TSpanShadowNode extends TextShadowNode {
 
         double fontSize = font.fontSize * mScale;
 
-        boolean isBold = font.fontWeight == FontWeight.Bold;
-        boolean isItalic = font.fontStyle == FontStyle.italic;
-
         /*
         boolean underlineText = false;
         boolean strikeThruText = false;
@@ -909,35 +1081,8 @@ class TSpanShadowNode extends TextShadowNode {
         }
         */
 
-        int fontStyle;
-        if (isBold && isItalic) {
-            fontStyle = Typeface.BOLD_ITALIC;
-        } else if (isBold) {
-            fontStyle = Typeface.BOLD;
-        } else if (isItalic) {
-            fontStyle = Typeface.ITALIC;
-        } else {
-            fontStyle = Typeface.NORMAL;
-        }
-
-        Typeface typeface = null;
-        final String fontFamily = font.fontFamily;
-        try {
-            String path = FONTS + fontFamily + OTF;
-            typeface = Typeface.createFromAsset(assetManager, path);
-        } catch (Exception ignored) {
-            try {
-                String path = FONTS + fontFamily + TTF;
-                typeface = Typeface.createFromAsset(assetManager, path);
-            } catch (Exception ignored2) {
-                try {
-                    typeface = Typeface.create(fontFamily, fontStyle);
-                } catch (Exception ignored3) {
-                }
-            }
-        }
+        Typeface typeface = TypefaceCache.getTypeface(assetManager, font.fontFamily, font.fontStyle, font.fontWeight);
 
-        // NB: if the font family is null / unsupported, the default one will be used
         paint.setTypeface(typeface);
         paint.setTextSize((float) fontSize);
         paint.setTextAlign(Paint.Align.LEFT);
@@ -962,6 +1107,19 @@ class TSpanShadowNode extends TextShadowNode {
         }
     }
 
+    @Override
+    void drawHitTestBuffer(Canvas canvas, HitTestBuffer buffer, int tag) {
+        if (mContent == null) {
+            super.drawHitTestBuffer(canvas, buffer, tag);
+            return;
+        }
+        if (mPath == null || !mInvertible) {
+            return;
+        }
+
+        drawHitTestPaths(canvas, buffer, isResponsible() ? getReactTag() : tag, mFillPathValid ? mFillPath : null);
+    }
+
     @Override
     int hitTest(final float[] src) {
         if (mContent == null) {
@@ -976,10 +1134,10 @@ class TSpanShadowNode extends TextShadowNode {
         int x = Math.round(dst[0]);
         int y = Math.round(dst[1]);
 
-        if (mRegion == null && mFillPath != null) {
+        if (mRegion == null && mFillPathValid) {
             mRegion = getRegion(mFillPath);
         }
-        if (mStrokeRegion == null && mStrokePath != null) {
+        if (mStrokeRegion == null && mStrokePathValid) {
             mStrokeRegion = getRegion(mStrokePath);
         }
         if (
@@ -0,0 +1,108 @@
+/*
+ * Copyright (c) 2015-present, Horcrux.
+ * All rights reserved.
+ *
+ * This source code is licensed under the MIT-style license found in the
+ * LICENSE file in the root directory of this source tree.
+ */
+
+
+package com.horcrux.svg;
+
+import android.graphics.Canvas;
+import android.graphics.Picture;
+import android.graphics.RectF;
+
+import java.util.ArrayList;
+
+import javax.annotation.Nullable;
+
+/**
+ * Recorded output of a template, shared by the Use elements referring to it.
+ *
+ * Instead of rendering the whole template subtree, a Use element replays the picture recorded
+ * for the same size, opacity and inherited style, with its own transform. The template drops its instances whenever it or one of its
+ * descendants is updated, and when the tint color of the svg, which the current color is drawn with, changes.
+ */
+class TemplateInstances {
+    // Maximum number of distinct instances recorded per template
+    private static final int MAX_INSTANCES = 16;
+
+    private final ArrayList<Instance> mInstances = new ArrayList<>();
+
+    static class Instance {
+        private final float mWidth;
+        private final float mHeight;
+        private final float mOpacity;
+        private final @Nullable RenderableShadowNode.Style mStyle;
+        private final Picture mPicture;
+        // Origin of the picture in the coordinate space of the template
+        private final int mLeft;
+        private final int mTop;
+        // Client rect of the template, in the coordinate space of the picture
+        private final @Nullable RectF mClientRect;
+
+        private Instance(float width, float height, float opacity, @Nullable RenderableShadowNode.Style style,
+                         Picture picture, int left, int top, @Nullable RectF clientRect) {
+            mWidth = width;
+            mHeight = height;
+            mOpacity = opacity;
+            mStyle = style;
+            mPicture = picture;
+            mLeft = left;
+            mTop = top;
+            mClientRect = clientRect == null ? null : new RectF(clientRect);
+        }
+
+        private boolean matches(float width, float height, float opacity, @Nullable RenderableShadowNode.Style style) {
+            return width == mWidth && height == mHeight && opacity == mOpacity &&
+                (style == null ? mStyle == null : style.equals(mStyle));
+        }
+
+        /**
+         * Replay the picture with the current canvas matrix.
+         *
+         * @return the client rect of the instance, in a rect owned by context
+         */
+        @Nullable RectF draw(Canvas canvas, RenderContext context) {
+            int count = canvas.save();
+            canvas.translate(mLeft, mTop);
+            canvas.drawPicture(mPicture);
+
+            RectF clientRect = null;
+            if (mClientRect != null) {
+                clientRect = context.getBoundsRect();
+                context.getMatrix(canvas).mapRect(clientRect, mClientRect);
+            }
+            canvas.restoreToCount(count);
+            return clientRect;
+        }
+    }
+
+    /**
+     * @return the recorded instance matching the given size, opacity and inherited style, or null
+     */
+    @Nullable Instance get(float width, float height, float opacity, @Nullable RenderableShadowNode.Style style) {
+        for (int i = 0; i < mInstances.size(); i++) {
+            Instance instance = mInstances.get(i);
+            if (instance.matches(width, height, opacity, style)) {
+                return instance;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * @param left origin of the picture in the coordinate space of the template
+     * @param top origin of the picture in the coordinate space of the template
+     */
+    Instance put(float width, float height, float opacity, @Nullable RenderableShadowNode.Style style,
+                 Picture picture, int left, int top, @Nullable RectF clientRect) {
+        if (mInstances.size() == MAX_INSTANCES) {
+            mInstances.remove(0);
+        }
+        Instance instance = new Instance(width, height, opacity, style, picture, left, top, clientRect);
+        mInstances.add(instance);
+        return instance;
+    }
+}
@@ -0,0 +1,231 @@
+/*
+ * Copyright (c) 2015-present, Horcrux.
+ * All rights reserved.
+ *
+ * This source code is licensed under the MIT-style license found in the
+ * LICENSE file in the root directory of this source tree.
+ */
+
+
+package com.horcrux.svg;
+
+/**
+ * Per character layout results of a text root, indexed by global character index.
+ *
+ * Every layout pass, each span appends the resolved position of all of its characters, in
+ * document order. The results of the preceding pass are kept, so a span whose characters are
+ * resolved to the same positions again can reuse its glyph outlines instead of rebuilding them,
+ * and a span laid out from the same glyph context as in the preceding pass copies its results
+ * instead of positioning its characters again, see {@link GlyphContext#isAt}. Editing the content
+ * of one span thus only positions the characters of that span, translates the results and outlines
+ * of the spans following it in its text chunk, and leaves the other text chunks as they are.
+ *
+ * The layout is still resolved through the {@link GlyphContext}, the spec algorithm transcribed
+ * in {@link TextLayoutAlgorithm} isn't used yet.
+ *
+ * Results are stored as a structure of arrays, which are reused between passes and only grow.
+ */
+class TextLayoutResults {
+    // Character is not rendered (later char of a grapheme cluster, or a word separator)
+    static final byte HIDDEN = 1;
+    // Character starts a run which is laid out by the font engine in one go
+    static final byte RUN = 2;
+
+    private static final class Results {
+        // Startpoint of the glyph (on the path)
+        double[] x;
+        double[] y;
+        double[] deltaY;
+        double[] rotate;
+        double[] charWidth;
+        byte[] flags;
+
+        Results(int capacity) {
+            allocate(capacity);
+        }
+
+        private void allocate(int capacity) {
+            x = new double[capacity];
+            y = new double[capacity];
+            deltaY = new double[capacity];
+            rotate = new double[capacity];
+            charWidth = new double[capacity];
+            flags = new byte[capacity];
+        }
+
+        void ensureCapacity(int capacity, int count) {
+            if (capacity <= flags.length) {
+                return;
+            }
+
+            double[] x = this.x;
+            double[] y = this.y;
+            double[] deltaY = this.deltaY;
+            double[] rotate = this.rotate;
+            double[] charWidth = this.charWidth;
+            byte[] flags = this.flags;
+
+            allocate(Math.max(capacity, flags.length * 2));
+
+            System.arraycopy(x, 0, this.x, 0, count);
+            System.arraycopy(y, 0, this.y, 0, count);
+            System.arraycopy(deltaY, 0, this.deltaY, 0, count);
+            System.arraycopy(rotate, 0, this.rotate, 0, count);
+            System.arraycopy(charWidth, 0, this.charWidth, 0, count);
+            System.arraycopy(flags, 0, this.flags, 0, count);
+        }
+    }
+
+    private Results mCurrent = new Results(64);
+    private Results mPrevious = new Results(64);
+    private int mCount;
+    private int mPreviousCount;
+    private boolean mPassStarted;
+    private int mPass;
+
+    /**
+     * Start a new layout pass. The results of the last pass which laid out any characters are
+     * kept for comparison, so passes where every span is still cached don't discard them.
+     */
+    void beginPass() {
+        mPassStarted = false;
+    }
+
+    /**
+     * @return global index of the first character of the span
+     */
+    int beginSpan() {
+        if (!mPassStarted) {
+            mPassStarted = true;
+
+            Results results = mPrevious;
+            mPrevious = mCurrent;
+            mCurrent = results;
+            mPreviousCount = mCount;
+            mCount = 0;
+            mPass++;
+        }
+
+        return mCount;
+    }
+
+    void add(double x, double y, double deltaY, double rotate, double charWidth, byte flags) {
+        final Results results = mCurrent;
+        results.ensureCapacity(mCount + 1, mCount);
+
+        final int index = mCount++;
+        results.x[index] = x;
+        results.y[index] = y;
+        results.deltaY[index] = deltaY;
+        results.rotate[index] = rotate;
+        results.charWidth[index] = charWidth;
+        results.flags[index] = flags;
+    }
+
+    /**
+     * Append the results of the preceding pass from start, translated by the given distances,
+     * for a span which is laid out like in the preceding pass.
+     *
+     * @return false if the preceding pass has no results for the characters
+     */
+    boolean copy(int start, int count, double dx, double dy, double deltaY) {
+        if (start + count > mPreviousCount) {
+            return false;
+        }
+
+        final Results results = mCurrent;
+        final Results previous = mPrevious;
+        results.ensureCapacity(mCount + count, mCount);
+        System.arraycopy(previous.x, start, results.x, mCount, count);
+        System.arraycopy(previous.y, start, results.y, mCount, count);
+        System.arraycopy(previous.deltaY, start, results.deltaY, mCount, count);
+        System.arraycopy(previous.rotate, start, results.rotate, mCount, count);
+        System.arraycopy(previous.charWidth, start, results.charWidth, mCount, count);
+        System.arraycopy(previous.flags, start, results.flags, mCount, count);
+
+        if (dx != 0 || dy != 0 || deltaY != 0) {
+            final int end = mCount + count;
+            for (int i = mCount; i < end; i++) {
+                final byte flags = results.flags[i];
+                if ((flags & HIDDEN) != 0) {
+                    continue;
+                }
+                results.x[i] += dx;
+                if ((flags & RUN) != 0) {
+                    // The start of a run includes its delta
+                    results.y[i] += dy + deltaY;
+                } else {
+                    results.y[i] += dy;
+                    results.deltaY[i] += deltaY;
+                }
+            }
+        }
+
+        mCount += count;
+        return true;
+    }
+
+    /**
+     * @return number of characters laid out by the current pass
+     */
+    int getCount() {
+        return mCount;
+    }
+
+    /**
+     * @return number of passes which laid out any characters
+     */
+    int getPass() {
+        return mPass;
+    }
+
+    /**
+     * Whether the characters from start up to the current count were resolved to exactly the
+     * same results in the preceding pass.
+     */
+    boolean isUnchanged(int start) {
+        final int end = mCount;
+        if (end > mPreviousCount) {
+            return false;
+        }
+
+        final Results current = mCurrent;
+        final Results previous = mPrevious;
+        for (int i = start; i < end; i++) {
+            if (current.flags[i] != previous.flags[i] ||
+                current.x[i] != previous.x[i] ||
+                current.y[i] != previous.y[i] ||
+                current.deltaY[i] != previous.deltaY[i] ||
+                current.rotate[i] != previous.rotate[i] ||
+                current.charWidth[i] != previous.charWidth[i]) {
+                return false;
+            }
+        }
+
+        return true;
+    }
+
+    boolean isHidden(int index) {
+        return (mCurrent.flags[index] & HIDDEN) != 0;
+    }
+
+    double getX(int index) {
+        return mCurrent.x[index];
+    }
+
+    double getY(int index) {
+        return mCurrent.y[index];
+    }
+
+    double getDeltaY(int index) {
+        return mCurrent.deltaY[index];
+    }
+
+    double getRotate(int index) {
+        return mCurrent.rotate[index];
+    }
+
+    double getCharWidth(int index) {
+        return mCurrent.charWidth[index];
+    }
+}
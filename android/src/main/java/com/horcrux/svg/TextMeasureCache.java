@@ -0,0 +1,189 @@
+/*
+ * Copyright (c) 2015-present, Horcrux.
+ * All rights reserved.
+ *
+ * This source code is licensed under the MIT-style license found in the
+ * LICENSE file in the root directory of this source tree.
+ */
+
+
+package com.horcrux.svg;
+
+import android.graphics.Paint;
+import android.graphics.Rect;
+import android.graphics.Typeface;
+import android.os.Build;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Process-wide LRU of text run shaping results, keyed by string and font descriptor
+ * (typeface, text size and font feature settings).
+ *
+ * Animating the position or color of a label re-lays out its text, but doesn't change any of
+ * these measurements, so they are only computed once. Cached runs are shared and must never
+ * be modified.
+ */
+class TextMeasureCache {
+    private static final int MAX_RUNS = 256;
+
+    static final class Run {
+        // Advance of each char, zero for chars which are part of the preceding grapheme cluster
+        final float[] advances;
+        // Grapheme cluster starting at each char, empty for chars of an earlier cluster
+        final String[] clusters;
+        // Measured width of each grapheme cluster
+        final float[] clusterWidths;
+        // Sum of the advances
+        final double totalAdvance;
+        final double textMeasure;
+        final Paint.FontMetrics fontMetrics;
+        private int xHeight = -1;
+        private int outlinesOnly = -1;
+
+        private Run(Paint paint, String line) {
+            final int length = line.length();
+
+            advances = new float[length];
+            paint.getTextWidths(line, advances);
+
+            clusters = new String[length];
+            clusterWidths = new float[length];
+            for (int index = 0; index < length; index++) {
+                if (clusters[index] != null) {
+                    continue;
+                }
+
+                /*
+                    Determine the glyph's charwidth (i.e., the amount which the current text position
+                    advances horizontally when the glyph is drawn using horizontal text layout).
+                */
+                int nextIndex = index;
+                while (++nextIndex < length) {
+                    if (advances[nextIndex] > 0) {
+                        break;
+                    }
+                    clusters[nextIndex] = "";
+                }
+
+                String current = line.substring(index, nextIndex);
+                clusters[index] = current;
+                clusterWidths[index] = paint.measureText(current);
+            }
+
+            double totalAdvance = 0;
+            for (float advance : advances) {
+                totalAdvance += advance;
+            }
+            this.totalAdvance = totalAdvance;
+
+            textMeasure = paint.measureText(line);
+            fontMetrics = paint.getFontMetrics();
+        }
+
+        /**
+         * Height of the 'x' glyph, measured on first use.
+         */
+        synchronized int getXHeight(Paint paint) {
+            if (xHeight == -1) {
+                Rect bounds = new Rect();
+                // this will just retrieve the bounding rect for 'x'
+                paint.getTextBounds("x", 0, 1, bounds);
+                xHeight = bounds.height();
+            }
+            return xHeight;
+        }
+
+        /**
+         * Whether every visible grapheme cluster has an outline, i.e. the run doesn't contain
+         * glyphs which have to be drawn as bitmaps (e.g. unicode emoji). Checked on first use.
+         */
+        synchronized boolean hasOutlinesOnly(Paint paint) {
+            if (outlinesOnly == -1) {
+                outlinesOnly = 1;
+                for (String cluster : clusters) {
+                    if (!cluster.trim().isEmpty() && GlyphPathBag.getOrCreateAndCache(paint, cluster) == null) {
+                        outlinesOnly = 0;
+                        break;
+                    }
+                }
+            }
+            return outlinesOnly == 1;
+        }
+    }
+
+    private static final class Key {
+        String line;
+        Typeface typeface;
+        float textSize;
+        String fontFeatureSettings;
+        int hash;
+
+        Key set(String line, Typeface typeface, float textSize, String fontFeatureSettings) {
+            this.line = line;
+            this.typeface = typeface;
+            this.textSize = textSize;
+            this.fontFeatureSettings = fontFeatureSettings;
+            int h = line.hashCode();
+            h = 31 * h + (typeface == null ? 0 : typeface.hashCode());
+            h = 31 * h + Float.floatToIntBits(textSize);
+            hash = 31 * h + (fontFeatureSettings == null ? 0 : fontFeatureSettings.hashCode());
+            return this;
+        }
+
+        @Override
+        public int hashCode() {
+            return hash;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof Key)) {
+                return false;
+            }
+            Key key = (Key) o;
+            return hash == key.hash &&
+                typeface == key.typeface &&
+                textSize == key.textSize &&
+                line.equals(key.line) &&
+                (fontFeatureSettings == null ?
+                    key.fontFeatureSettings == null :
+                    fontFeatureSettings.equals(key.fontFeatureSettings));
+        }
+    }
+
+    private static final Key sLookup = new Key();
+
+    private static final LinkedHashMap<Key, Run> sRuns = new LinkedHashMap<Key, Run>(MAX_RUNS, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<Key, Run> eldest) {
+            return size() > MAX_RUNS;
+        }
+    };
+
+    private TextMeasureCache() {}
+
+    /**
+     * Get the measurements of line, shaped with the typeface, text size and font features of paint.
+     */
+    static synchronized Run getRun(Paint paint, String line) {
+        String fontFeatureSettings = null;
+        if (Build.VERSION.SDK_INT >= Build.VERSION_CODES.LOLLIPOP) {
+            fontFeatureSettings = paint.getFontFeatureSettings();
+        }
+        Typeface typeface = paint.getTypeface();
+        float textSize = paint.getTextSize();
+
+        Run run = sRuns.get(sLookup.set(line, typeface, textSize, fontFeatureSettings));
+        if (run == null) {
+            run = new Run(paint, line);
+            sRuns.put(new Key().set(line, typeface, textSize, fontFeatureSettings), run);
+        }
+
+        return run;
+    }
+}
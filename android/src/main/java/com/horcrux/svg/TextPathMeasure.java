@@ -0,0 +1,113 @@
+/*
+ * Copyright (c) 2015-present, Horcrux.
+ * All rights reserved.
+ *
+ * This source code is licensed under the MIT-style license found in the
+ * LICENSE file in the root directory of this source tree.
+ */
+
+
+package com.horcrux.svg;
+
+import android.graphics.Matrix;
+import android.graphics.Path;
+import android.graphics.PathMeasure;
+
+import static android.graphics.PathMeasure.POSITION_MATRIX_FLAG;
+import static android.graphics.PathMeasure.TANGENT_MATRIX_FLAG;
+
+/**
+ * Arc length lookup table of a text path.
+ *
+ * The position and tangent of the path are sampled once at a fixed distance interval, so
+ * placing a glyph along the path is a table lookup and a linear interpolation instead of a
+ * segment search in {@link PathMeasure#getMatrix}.
+ * Instances are immutable and can be reused as long as the measured path doesn't change.
+ */
+class TextPathMeasure {
+    // Sample interval in pixels
+    private static final float STEP = 1f;
+    private static final int MAX_SAMPLES = 16384;
+
+    private final float mLength;
+    private final boolean mClosed;
+    private final float mStep;
+    private final int mSamples;
+
+    // Interleaved x, y position and cos, sin tangent of each sample
+    private final float[] mPositions;
+    private final float[] mTangents;
+
+    TextPathMeasure(Path path) {
+        PathMeasure pm = new PathMeasure(path, false);
+        mLength = pm.getLength();
+        mClosed = pm.isClosed();
+
+        mSamples = Math.max(2, Math.min(MAX_SAMPLES, (int) Math.ceil(mLength / STEP) + 1));
+        mStep = mLength / (mSamples - 1);
+        mPositions = new float[mSamples * 2];
+        mTangents = new float[mSamples * 2];
+
+        if (mLength == 0) {
+            return;
+        }
+
+        float[] pos = new float[2];
+        float[] tan = new float[2];
+        for (int i = 0; i < mSamples; i++) {
+            pm.getPosTan(Math.min(i * mStep, mLength), pos, tan);
+            mPositions[i * 2] = pos[0];
+            mPositions[i * 2 + 1] = pos[1];
+            mTangents[i * 2] = tan[0];
+            mTangents[i * 2 + 1] = tan[1];
+        }
+    }
+
+    float getLength() {
+        return mLength;
+    }
+
+    boolean isClosed() {
+        return mClosed;
+    }
+
+    /**
+     * Equivalent of {@link PathMeasure#getMatrix}, interpolated from the sampled table.
+     * The distance is pinned to 0 <= distance <= length.
+     */
+    void getMatrix(float distance, Matrix matrix, int flags) {
+        if (mLength == 0) {
+            matrix.reset();
+            return;
+        }
+
+        float sample = Math.max(0, Math.min(distance, mLength)) / mStep;
+        int index = Math.min((int) sample, mSamples - 2);
+        float t = Math.min(sample - index, 1);
+
+        int i = index * 2;
+        int j = i + 2;
+
+        if ((flags & TANGENT_MATRIX_FLAG) != 0) {
+            float cos = mTangents[i] + (mTangents[j] - mTangents[i]) * t;
+            float sin = mTangents[i + 1] + (mTangents[j + 1] - mTangents[i + 1]) * t;
+            float norm = (float) Math.hypot(cos, sin);
+            if (norm == 0) {
+                cos = mTangents[i];
+                sin = mTangents[i + 1];
+            } else {
+                cos /= norm;
+                sin /= norm;
+            }
+            matrix.setSinCos(sin, cos);
+        } else {
+            matrix.reset();
+        }
+
+        if ((flags & POSITION_MATRIX_FLAG) != 0) {
+            float x = mPositions[i] + (mPositions[j] - mPositions[i]) * t;
+            float y = mPositions[i + 1] + (mPositions[j + 1] - mPositions[i + 1]) * t;
+            matrix.postTranslate(x, y);
+        }
+    }
+}
@@ -16,6 +16,8 @@ import android.graphics.Path;
 import com.facebook.react.bridge.Dynamic;
 import com.facebook.react.uimanager.annotations.ReactProp;
 
+import java.util.ArrayList;
+
 import javax.annotation.Nullable;
 
 import static com.horcrux.svg.TextProperties.*;
@@ -32,40 +34,75 @@ class TextPathShadowNode extends TextShadowNode {
     private TextPathMethod mMethod = TextPathMethod.align;
     private TextPathSpacing mSpacing = TextPathSpacing.exact;
 
+    // Measure of the referenced path, reused until the href changes or the referenced node is
+    // updated, which invalidates this node through the reference index of the svg
+    private @Nullable TextPathMeasure mMeasure;
+
     @ReactProp(name = "href")
     public void setHref(String href) {
         mHref = href;
-        markUpdated();
+        mMeasure = null;
+        saveReferences();
+        markUpdated(DIRTY_TEXT_LAYOUT);
+    }
+
+    @Override
+    void invalidate(int dirty) {
+        super.invalidate(dirty);
+        if ((dirty & DIRTY_REFERENCE) != 0) {
+            mMeasure = null;
+        }
+    }
+
+    @Override
+    void releaseCachedPath() {
+        // The referenced path may be relative to the canvas or the font size
+        mMeasure = null;
+        super.releaseCachedPath();
+    }
+
+    @Override
+    void getContentReferences(ArrayList<String> references) {
+        super.getContentReferences(references);
+        if (mHref != null) {
+            references.add(mHref);
+        }
+    }
+
+    @Override
+    int getReferenceDirty() {
+        // The glyphs are laid out along the referenced path
+        return DIRTY_REFERENCE | DIRTY_TEXT_LAYOUT;
     }
 
     @ReactProp(name = "startOffset")
     public void setStartOffset(Dynamic startOffset) {
         mStartOffset = getStringFromDynamic(startOffset);
-        markUpdated();
+        markUpdated(DIRTY_TEXT_LAYOUT);
     }
 
     @ReactProp(name = "method")
     public void setMethod(@Nullable String method) {
         mMethod = TextPathMethod.valueOf(method);
-        markUpdated();
+        markUpdated(DIRTY_TEXT_LAYOUT);
     }
 
     @ReactProp(name = "spacing")
     public void setSpacing(@Nullable String spacing) {
         mSpacing = TextPathSpacing.valueOf(spacing);
-        markUpdated();
+        markUpdated(DIRTY_TEXT_LAYOUT);
     }
 
     @ReactProp(name = "side")
     public void setSide(@Nullable String side) {
         mSide = TextPathSide.valueOf(side);
-        markUpdated();
+        markUpdated(DIRTY_TEXT_LAYOUT);
     }
 
     @ReactProp(name = "midLine")
     public void setSharp(@Nullable String midLine) {
         mMidLine = TextPathMidLine.valueOf(midLine);
-        markUpdated();
+        markUpdated(DIRTY_TEXT_LAYOUT);
     }
 
     @SuppressWarnings("unused")
@@ -108,6 +145,23 @@ class TextPathShadowNode extends TextShadowNode {
         return shadowNode.getPath(canvas, paint);
     }
 
+    @Nullable
+    TextPathMeasure getTextPathMeasure(Canvas canvas, Paint paint) {
+        if (mMeasure != null) {
+            return mMeasure;
+        }
+
+        // Most shapes build a new path on every getPath call, so the path itself can't tell
+        // whether the measure is still valid
+        Path path = getTextPath(canvas, paint);
+        if (path == null) {
+            return null;
+        }
+
+        mMeasure = new TextPathMeasure(path);
+        return mMeasure;
+    }
+
     @Override
     Path getPath(Canvas canvas, Paint paint) {
         return getGroupPath(canvas, paint);
@@ -202,4 +202,17 @@ class TextProperties {
         @SuppressWarnings("unused")auto,
         exact
     }
+
+    /*
+        https://www.w3.org/TR/SVG11/painting.html#TextRenderingProperty
+
+        optimizeSpeed draws unrotated, unstretched runs with the platform glyph cache
+        instead of filling their outlines.
+    */
+    enum TextRendering {
+        auto,
+        optimizeSpeed,
+        @SuppressWarnings("unused")optimizeLegibility,
+        @SuppressWarnings("unused")geometricPrecision
+    }
 }
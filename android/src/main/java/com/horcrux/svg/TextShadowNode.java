@@ -12,6 +12,7 @@ package com.horcrux.svg;
 import android.graphics.Canvas;
 import android.graphics.Paint;
 import android.graphics.Path;
+import android.graphics.RectF;
 import android.graphics.Region;
 
 import com.facebook.react.bridge.Dynamic;
@@ -33,6 +34,7 @@ class TextShadowNode extends GroupShadowNode {
     private String mBaselineShift = null;
     TextLengthAdjust mLengthAdjust = TextLengthAdjust.spacing;
     private AlignmentBaseline mAlignmentBaseline;
+    private @Nullable TextRendering mTextRendering;
     private @Nullable ReadableArray mPositionX;
     private @Nullable ReadableArray mPositionY;
     private @Nullable ReadableArray mRotate;
@@ -40,33 +42,52 @@ class TextShadowNode extends GroupShadowNode {
     private @Nullable ReadableArray mDeltaY;
 
     @Override
-    public void markUpdated() {
-        super.markUpdated();
-        releaseCachedPath();
+    void invalidate(int dirty) {
+        super.invalidate(dirty);
+        if ((dirty & (DIRTY_GEOMETRY | DIRTY_TEXT_LAYOUT)) != 0) {
+            releaseCachedPath();
+        }
+    }
+
+    @Override
+    boolean getLayerBounds(RectF bounds) {
+        // Glyphs without an outline (e.g. emoji) aren't part of the text path
+        return false;
+    }
+
+    @Override
+    boolean canRecordInstances() {
+        return false;
     }
 
     @ReactProp(name = "textLength")
     public void setTextLength(Dynamic length) {
         mTextLength = getStringFromDynamic(length);
-        markUpdated();
+        markUpdated(DIRTY_TEXT_LAYOUT);
     }
 
     @ReactProp(name = "lengthAdjust")
     public void setLengthAdjust(@Nullable String adjustment) {
         mLengthAdjust = TextLengthAdjust.valueOf(adjustment);
-        markUpdated();
+        markUpdated(DIRTY_TEXT_LAYOUT);
     }
 
     @ReactProp(name = "alignmentBaseline")
     public void setMethod(@Nullable String alignment) {
         mAlignmentBaseline = AlignmentBaseline.getEnum(alignment);
-        markUpdated();
+        markUpdated(DIRTY_TEXT_LAYOUT);
+    }
+
+    @ReactProp(name = "textRendering")
+    public void setTextRendering(@Nullable String textRendering) {
+        mTextRendering = textRendering == null ? null : TextRendering.valueOf(textRendering);
+        markUpdated(DIRTY_PAINT);
     }
 
     @ReactProp(name = "baselineShift")
     public void setBaselineShift(Dynamic baselineShift) {
         mBaselineShift = getStringFromDynamic(baselineShift);
-        markUpdated();
+        markUpdated(DIRTY_TEXT_LAYOUT);
     }
 
     @ReactProp(name = "verticalAlign")
@@ -88,43 +109,42 @@ class TextShadowNode extends GroupShadowNode {
             mAlignmentBaseline = AlignmentBaseline.baseline;
             mBaselineShift = null;
         }
-        markUpdated();
+        markUpdated(DIRTY_TEXT_LAYOUT);
     }
 
     @ReactProp(name = "rotate")
     public void setRotate(Dynamic rotate) {
         mRotate = getStringArrayFromDynamic(rotate);
-        markUpdated();
+        markUpdated(DIRTY_TEXT_LAYOUT);
     }
 
     @ReactProp(name = "dx")
     public void setDeltaX(Dynamic deltaX) {
         mDeltaX = getStringArrayFromDynamic(deltaX);
-        markUpdated();
+        markUpdated(DIRTY_TEXT_LAYOUT);
     }
 
     @ReactProp(name = "dy")
     public void setDeltaY(Dynamic deltaY) {
         mDeltaY = getStringArrayFromDynamic(deltaY);
-        markUpdated();
+        markUpdated(DIRTY_TEXT_LAYOUT);
     }
 
     @ReactProp(name = "x")
     public void setPositionX(Dynamic positionX) {
         mPositionX = getStringArrayFromDynamic(positionX);
-        markUpdated();
+        markUpdated(DIRTY_TEXT_LAYOUT);
     }
 
     @ReactProp(name = "y")
     public void setPositionY(Dynamic positionY) {
         mPositionY = getStringArrayFromDynamic(positionY);
-        markUpdated();
+        markUpdated(DIRTY_TEXT_LAYOUT);
     }
 
     @ReactProp(name = "font")
     public void setFont(@Nullable ReadableMap font) {
-        mFont = font;
-        markUpdated();
+        super.setFont(font);
     }
 
     @Override
@@ -169,6 +189,18 @@ class TextShadowNode extends GroupShadowNode {
         return mAlignmentBaseline;
     }
 
+    TextRendering getTextRendering() {
+        ReactShadowNode node = this;
+        while (node instanceof TextShadowNode) {
+            final TextRendering textRendering = ((TextShadowNode) node).mTextRendering;
+            if (textRendering != null) {
+                return textRendering;
+            }
+            node = node.getParent();
+        }
+        return TextRendering.auto;
+    }
+
     String getBaselineShift() {
         if (mBaselineShift == null) {
             ReactShadowNode parent = this.getParent();
@@ -198,6 +230,6 @@ class TextShadowNode extends GroupShadowNode {
     @Override
     void pushGlyphContext() {
         boolean isTextNode = !(this instanceof TextPathShadowNode) && !(this instanceof TSpanShadowNode);
-        getTextRootGlyphContext().pushContext(isTextNode, this, mFont, mPositionX, mPositionY, mDeltaX, mDeltaY, mRotate);
+        getTextRootGlyphContext().pushContext(isTextNode, this, mPositionX, mPositionY, mDeltaX, mDeltaY, mRotate);
     }
 }
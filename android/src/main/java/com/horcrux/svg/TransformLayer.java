@@ -0,0 +1,153 @@
+/*
+ * Copyright (c) 2015-present, Horcrux.
+ * All rights reserved.
+ *
+ * This source code is licensed under the MIT-style license found in the
+ * LICENSE file in the root directory of this source tree.
+ */
+
+
+package com.horcrux.svg;
+
+import android.graphics.Bitmap;
+import android.graphics.Canvas;
+import android.graphics.Matrix;
+import android.graphics.Paint;
+import android.graphics.Rect;
+import android.graphics.RectF;
+
+import javax.annotation.Nullable;
+
+/**
+ * Rasterized output of a node whose transform or opacity is animated.
+ *
+ * The layer is rendered once with the canvas matrix of the frame it is created in, and composited
+ * with the canvas matrix of later frames, so moving or rotating the node is a bitmap blit instead
+ * of rendering its paths and text again. The layer of a group is rendered without the opacity of the
+ * group, which is applied as the alpha of the blit instead.
+ * The owning node drops the layer whenever anything but its own transform or opacity changes, and
+ * once these haven't changed for a while.
+ */
+class TransformLayer {
+    // Maximum area of a layer, relative to the area of the canvas
+    private static final int MAX_AREA = 4;
+    // Range of the scale a layer is composited at before it is rasterized again
+    private static final float MIN_SCALE = 0.5f;
+    private static final float MAX_SCALE = 2f;
+
+    private final Bitmap mBitmap;
+    // Inverse of the canvas matrix the layer was rendered with
+    private final Matrix mInverse;
+    private final float mLeft;
+    private final float mTop;
+    // Opacity the layer was rendered with
+    private final float mOpacity;
+    private final @Nullable RectF mClientRect;
+
+    private final Matrix mComposite = new Matrix();
+    private final Matrix mMatrix = new Matrix();
+    private final RectF mCompositeClientRect = new RectF();
+    private final Paint mPaint = new Paint(Paint.FILTER_BITMAP_FLAG);
+
+    private TransformLayer(Bitmap bitmap, Matrix inverse, Rect rect, float opacity, @Nullable RectF clientRect) {
+        mBitmap = bitmap;
+        mInverse = inverse;
+        mLeft = rect.left;
+        mTop = rect.top;
+        mOpacity = opacity;
+        mClientRect = clientRect == null ? null : new RectF(clientRect);
+    }
+
+    /**
+     * Rasterize node, which has just been rendered on canvas.
+     *
+     * @return the layer, or null if the bounds of the node are unknown or too large
+     */
+    static @Nullable TransformLayer create(VirtualNode node, Canvas canvas, Paint paint, float opacity) {
+        RectF bounds = new RectF();
+        if (!node.getLayerBounds(bounds) || bounds.isEmpty()) {
+            return null;
+        }
+
+        // We create the canvas ourselves, thus we can depend on getMatrix
+        @SuppressWarnings("deprecation")
+        Matrix matrix = canvas.getMatrix();
+        Matrix inverse = new Matrix();
+        if (!matrix.invert(inverse)) {
+            return null;
+        }
+
+        matrix.mapRect(bounds);
+        Rect rect = new Rect();
+        bounds.roundOut(rect);
+        // Anti-aliased edges
+        rect.inset(-1, -1);
+
+        long area = (long) rect.width() * rect.height();
+        if (area > (long) MAX_AREA * canvas.getWidth() * canvas.getHeight()) {
+            return null;
+        }
+
+        Bitmap bitmap = Bitmap.createBitmap(rect.width(), rect.height(), Bitmap.Config.ARGB_8888);
+        Canvas layerCanvas = new Canvas(bitmap);
+        layerCanvas.translate(-rect.left, -rect.top);
+        layerCanvas.concat(matrix);
+        node.renderLayer(layerCanvas, paint, opacity);
+
+        return new TransformLayer(bitmap, inverse, rect, opacity, node.getClientRect());
+    }
+
+    /**
+     * Composite the layer with the current canvas matrix.
+     *
+     * @param opacity opacity the node would be rendered with
+     * @param alpha   opacity of the blit, i.e. the group opacity of the node
+     * @return false if the layer can't be reused, i.e. the node has to be rendered again
+     */
+    @SuppressWarnings("deprecation")
+    boolean draw(Canvas canvas, float opacity, float alpha) {
+        if (opacity != mOpacity) {
+            return false;
+        }
+
+        // We create the canvas ourselves, thus we can depend on getMatrix
+        final Matrix matrix = mMatrix;
+        canvas.getMatrix(matrix);
+        mComposite.set(mInverse);
+        mComposite.postConcat(matrix);
+
+        float scale = mComposite.mapRadius(1);
+        if (scale < MIN_SCALE || scale > MAX_SCALE) {
+            return false;
+        }
+
+        if (alpha > VirtualNode.MIN_OPACITY_FOR_DRAW) {
+            mPaint.setAlpha(Math.round(Math.min(alpha, 1f) * 255));
+            int count = canvas.save();
+            canvas.concat(mInverse);
+            canvas.drawBitmap(mBitmap, mLeft, mTop, mPaint);
+            canvas.restoreToCount(count);
+        }
+        return true;
+    }
+
+    /**
+     * Free the bitmap once the layer is dropped, it may be up to {@link #MAX_AREA} times the size of the canvas.
+     * The layer is only ever drawn into the software canvas of the svg, so nothing refers to the bitmap afterwards.
+     */
+    void recycle() {
+        mBitmap.recycle();
+    }
+
+    /**
+     * @return the client rect of the node as of the last {@link #draw}, in a rect owned by the layer
+     */
+    @Nullable RectF getClientRect() {
+        if (mClientRect == null) {
+            return null;
+        }
+
+        mComposite.mapRect(mCompositeClientRect, mClientRect);
+        return mCompositeClientRect;
+    }
+}
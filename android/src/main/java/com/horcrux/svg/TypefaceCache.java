@@ -0,0 +1,116 @@
+/*
+ * Copyright (c) 2015-present, Horcrux.
+ * All rights reserved.
+ *
+ * This source code is licensed under the MIT-style license found in the
+ * LICENSE file in the root directory of this source tree.
+ */
+
+
+package com.horcrux.svg;
+
+import android.content.res.AssetManager;
+import android.graphics.Typeface;
+
+import com.facebook.common.logging.FLog;
+import com.facebook.react.common.ReactConstants;
+
+import java.io.IOException;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+
+import static com.horcrux.svg.TextProperties.*;
+
+/**
+ * Process-wide registry of resolved typefaces, shared by all text nodes.
+ *
+ * The fonts/ asset directory is listed once, so missing font files are never probed through
+ * {@link Typeface#createFromAsset} exceptions, and every (family, style, weight) lookup is
+ * resolved once. Misses are remembered as {@link Typeface#DEFAULT}.
+ */
+class TypefaceCache {
+    private static final String FONTS = "fonts";
+    private static final String OTF = ".otf";
+    private static final String TTF = ".ttf";
+
+    private static final int WEIGHTS = FontWeight.values().length;
+    private static final int VARIANTS = FontStyle.values().length * WEIGHTS;
+
+    private static final Map<String, Typeface[]> sTypefaces = new HashMap<>();
+    private static Set<String> sFontAssets;
+
+    private TypefaceCache() {}
+
+    static synchronized Typeface getTypeface(AssetManager assets, String fontFamily, FontStyle fontStyle, FontWeight fontWeight) {
+        Typeface[] variants = sTypefaces.get(fontFamily);
+        if (variants == null) {
+            variants = new Typeface[VARIANTS];
+            sTypefaces.put(fontFamily, variants);
+        }
+
+        int index = fontStyle.ordinal() * WEIGHTS + fontWeight.ordinal();
+        Typeface typeface = variants[index];
+        if (typeface == null) {
+            typeface = createTypeface(assets, fontFamily, fontStyle, fontWeight);
+            variants[index] = typeface;
+        }
+
+        return typeface;
+    }
+
+    private static Typeface createTypeface(AssetManager assets, String fontFamily, FontStyle fontStyle, FontWeight fontWeight) {
+        Set<String> fontAssets = getFontAssets(assets);
+        try {
+            if (fontAssets.contains(fontFamily + OTF)) {
+                return Typeface.createFromAsset(assets, FONTS + "/" + fontFamily + OTF);
+            }
+            if (fontAssets.contains(fontFamily + TTF)) {
+                return Typeface.createFromAsset(assets, FONTS + "/" + fontFamily + TTF);
+            }
+        } catch (Exception e) {
+            FLog.w(ReactConstants.TAG, "RNSVG: Unable to load font asset: " + fontFamily, e);
+        }
+
+        boolean isBold = fontWeight == FontWeight.Bold;
+        boolean isItalic = fontStyle == FontStyle.italic;
+
+        int style;
+        if (isBold && isItalic) {
+            style = Typeface.BOLD_ITALIC;
+        } else if (isBold) {
+            style = Typeface.BOLD;
+        } else if (isItalic) {
+            style = Typeface.ITALIC;
+        } else {
+            style = Typeface.NORMAL;
+        }
+
+        // NB: if the font family is null / unsupported, the default one will be used
+        Typeface typeface = null;
+        try {
+            typeface = Typeface.create(fontFamily, style);
+        } catch (Exception ignored) {
+        }
+
+        return typeface == null ? Typeface.DEFAULT : typeface;
+    }
+
+    private static Set<String> getFontAssets(AssetManager assets) {
+        if (sFontAssets == null) {
+            try {
+                String[] files = assets.list(FONTS);
+                sFontAssets = new HashSet<>();
+                if (files != null) {
+                    Collections.addAll(sFontAssets, files);
+                }
+            } catch (IOException e) {
+                sFontAssets = Collections.emptySet();
+            }
+        }
+
+        return sFontAssets;
+    }
+}
@@ -12,68 +12,162 @@ package com.horcrux.svg;
 import android.graphics.Canvas;
 import android.graphics.Paint;
 import android.graphics.Path;
+import android.graphics.Picture;
+import android.graphics.Rect;
+import android.graphics.RectF;
 
 import com.facebook.common.logging.FLog;
+import com.facebook.react.bridge.Dynamic;
 import com.facebook.react.common.ReactConstants;
 import com.facebook.react.uimanager.annotations.ReactProp;
 
+import java.util.ArrayList;
+
+import javax.annotation.Nullable;
+
 /**
  * Shadow node for virtual Use view
  */
 class UseShadowNode extends RenderableShadowNode {
     private String mHref;
-    private String mWidth;
-    private String mHeight;
+    private @Nullable SvgLength mWidth;
+    private @Nullable SvgLength mHeight;
 
     @ReactProp(name = "href")
     public void setHref(String href) {
         mHref = href;
+        saveReferences();
         markUpdated();
     }
 
     @ReactProp(name = "width")
-    public void setWidth(String width) {
-        mWidth = width;
+    public void setWidth(Dynamic width) {
+        mWidth = getLengthFromDynamic(width);
         markUpdated();
     }
 
     @ReactProp(name = "height")
-    public void setHeight(String height) {
-        mHeight = height;
+    public void setHeight(Dynamic height) {
+        mHeight = getLengthFromDynamic(height);
         markUpdated();
     }
 
+    @Override
+    void getContentReferences(ArrayList<String> references) {
+        super.getContentReferences(references);
+        if (mHref != null) {
+            references.add(mHref);
+        }
+    }
+
     @Override
     void draw(Canvas canvas, Paint paint, float opacity) {
         VirtualNode template = getSvgShadowNode().getDefinedTemplate(mHref);
 
         if (template != null) {
-            if (template instanceof RenderableShadowNode) {
-                ((RenderableShadowNode)template).mergeProperties(this);
-            }
-
             int count = template.saveAndSetupCanvas(canvas);
             clip(canvas, paint);
 
-            if (template instanceof SymbolShadowNode) {
-                SymbolShadowNode symbol = (SymbolShadowNode)template;
-                symbol.drawSymbol(canvas, paint, opacity, (float) relativeOnWidth(mWidth), (float) relativeOnHeight(mHeight));
+            TemplateInstances instances = template.getTemplateInstances();
+            if (instances != null) {
+                drawInstance(template, instances, canvas, paint, opacity);
             } else {
-                template.draw(canvas, paint, opacity * mOpacity);
+                drawTemplate(template, canvas, paint, opacity);
+                this.setClientRect(template.getClientRect());
             }
 
-            this.setClientRect(template.getClientRect());
-
             template.restoreCanvas(canvas, count);
-            if (template instanceof RenderableShadowNode) {
-                ((RenderableShadowNode)template).resetProperties();
-            }
         } else {
             FLog.w(ReactConstants.TAG, "`Use` element expected a pre-defined svg template as `href` prop, " +
                 "template named: " + mHref + " is not defined.");
         }
     }
 
+    private void drawTemplate(VirtualNode template, Canvas canvas, Paint paint, float opacity) {
+        if (template instanceof RenderableShadowNode) {
+            ((RenderableShadowNode)template).resolveStyle(getStyle());
+        }
+
+        if (template instanceof SymbolShadowNode) {
+            SymbolShadowNode symbol = (SymbolShadowNode)template;
+            symbol.drawSymbol(canvas, paint, opacity, (float) relativeOnWidth(mWidth), (float) relativeOnHeight(mHeight));
+        } else {
+            template.draw(canvas, paint, opacity * mOpacity);
+        }
+    }
+
+    /**
+     * Replay the picture of the template recorded for the same size, opacity and inherited style,
+     * recording it first if there is none, see {@link TemplateInstances}.
+     */
+    private void drawInstance(VirtualNode template, TemplateInstances instances, Canvas canvas, Paint paint, float opacity) {
+        boolean symbol = template instanceof SymbolShadowNode;
+        float width = symbol ? (float) relativeOnWidth(mWidth) : 0;
+        float height = symbol ? (float) relativeOnHeight(mHeight) : 0;
+        float templateOpacity = symbol ? opacity : opacity * mOpacity;
+        Style style = template instanceof RenderableShadowNode ? getStyle() : null;
+
+        TemplateInstances.Instance instance = instances.get(width, height, templateOpacity, style);
+        if (instance == null) {
+            int canvasWidth = canvas.getWidth();
+            int canvasHeight = canvas.getHeight();
+            Picture picture = recordTemplate(template, paint, opacity, 0, 0, canvasWidth, canvasHeight);
+
+            // The bounds of the template are only known once it has been drawn: if it reaches outside
+            // of the canvas, where its content would be culled, it's recorded again over its bounds
+            Rect bounds = getRecordedBounds(template, symbol);
+            if (bounds.left < 0 || bounds.top < 0 || bounds.right > canvasWidth || bounds.bottom > canvasHeight) {
+                picture = recordTemplate(template, paint, opacity, bounds.left, bounds.top, bounds.width(), bounds.height());
+            } else {
+                bounds.offsetTo(0, 0);
+            }
+            instance = instances.put(width, height, templateOpacity, style, picture,
+                bounds.left, bounds.top, template.getClientRect());
+        }
+
+        this.setClientRect(instance.draw(canvas, getSvgShadowNode().getRenderContext()));
+    }
+
+    /**
+     * Record the template into a picture covering the given area of its coordinate space.
+     */
+    private Picture recordTemplate(VirtualNode template, Paint paint, float opacity, int left, int top, int width, int height) {
+        Picture picture = new Picture();
+        Canvas pictureCanvas = picture.beginRecording(width, height);
+        pictureCanvas.translate(-left, -top);
+        drawTemplate(template, pictureCanvas, paint, opacity);
+        picture.endRecording();
+        return picture;
+    }
+
+    /**
+     * @return the bounds of what the template has just drawn into a picture, from its client rect, and
+     * its layer bounds for strokes, which are in the coordinate space of the content of symbols
+     */
+    private static Rect getRecordedBounds(VirtualNode template, boolean symbol) {
+        Rect bounds = new Rect();
+        RectF clientRect = template.getClientRect();
+        if (clientRect == null) {
+            return bounds;
+        }
+
+        RectF drawnBounds = new RectF(clientRect);
+        RectF layerBounds = new RectF();
+        if (!symbol && template.getLayerBounds(layerBounds)) {
+            drawnBounds.union(layerBounds);
+        }
+        drawnBounds.roundOut(bounds);
+        // Antialiased edges
+        bounds.inset(-1, -1);
+        return bounds;
+    }
+
+    @Override
+    boolean canRecordInstances() {
+        VirtualNode template = getSvgShadowNode().getDefinedTemplate(mHref);
+        return template == null || template.canRecordInstances();
+    }
+
     @Override
     int hitTest(float[] src) {
         if (!mInvertible) {
@@ -92,6 +186,22 @@ class UseShadowNode extends RenderableShadowNode {
         return -1;
     }
 
+    @Override
+    void drawHitTestBuffer(Canvas canvas, HitTestBuffer buffer, int tag) {
+        if (!mInvertible) {
+            return;
+        }
+
+        VirtualNode template = getSvgShadowNode().getDefinedTemplate(mHref);
+        if (template == null) {
+            return;
+        }
+
+        int count = template.saveAndSetupCanvas(canvas);
+        template.drawHitTestBuffer(canvas, buffer, isResponsible() ? getReactTag() : tag);
+        template.restoreCanvas(canvas, count);
+    }
+
     @Override
     Path getPath(Canvas canvas, Paint paint) {
         // todo:
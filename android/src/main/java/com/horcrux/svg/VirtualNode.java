@@ -26,24 +26,49 @@ import com.facebook.react.uimanager.DisplayMetricsHolder;
 import com.facebook.react.uimanager.LayoutShadowNode;
 import com.facebook.react.uimanager.OnLayoutEvent;
 import com.facebook.react.uimanager.ReactShadowNode;
-import com.facebook.react.uimanager.UIManagerModule;
+import com.facebook.react.uimanager.ReactShadowNodeImpl;
 import com.facebook.react.uimanager.annotations.ReactProp;
 import com.facebook.react.uimanager.events.EventDispatcher;
 
+import java.util.ArrayList;
+
 import javax.annotation.Nullable;
 
 import static com.horcrux.svg.FontData.DEFAULT_FONT_SIZE;
 
 abstract class VirtualNode<T> extends LayoutShadowNode {
-    /*
-        N[1/Sqrt[2], 36]
-        The inverse of the square root of 2.
-        Provide enough digits for the 128-bit IEEE quad (36 significant digits).
-    */
-    private static final double M_SQRT1_2l = 0.707106781186547524400844362104849039;
-
     static final float MIN_OPACITY_FOR_DRAW = 0.01f;
 
+    // Categories of cached state invalidated by a prop update, see markUpdated(int)
+    // Path, regions and lengths relative to the canvas
+    static final int DIRTY_GEOMETRY = 1;
+    // Fill and stroke color and opacity; nothing is cached for these
+    static final int DIRTY_PAINT = 1 << 1;
+    // Stroke outline (width, dashes, caps and joins)
+    static final int DIRTY_STROKE = 1 << 2;
+    static final int DIRTY_TRANSFORM = 1 << 3;
+    // Glyph positions and outlines
+    static final int DIRTY_TEXT_LAYOUT = 1 << 4;
+    // Referenced clip path or mask
+    static final int DIRTY_REFERENCE = 1 << 5;
+    // Opacity of the node itself
+    static final int DIRTY_OPACITY = 1 << 6;
+    static final int DIRTY_ALL = (1 << 7) - 1;
+
+    // Categories which also invalidate the ancestors of the updated node
+    private static final int DIRTY_ANCESTORS = DIRTY_GEOMETRY | DIRTY_TEXT_LAYOUT;
+
+
+    // Consecutive frames with a transform or opacity update after which a node is rendered into a layer
+    private static final int LAYER_MIN_FRAMES = 2;
+    // Time between two updated frames for them to count as consecutive, in ms
+    private static final long LAYER_MAX_FRAME_INTERVAL = 50;
+    // Time without such an update after which the layer of a node is dropped, in ms
+    static final long LAYER_IDLE_TIME = 500;
+
+    // Set while a node is rendered into its layer, which doesn't change its client rect
+    private static boolean sRenderingLayer;
+
     @Override
     public void setReactTag(int reactTag) {
         super.setReactTag(reactTag);
@@ -76,23 +101,47 @@ abstract class VirtualNode<T> extends LayoutShadowNode {
     String mName;
 
     private SvgViewShadowNode mSvgShadowNode;
+    // Ids this node is registered as referring to in the reference index of the svg
+    private @Nullable ArrayList<String> mReferences;
     private Path mCachedClipPath;
+    // Whether the node is queued to send its client rect to its onLayout listener
+    boolean mLayoutPending;
+    // Set while the update of a descendant is propagated to this node by react
+    private boolean mMarkedByDescendant;
+    // Whether mCachedClipPath is up to date, the clip path notifies its referrers when updated
+    private boolean mClipPathValid;
     private GroupShadowNode mTextRoot;
     private double fontSize = -1;
-    private double canvasDiagonal = -1;
-    private float canvasHeight = -1;
-    private float canvasWidth = -1;
     private GlyphContext glyphContext;
 
     Path mPath;
     Path mFillPath;
     Path mStrokePath;
+    // Whether mFillPath and mStrokePath are up to date, the path objects are kept to be computed into again
+    boolean mFillPathValid;
+    boolean mStrokePathValid;
     RectF mBox;
     Region mRegion;
     Region mStrokeRegion;
     Region mClipRegion;
     Path mClipRegionPath;
 
+    // Only accessed while drawing; updates, which may be applied on another thread, only invalidate it
+    private @Nullable TransformLayer mLayer;
+    private boolean mLayerValid;
+    private boolean mTransformUpdated;
+    private boolean mOpacityUpdated;
+    // Set while the node is rendered into its layer, which applies the group opacity of the node
+    private boolean mRenderingOpaque;
+    private int mAnimatedFrames;
+    // Frame time of the last transform or opacity update
+    private long mUpdateTime;
+    // Frame time of the last update of the group opacity, see isFading
+    private long mFadeTime = -LAYER_IDLE_TIME;
+    // Recorded output of this node as the template of Use elements
+    private @Nullable TemplateInstances mInstances;
+    private boolean mInstancesEnabled;
+
     VirtualNode() {
         mScale = DisplayMetricsHolder.getScreenDisplayMetrics().density;
     }
@@ -109,21 +158,164 @@ abstract class VirtualNode<T> extends LayoutShadowNode {
 
     @Override
     public void markUpdated() {
-        super.markUpdated();
-        clearPath();
+        if (mMarkedByDescendant) {
+            // Propagated from an updated descendant, which invalidates its ancestors itself
+            super.markUpdated();
+            return;
+        }
+        markUpdated(DIRTY_ALL);
+    }
+
+    /**
+     * Marks the node as updated, only invalidating the cached state depending on the
+     * given categories (DIRTY_* flags) of this node and, for geometry and text layout,
+     * of its ancestors.
+     */
+    void markUpdated(int dirty) {
+        setMarkedByDescendant(true);
+        try {
+            super.markUpdated();
+        } finally {
+            setMarkedByDescendant(false);
+        }
+
+        invalidateTree(dirty);
+    }
+
+    private void setMarkedByDescendant(boolean marked) {
+        ReactShadowNode parent = getParent();
+        while (parent instanceof VirtualNode) {
+            ((VirtualNode) parent).mMarkedByDescendant = marked;
+            parent = parent.getParent();
+        }
+        if (parent instanceof SvgViewShadowNode) {
+            ((SvgViewShadowNode) parent).mMarkedByDescendant = marked;
+        }
+    }
+
+    /**
+     * Invalidates the cached state like {@link #markUpdated(int)}, without marking the node
+     * updated, for updates made outside of a react update (transforms and animations).
+     * Like any update, must be called on the native modules thread, see {@link #runOnShadowThread}.
+     */
+    void invalidateTree(int dirty) {
+        invalidate(dirty);
+        invalidateLayers(dirty);
+
+        final int ancestorDirty = dirty & DIRTY_ANCESTORS;
+        if (ancestorDirty != 0) {
+            ReactShadowNode parent = getParent();
+            while (parent instanceof VirtualNode) {
+                ((VirtualNode) parent).invalidate(ancestorDirty);
+                parent = parent.getParent();
+            }
+        }
+    }
+
+    /**
+     * Drops the layers which no longer match the output of this node: a transform update, or an
+     * opacity update of a node with group opacity, only changes the output of the ancestors,
+     * anything else also that of this node and, through inherited props, of its descendants.
+     * Nodes referring to this node or one of its ancestors by id are invalidated as well.
+     */
+    private void invalidateLayers(int dirty) {
+        final SvgViewShadowNode svg = getParent() == null ? null : getSvgShadowNode();
+        invalidateReferences(svg, this);
+        ReactShadowNode parent = getParent();
+        while (parent instanceof VirtualNode) {
+            VirtualNode node = (VirtualNode) parent;
+            node.releaseLayer();
+            node.releaseInstances();
+            invalidateReferences(svg, node);
+            parent = parent.getParent();
+        }
+
+        if (dirty == DIRTY_TRANSFORM) {
+            mTransformUpdated = true;
+        } else if (dirty == DIRTY_OPACITY && canFadeLayer()) {
+            mOpacityUpdated = true;
+            releaseInstances();
+        } else {
+            releaseLayers();
+        }
+    }
+
+    private static void invalidateReferences(@Nullable SvgViewShadowNode svg, VirtualNode node) {
+        if (svg != null && node.mName != null) {
+            svg.invalidateReferences(node.mName);
+        }
+    }
+
+    private void releaseLayer() {
+        mLayerValid = false;
+        mAnimatedFrames = 0;
+    }
+
+    private void dropLayer() {
+        if (mLayer != null) {
+            mLayer.recycle();
+            mLayer = null;
+        }
+    }
+
+    /**
+     * Drops the layers of this node and its descendants which haven't been updated for {@link #LAYER_IDLE_TIME},
+     * for when the svg stops drawing frames once their animations have ended.
+     *
+     * @param time current time, see {@link RenderContext#getFrameTime}
+     */
+    void releaseIdleLayers(long time) {
+        if (mLayer != null && time - mUpdateTime >= LAYER_IDLE_TIME) {
+            dropLayer();
+        }
+
+        for (int i = 0; i < getChildCount(); i++) {
+            ReactShadowNode child = getChildAt(i);
+            if (child instanceof VirtualNode) {
+                ((VirtualNode) child).releaseIdleLayers(time);
+            }
+        }
+    }
+
+    private void releaseInstances() {
+        mInstances = null;
+    }
+
+    void releaseLayers() {
+        releaseLayer();
+        releaseInstances();
+        traverseChildren(new NodeRunnable() {
+            public void run(ReactShadowNode node) {
+                if (node instanceof VirtualNode) {
+                    ((VirtualNode)node).releaseLayers();
+                }
+            }
+        });
+    }
+
+    void invalidate(int dirty) {
+        if ((dirty & DIRTY_GEOMETRY) != 0) {
+            clearPath();
+        }
+        if ((dirty & DIRTY_REFERENCE) != 0) {
+            mClipPathValid = false;
+        }
+        if ((dirty & (DIRTY_TRANSFORM | DIRTY_REFERENCE)) != 0) {
+            invalidateHitTestBuffer();
+        }
     }
 
     private void clearPath() {
-        canvasDiagonal = -1;
-        canvasHeight = -1;
-        canvasWidth = -1;
         fontSize = -1;
         mRegion = null;
         mPath = null;
+        mClipPathValid = false;
     }
 
     void releaseCachedPath() {
         clearPath();
+        releaseLayer();
+        releaseInstances();
         traverseChildren(new NodeRunnable() {
             public void run(ReactShadowNode node) {
                 if (node instanceof VirtualNode) {
@@ -190,12 +382,158 @@ abstract class VirtualNode<T> extends LayoutShadowNode {
         draw(canvas, paint, opacity);
     }
 
+    /**
+     * Renders the node, or composites its layer if only its transform or opacity was updated
+     * since the layer was rendered. A node gets a layer once these are updated in consecutive
+     * frames, i.e. are animated, and keeps it until anything else changes or the animation has
+     * stopped for {@link #LAYER_IDLE_TIME}.
+     */
+    void composite(Canvas canvas, Paint paint, float opacity) {
+        if (sRenderingLayer) {
+            // Part of the layer of an ancestor
+            render(canvas, paint, opacity);
+            return;
+        }
+
+        final RenderContext context = getSvgShadowNode().getRenderContext();
+        final long time = context.getFrameTime();
+        if (mTransformUpdated || mOpacityUpdated) {
+            if (mOpacityUpdated) {
+                mFadeTime = time;
+            }
+            mTransformUpdated = false;
+            mOpacityUpdated = false;
+            // Updates seconds apart aren't an animation, even if no frames were drawn in between
+            mAnimatedFrames = time - mUpdateTime <= LAYER_MAX_FRAME_INTERVAL ? mAnimatedFrames + 1 : 1;
+            mUpdateTime = time;
+        } else {
+            mAnimatedFrames = 0;
+        }
+
+        if (!mLayerValid || time - mUpdateTime >= LAYER_IDLE_TIME || !canUseLayer()) {
+            dropLayer();
+        }
+
+        if (mLayer == null && mAnimatedFrames < LAYER_MIN_FRAMES) {
+            render(canvas, paint, opacity);
+            return;
+        }
+
+        // The group opacity of the node is left out of its layer and applied when compositing it,
+        // like the offscreen layer it is rendered into otherwise, see GroupShadowNode#drawGroup
+        TransformLayer layer = mLayer;
+        if (layer != null) {
+            if (layer.draw(canvas, opacity, canFadeLayer() ? mOpacity : 1f)) {
+                setClientRect(layer.getClientRect());
+                context.setLayerDrawn();
+                return;
+            }
+            dropLayer();
+        }
+
+        render(canvas, paint, opacity);
+        if (mAnimatedFrames >= LAYER_MIN_FRAMES) {
+            mLayer = TransformLayer.create(this, canvas, paint, opacity);
+            mLayerValid = mLayer != null;
+            if (mLayerValid) {
+                context.setLayerDrawn();
+            }
+        }
+    }
+
+    /**
+     * Renders the node into its layer, see {@link TransformLayer}.
+     */
+    void renderLayer(Canvas canvas, Paint paint, float opacity) {
+        sRenderingLayer = true;
+        mRenderingOpaque = canFadeLayer();
+        try {
+            render(canvas, paint, opacity);
+        } finally {
+            sRenderingLayer = false;
+            mRenderingOpaque = false;
+        }
+    }
+
+    /**
+     * @return the group opacity of the node to render, which is 1 while it's rendered into its layer
+     */
+    float getRenderOpacity() {
+        return mRenderingOpaque ? 1f : mOpacity;
+    }
+
+    /**
+     * Whether the group opacity of the node has been updated for less than {@link #LAYER_IDLE_TIME},
+     * i.e. may be animated, so the node is rendered like its layer composited with that opacity.
+     *
+     * @param time current time, see {@link RenderContext#getFrameTime}
+     */
+    boolean isFading(long time) {
+        return time - mFadeTime < LAYER_IDLE_TIME;
+    }
+
+    /**
+     * Whether the opacity of the node is group opacity, i.e. applied to its output as a whole, so an
+     * opacity update can be applied when compositing its layer.
+     */
+    boolean canFadeLayer() {
+        return false;
+    }
+
+    /**
+     * Whether the output of the node only depends on its own state, i.e. can be rasterized.
+     * Characters of a text element are positioned relative to their preceding siblings, and
+     * masks are rendered relative to the canvas.
+     */
+    boolean canUseLayer() {
+        return mMask == null && !(getParent() instanceof TextShadowNode);
+    }
+
+    /**
+     * Whether the output of this node and its descendants is independent of the canvas it is
+     * rendered on, i.e. it can be recorded once and replayed by every Use element referring to it.
+     * Text is laid out against the clip bounds of the canvas, and masks are rendered relative to them.
+     */
+    boolean canRecordInstances() {
+        if (mMask != null) {
+            return false;
+        }
+
+        for (int i = 0; i < getChildCount(); i++) {
+            ReactShadowNode child = getChildAt(i);
+            if (!(child instanceof VirtualNode) || !((VirtualNode) child).canRecordInstances()) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * @return the recorded instances of this node as a template, or null if it can't be recorded
+     */
+    @Nullable TemplateInstances getTemplateInstances() {
+        if (mInstances == null) {
+            mInstances = new TemplateInstances();
+            mInstancesEnabled = canRecordInstances();
+        }
+        return mInstancesEnabled ? mInstances : null;
+    }
+
+    /**
+     * Computes the bounds of everything drawn by this node, in its own coordinate space, as of
+     * the last time it was rendered.
+     *
+     * @return false if the bounds are unknown, i.e. the node can't be rasterized into a layer
+     */
+    boolean getLayerBounds(RectF bounds) {
+        return false;
+    }
+
     /**
      * Sets up the transform matrix on the canvas before an element is drawn.
      *
-     * NB: for perf reasons this does not apply opacity, as that would mean creating a new canvas
-     * layer (which allocates an offscreen bitmap) and having it composited afterwards. Instead, the
-     * drawing code should apply opacity recursively.
+     * NB: this does not apply opacity. Shapes apply their opacity to their fill and stroke, and groups
+     * blend their children with theirs in {@link GroupShadowNode#drawGroup}.
      *
      * @param canvas the canvas to set up
      */
@@ -218,7 +556,14 @@ abstract class VirtualNode<T> extends LayoutShadowNode {
 
     @ReactProp(name = "name")
     public void setName(String name) {
+        SvgViewShadowNode svg = isDefinitionRegistered() ? getSvgShadowNode() : null;
+        if (svg != null) {
+            svg.removeDefinition(this);
+        }
         mName = name;
+        if (svg != null) {
+            saveDefinition();
+        }
         markUpdated();
     }
 
@@ -226,26 +571,28 @@ abstract class VirtualNode<T> extends LayoutShadowNode {
     @ReactProp(name = "mask")
     public void setMask(String mask) {
         mMask = mask;
-        markUpdated();
+        saveReferences();
+        markUpdated(DIRTY_REFERENCE);
     }
 
     @ReactProp(name = "clipPath")
     public void setClipPath(String clipPath) {
         mCachedClipPath = null;
         mClipPath = clipPath;
-        markUpdated();
+        saveReferences();
+        markUpdated(DIRTY_REFERENCE);
     }
 
     @ReactProp(name = "clipRule", defaultInt = CLIP_RULE_NONZERO)
     public void setClipRule(int clipRule) {
         mClipRule = clipRule;
-        markUpdated();
+        markUpdated(DIRTY_REFERENCE);
     }
 
     @ReactProp(name = "opacity", defaultFloat = 1f)
     public void setOpacity(float opacity) {
         mOpacity = opacity;
-        markUpdated();
+        markUpdated(DIRTY_OPACITY);
     }
 
     @ReactProp(name = "matrix")
@@ -254,12 +601,7 @@ abstract class VirtualNode<T> extends LayoutShadowNode {
         if (!matrixArray.isNull() && type.equals(ReadableType.Array)) {
             int matrixSize = PropHelper.toMatrixData(matrixArray.asArray(), sRawMatrix, mScale);
             if (matrixSize == 6) {
-                if (mMatrix == null) {
-                    mMatrix = new Matrix();
-                    mInvMatrix = new Matrix();
-                }
-                mMatrix.setValues(sRawMatrix);
-                mInvertible = mMatrix.invert(mInvMatrix);
+                setMatrixValues(sRawMatrix);
             } else if (matrixSize != -1) {
                 FLog.w(ReactConstants.TAG, "RNSVG: Transform matrices must be of size 6");
             }
@@ -269,13 +611,43 @@ abstract class VirtualNode<T> extends LayoutShadowNode {
             mInvertible = false;
         }
 
-        super.markUpdated();
+        markUpdated(DIRTY_TRANSFORM);
+    }
+
+    private void setMatrixValues(float[] rawMatrix) {
+        if (mMatrix == null) {
+            mMatrix = new Matrix();
+            mInvMatrix = new Matrix();
+        }
+        mMatrix.setValues(rawMatrix);
+        mInvertible = mMatrix.invert(mInvMatrix);
+    }
+
+    void setAnimatedOpacity(float opacity) {
+        mOpacity = opacity;
+        invalidateTree(DIRTY_OPACITY);
+    }
+
+    /**
+     * @param matrix a, b, c, d, e, f values of the matrix prop
+     */
+    void setAnimatedMatrix(double[] matrix) {
+        // Animations are applied on the native modules thread, like the matrix prop
+        sRawMatrix[0] = (float) matrix[0];
+        sRawMatrix[1] = (float) matrix[2];
+        sRawMatrix[2] = (float) matrix[4] * mScale;
+        sRawMatrix[3] = (float) matrix[1];
+        sRawMatrix[4] = (float) matrix[3];
+        sRawMatrix[5] = (float) matrix[5] * mScale;
+        setMatrixValues(sRawMatrix);
+        invalidateTree(DIRTY_TRANSFORM);
     }
 
     @ReactProp(name = "responsible")
     public void setResponsible(boolean responsible) {
         mResponsible = responsible;
-        markUpdated();
+        invalidateHitTestBuffer();
+        markUpdated(DIRTY_PAINT);
     }
 
     @Nullable Path getClipPath() {
@@ -283,7 +655,7 @@ abstract class VirtualNode<T> extends LayoutShadowNode {
     }
 
     @Nullable Path getClipPath(Canvas canvas, Paint paint) {
-        if (mClipPath != null) {
+        if (mClipPath != null && !mClipPathValid) {
             ClipPathShadowNode mClipNode = (ClipPathShadowNode) getSvgShadowNode().getDefinedClipPath(mClipPath);
 
             if (mClipNode != null) {
@@ -298,6 +670,7 @@ abstract class VirtualNode<T> extends LayoutShadowNode {
                         FLog.w(ReactConstants.TAG, "RNSVG: clipRule: " + mClipRule + " unrecognized");
                 }
                 mCachedClipPath = clipPath;
+                mClipPathValid = true;
             } else {
                 FLog.w(ReactConstants.TAG, "RNSVG: Undefined clipPath: " + mClipPath);
             }
@@ -316,6 +689,25 @@ abstract class VirtualNode<T> extends LayoutShadowNode {
 
     abstract int hitTest(final float[] point);
 
+    /**
+     * Renders the hit-testable area of this node into the id buffer of the svg root.
+     * Mirrors {@link #hitTest}: {@code tag} is the tag that a hit on this node resolves to,
+     * unless this node or one of its descendants is responsible itself.
+     * The canvas has already been set up with the transform of this node.
+     *
+     * @param canvas the id buffer canvas
+     * @param buffer the id buffer
+     * @param tag    the tag of the nearest responsible ancestor, or of the top level node
+     */
+    void drawHitTestBuffer(Canvas canvas, HitTestBuffer buffer, int tag) {}
+
+    void invalidateHitTestBuffer() {
+        SvgViewShadowNode svg = getSvgShadowNode();
+        if (svg != null) {
+            svg.invalidateHitTestBuffer();
+        }
+    }
+
     boolean isResponsible() {
         return mResponsible;
     }
@@ -342,62 +734,184 @@ abstract class VirtualNode<T> extends LayoutShadowNode {
         return mSvgShadowNode;
     }
 
-    double relativeOnWidth(String length) {
-        return PropHelper.fromRelative(length, getCanvasWidth(), 0, mScale, getFontSizeFromContext());
+    double relativeOnWidth(@Nullable SvgLength length) {
+        return length == null ? 0 : relativeOn(length, getCanvasWidth());
     }
 
-    double relativeOnHeight(String length) {
-        return PropHelper.fromRelative(length, getCanvasHeight(), 0, mScale, getFontSizeFromContext());
+    double relativeOnHeight(@Nullable SvgLength length) {
+        return length == null ? 0 : relativeOn(length, getCanvasHeight());
     }
 
-    double relativeOnOther(String length) {
-        return PropHelper.fromRelative(length, getCanvasDiagonal(), 0, mScale, getFontSizeFromContext());
+    double relativeOnOther(@Nullable SvgLength length) {
+        return length == null ? 0 : relativeOn(length, getCanvasDiagonal());
     }
 
-    private float getCanvasWidth() {
-        if (canvasWidth != -1) {
-            return canvasWidth;
+    private double relativeOn(SvgLength length, double relative) {
+        switch (length.mUnit) {
+            case SvgLength.UNIT_PERCENTAGE:
+                return length.resolve(relative, 0, mScale, 0);
+            case SvgLength.UNIT_EM:
+                return length.resolve(0, 0, mScale, getFontSizeFromContext());
+            default:
+                // Neither the canvas size nor the font size is needed
+                return length.mValue * mScale;
         }
+    }
+
+    // Text lengths are relative to the viewport of their text root, other lengths to the one of the svg
+    private float getCanvasWidth() {
         GroupShadowNode root = getTextRoot();
         if (root == null) {
-            canvasWidth = getSvgShadowNode().getCanvasBounds().width();
-        } else {
-            canvasWidth = root.getGlyphContext().getWidth();
+            return getSvgShadowNode().getRenderContext().getWidth();
         }
-
-        return canvasWidth;
+        return root.getGlyphContext().getWidth();
     }
 
     private float getCanvasHeight() {
-        if (canvasHeight != -1) {
-            return canvasHeight;
-        }
         GroupShadowNode root = getTextRoot();
         if (root == null) {
-            canvasHeight = getSvgShadowNode().getCanvasBounds().height();
-        } else {
-            canvasHeight = root.getGlyphContext().getHeight();
+            return getSvgShadowNode().getRenderContext().getHeight();
         }
-
-        return canvasHeight;
+        return root.getGlyphContext().getHeight();
     }
 
     private double getCanvasDiagonal() {
-        if (canvasDiagonal != -1) {
-            return canvasDiagonal;
+        GroupShadowNode root = getTextRoot();
+        if (root == null) {
+            return getSvgShadowNode().getRenderContext().getDiagonal();
         }
-        double powX = Math.pow((getCanvasWidth()), 2);
-        double powY = Math.pow((getCanvasHeight()), 2);
-        canvasDiagonal = Math.sqrt(powX + powY) * M_SQRT1_2l;
-        return canvasDiagonal;
+        GlyphContext gc = root.getGlyphContext();
+        return RenderContext.getDiagonal(gc.getWidth(), gc.getHeight());
     }
 
+    /**
+     * Registers the definitions of this node (and, for containers, of its children) with the svg.
+     * Called once the node is added to the registered part of the tree, and after its name changes.
+     */
     void saveDefinition() {
         if (mName != null) {
             getSvgShadowNode().defineTemplate(this, mName);
         }
     }
 
+    /**
+     * Whether {@link #saveDefinition} of this node registers its children.
+     */
+    boolean savesChildDefinitions() {
+        return false;
+    }
+
+    private boolean isDefinitionRegistered() {
+        ReactShadowNode parent = getParent();
+        return parent instanceof SvgViewShadowNode ||
+            (parent instanceof VirtualNode && ((VirtualNode) parent).isDefinitionScope());
+    }
+
+    /**
+     * Whether the children of this node are registered with the svg.
+     */
+    private boolean isDefinitionScope() {
+        return savesChildDefinitions() && isDefinitionRegistered();
+    }
+
+    /**
+     * Adds the ids of the definitions this node refers to by its clip path and mask, and for
+     * renderable nodes by what they draw, see {@link RenderableShadowNode#getContentReferences}.
+     */
+    private void getReferences(ArrayList<String> references) {
+        if (mClipPath != null) {
+            references.add(mClipPath);
+        }
+        if (mMask != null) {
+            references.add(mMask);
+        }
+        if (this instanceof RenderableShadowNode) {
+            ((RenderableShadowNode) this).getContentReferences(references);
+        }
+    }
+
+    /**
+     * @return the categories of cached state depending on the definitions this node refers to
+     */
+    int getReferenceDirty() {
+        return DIRTY_REFERENCE;
+    }
+
+    /**
+     * Registers the current references of this node with the svg, replacing the registered ones.
+     * Called once the node is added to the svg, and after one of its references changes.
+     */
+    void saveReferences() {
+        releaseReferences();
+        SvgViewShadowNode svg = getParent() == null ? null : getSvgShadowNode();
+        if (svg == null) {
+            return;
+        }
+
+        ArrayList<String> references = new ArrayList<>();
+        getReferences(references);
+        if (!references.isEmpty()) {
+            mReferences = references;
+            svg.addReferences(this, references);
+        }
+    }
+
+    void releaseReferences() {
+        if (mReferences != null) {
+            SvgViewShadowNode svg = getSvgShadowNode();
+            if (svg != null) {
+                svg.removeReferences(this, mReferences);
+            }
+            mReferences = null;
+        }
+    }
+
+    /**
+     * Registers the references of this node and its descendants, once it is added to the svg.
+     */
+    void saveAllReferences() {
+        saveReferences();
+        traverseChildren(new NodeRunnable() {
+            public void run(ReactShadowNode node) {
+                if (node instanceof VirtualNode) {
+                    ((VirtualNode)node).saveAllReferences();
+                }
+            }
+        });
+    }
+
+    @Override
+    public void addChildAt(ReactShadowNodeImpl child, int i) {
+        super.addChildAt(child, i);
+        if (child instanceof VirtualNode) {
+            VirtualNode node = (VirtualNode) child;
+            if (isDefinitionScope()) {
+                node.saveDefinition();
+            }
+            node.saveAllReferences();
+        }
+    }
+
+    @Override
+    public ReactShadowNodeImpl removeChildAt(int i) {
+        ReactShadowNodeImpl child = super.removeChildAt(i);
+        if (child instanceof VirtualNode) {
+            SvgViewShadowNode svg = getSvgShadowNode();
+            if (svg != null) {
+                svg.removeNode((VirtualNode) child);
+            }
+        }
+        return child;
+    }
+
+    /**
+     * Runs an update made on the ui thread, e.g. through a prop set on the view, on the native modules
+     * thread, which react updates shadow nodes on and which the svg is invalidated from.
+     */
+    void runOnShadowThread(Runnable runnable) {
+        getThemedContext().runOnNativeModulesQueueThread(runnable);
+    }
+
     interface NodeRunnable {
         void run(ReactShadowNode node);
     }
@@ -409,17 +923,38 @@ abstract class VirtualNode<T> extends LayoutShadowNode {
         }
     }
 
-    void setClientRect(RectF rect) {
+    /**
+     * @param rect client rect, copied so callers can pass scratch rects
+     */
+    void setClientRect(@Nullable RectF rect) {
+        if (sRenderingLayer) {
+            return;
+        }
         if (mClientRect != null && mClientRect.equals(rect)) {
             return;
         }
-        mClientRect = rect;
+        if (rect == null) {
+            mClientRect = null;
+            return;
+        }
+        if (mClientRect == null) {
+            mClientRect = new RectF(rect);
+        } else {
+            mClientRect.set(rect);
+        }
+
+        // Only nodes with an onLayout listener get events, sent once the svg has been drawn
+        if (shouldNotifyOnLayout() && !mLayoutPending) {
+            mLayoutPending = true;
+            getSvgShadowNode().queueLayoutEvent(this);
+        }
+    }
+
+    void dispatchLayoutEvent(EventDispatcher eventDispatcher) {
+        mLayoutPending = false;
         if (mClientRect == null) {
             return;
         }
-        EventDispatcher eventDispatcher = this.getThemedContext()
-                .getNativeModule(UIManagerModule.class)
-                .getEventDispatcher();
         eventDispatcher.dispatchEvent(OnLayoutEvent.obtain(
                 this.getReactTag(),
                 (int) mClientRect.left,
@@ -433,6 +968,10 @@ abstract class VirtualNode<T> extends LayoutShadowNode {
         return mClientRect;
     }
 
+    @Nullable SvgLength getLengthFromDynamic(Dynamic dynamic) {
+        return SvgLength.from(getStringFromDynamic(dynamic));
+    }
+
     String getStringFromDynamic(Dynamic dynamic) {
         switch (dynamic.getType()) {
             case String:
@@ -0,0 +1,178 @@
+/*
+ * Copyright (c) 2015-present, Horcrux.
+ * All rights reserved.
+ *
+ * This source code is licensed under the MIT-style license found in the
+ * LICENSE file in the root directory of this source tree.
+ */
+
+
+package com.horcrux.svg;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+
+/**
+ * Compares lengths parsed once by {@link SvgLength} with lengths parsed on every resolve,
+ * like {@link PropHelper#fromRelative} did before length props were parsed when set.
+ */
+public class SvgLengthTest {
+    private static final String[] LENGTHS = {
+        "0", "12", "-3.5", " 7 ", "1e2",
+        "50%", "-12.5%", "0%",
+        "2em", "0.5em",
+        "10px", "3pt", "2pc", "10mm", "1.5cm", "0.25in",
+        "", "normal",
+    };
+
+    private static final double RELATIVE = 320;
+    private static final double OFFSET = 4;
+    private static final double SCALE = 2.625;
+    private static final double FONT_SIZE = 12;
+
+    private static final int ITERATIONS = 200000;
+
+    @Test
+    public void resolvesLikeParsingEveryTime() {
+        for (String length : LENGTHS) {
+            assertEquals(length,
+                fromRelative(length, RELATIVE, OFFSET, SCALE, FONT_SIZE),
+                SvgLength.from(length).resolve(RELATIVE, OFFSET, SCALE, FONT_SIZE),
+                0);
+        }
+    }
+
+    @Test
+    public void resolvesAgainstTheCurrentContext() {
+        SvgLength percentage = SvgLength.from("50%");
+        assertEquals(100, percentage.resolve(200, 0, SCALE, FONT_SIZE), 0);
+        assertEquals(60, percentage.resolve(100, 10, SCALE, FONT_SIZE), 0);
+
+        SvgLength em = SvgLength.from("2em");
+        assertEquals(48, em.resolve(RELATIVE, 0, 2, 12), 0);
+        assertEquals(64, em.resolve(RELATIVE, 0, 2, 16), 0);
+    }
+
+    @Test
+    public void parsesAbsoluteUnitsToUserUnits() {
+        assertEquals(new SvgLength(90, SvgLength.UNIT_NUMBER), SvgLength.from("1in"));
+        assertEquals(new SvgLength(15, SvgLength.UNIT_NUMBER), SvgLength.from("1pc"));
+        assertEquals(new SvgLength(1.5, SvgLength.UNIT_EM), SvgLength.from("1.5em"));
+        assertEquals(SvgLength.ZERO, SvgLength.from("normal"));
+        assertNull(SvgLength.from(null));
+    }
+
+    @Test(expected = NumberFormatException.class)
+    public void rejectsInvalidNumbers() {
+        SvgLength.from("12qq");
+    }
+
+    /**
+     * Resolves every length once per simulated frame, parsing it again each time or once up front,
+     * and prints the time taken by both. Only the results are asserted, as timings vary by machine.
+     */
+    @Test
+    public void benchmarkResolveAgainstParsing() {
+        SvgLength[] parsed = new SvgLength[LENGTHS.length];
+        for (int i = 0; i < LENGTHS.length; i++) {
+            parsed[i] = SvgLength.from(LENGTHS[i]);
+        }
+
+        // Warm up both paths before timing them
+        double parsing = parseEveryFrame(ITERATIONS / 10);
+        double resolving = resolveEveryFrame(parsed, ITERATIONS / 10);
+        assertEquals(parsing, resolving, Math.abs(parsing) * 1e-12);
+
+        long start = System.nanoTime();
+        parsing = parseEveryFrame(ITERATIONS);
+        long parsingTime = System.nanoTime() - start;
+
+        start = System.nanoTime();
+        resolving = resolveEveryFrame(parsed, ITERATIONS);
+        long resolvingTime = System.nanoTime() - start;
+
+        assertEquals(parsing, resolving, Math.abs(parsing) * 1e-12);
+        System.out.println(String.format(
+            "SvgLength: %d frames of %d lengths, parsed every frame %.1f ms, parsed once %.1f ms",
+            ITERATIONS, LENGTHS.length, parsingTime / 1e6, resolvingTime / 1e6));
+    }
+
+    private static double parseEveryFrame(int frames) {
+        double sum = 0;
+        for (int frame = 0; frame < frames; frame++) {
+            for (String length : LENGTHS) {
+                sum += fromRelative(length, RELATIVE, OFFSET, SCALE, FONT_SIZE);
+            }
+        }
+        return sum;
+    }
+
+    private static double resolveEveryFrame(SvgLength[] lengths, int frames) {
+        double sum = 0;
+        for (int frame = 0; frame < frames; frame++) {
+            for (SvgLength length : lengths) {
+                sum += length.resolve(RELATIVE, OFFSET, SCALE, FONT_SIZE);
+            }
+        }
+        return sum;
+    }
+
+    /**
+     * PropHelper.fromRelative as it was before lengths were parsed into {@link SvgLength}.
+     */
+    private static double fromRelative(String length, double relative, double offset, double scale, double fontSize) {
+        length = length.trim();
+        int stringLength = length.length();
+        int percentIndex = stringLength - 1;
+        if (stringLength == 0 || length.equals("normal")) {
+            return offset;
+        } else if (length.codePointAt(percentIndex) == '%') {
+            return Double.valueOf(length.substring(0, percentIndex)) / 100 * relative + offset;
+        } else {
+            int twoLetterUnitIndex = stringLength - 2;
+            if (twoLetterUnitIndex > 0) {
+                String lastTwo = length.substring(twoLetterUnitIndex);
+                int end = twoLetterUnitIndex;
+                double unit = 1;
+
+                switch (lastTwo) {
+                    case "px":
+                        break;
+
+                    case "em":
+                        unit = fontSize;
+                        break;
+
+                    case "pt":
+                        unit = 1.25d;
+                        break;
+
+                    case "pc":
+                        unit = 15;
+                        break;
+
+                    case "mm":
+                        unit = 3.543307d;
+                        break;
+
+                    case "cm":
+                        unit = 35.43307d;
+                        break;
+
+                    case "in":
+                        unit = 90;
+                        break;
+
+                    default:
+                        end = stringLength;
+                }
+
+                return Double.valueOf(length.substring(0, end)) * unit * scale + offset;
+            } else {
+                return Double.valueOf(length) * scale + offset;
+            }
+        }
+    }
+}
@@ -60,6 +60,7 @@ export type AlignmentBaseline =
   ;
 export type BaselineShift = 'sub' | 'super' | 'baseline' | ReadonlyArray<NumberProp> | NumberProp;
 export type LengthAdjust = 'spacing' | 'spacingAndGlyphs';
+export type TextRendering = 'auto' | 'optimizeSpeed' | 'optimizeLegibility' | 'geometricPrecision';
 
 export type TextPathMethod = 'align' | 'stretch';
 export type TextPathSpacing = 'auto' | 'exact';
@@ -277,6 +278,7 @@ export interface SvgProps extends ReactNative.ViewProperties {
   height: NumberProp,
   viewBox?: string,
   preserveAspectRatio?: string,
+  hitTestBufferScale?: number,
 }
 
 // Svg is both regular and default exported
@@ -302,6 +304,7 @@ export interface TextSpecificProps extends CommonPathProps, FontProps {
   verticalAlign?: NumberProp,
   lengthAdjust?: LengthAdjust,
   textLength?: NumberProp,
+  textRendering?: TextRendering,
   fontData?: null | { [name: string]: any },
   fontFeatureSettings?: string,
 }
@@ -351,3 +354,23 @@ export interface MaskProps extends CommonPathProps {
   maskContentUnits?: TMaskUnits,
 }
 export const Mask: React.ComponentClass<MaskProps>;
+
+export type AnimatedProp = 'opacity' | 'strokeDashoffset' | 'fill' | 'stroke' | 'matrix' | 'd';
+export type AnimationEasing = 'linear' | 'ease' | 'easeIn' | 'easeOut' | 'easeInOut' | [number, number, number, number];
+
+export interface AnimationConfig {
+  prop: AnimatedProp,
+  values: (number | string | number[] | TransformObject)[],
+  offsets?: number[],
+  duration?: number,
+  delay?: number,
+  iterations?: number,
+  direction?: 'normal' | 'alternate',
+  easing?: AnimationEasing,
+}
+
+export interface AnimationHandle {
+  stop(): void,
+}
+
+export function animate(element: React.Component<any>, config: AnimationConfig): AnimationHandle;
@@ -20,6 +20,7 @@ import Stop from "./elements/Stop";
 import ClipPath from "./elements/ClipPath";
 import Pattern from "./elements/Pattern";
 import Mask from "./elements/Mask";
+import animate from "./lib/animate";
 
 export {
     Svg,
@@ -44,6 +45,7 @@ export {
     ClipPath,
     Pattern,
     Mask,
+    animate,
 };
 
 //noinspection JSUnusedGlobalSymbols
@@ -0,0 +1,81 @@
+import { NativeModules, findNodeHandle } from "react-native";
+import extractBrush from "./extract/extractBrush";
+import extractOpacity from "./extract/extractOpacity";
+import extractTransform from "./extract/extractTransform";
+
+/** @namespace NativeModules.RNSVGSvgViewManager */
+const RNSVGSvgViewManager = NativeModules.RNSVGSvgViewManager;
+
+let id = 0;
+
+function extractValue(prop, value) {
+    switch (prop) {
+        case "opacity":
+            return extractOpacity(value);
+        case "strokeDashoffset":
+            return +value || 0;
+        case "fill":
+        case "stroke": {
+            const brush = extractBrush(value);
+            if (!brush || brush[0] !== 0) {
+                throw new Error(`"${value}" is not an animatable color`);
+            }
+            return brush.slice(1);
+        }
+        case "matrix":
+            if (Array.isArray(value)) {
+                return value;
+            }
+            return extractTransform(
+                typeof value === "string" ? { transform: value } : value,
+            );
+        case "d":
+            return `${value}`;
+        default:
+            throw new Error(`"${prop}" can't be animated natively`);
+    }
+}
+
+/**
+ * Animates a prop of an element natively, without passing the bridge every frame.
+ * Android only, the element is left at the last value of the animation.
+ *
+ * @param element rendered Svg element, e.g. a ref of a Circle
+ * @param config {prop, values, offsets, duration, delay, iterations, direction, easing}
+ * @return handle to stop the animation
+ */
+export default function animate(element, config) {
+    const {
+        prop,
+        values,
+        offsets,
+        duration = 0,
+        delay = 0,
+        iterations = 1,
+        direction = "normal",
+        easing = "linear",
+    } = config;
+
+    if (!RNSVGSvgViewManager || !RNSVGSvgViewManager.startAnimation) {
+        console.warn("Native svg animations aren't supported on this platform");
+        return { stop() {} };
+    }
+
+    const animationId = ++id;
+    RNSVGSvgViewManager.startAnimation(animationId, findNodeHandle(element.root), {
+        prop,
+        values: values.map(value => extractValue(prop, value)),
+        offsets: offsets || null,
+        duration,
+        delay,
+        iterations: iterations === Infinity ? -1 : iterations,
+        direction,
+        easing,
+    });
+
+    return {
+        stop() {
+            RNSVGSvgViewManager.stopAnimation(animationId);
+        },
+    };
+}
@@ -104,6 +104,7 @@ export default function(props, container) {
         baselineShift,
         verticalAlign,
         alignmentBaseline,
+        textRendering,
     } = props;
     let { children } = props;
 
@@ -132,6 +133,7 @@ export default function(props, container) {
         baselineShift,
         verticalAlign,
         alignmentBaseline,
+        textRendering,
         font: extractFont(props),
         x: extractLengthList(x),
         y: extractLengthList(y),